@@ -17,29 +17,57 @@
 package tgs.dl.infc.app;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import tgs.dl.intfc.Gateway;
+import tgs.dl.intfc.InvalidRequestException;
+import tgs.dl.intfc.config.model.GatewayProperties;
+import tgs.dl.intfc.constants.Constants;
+import tgs.dl.intfc.model.ReadResponse;
 import tgs.dl.intfc.model.RequestData;
-import tgs.dl.intfc.utils.JsonMapper;
+import tgs.dl.intfc.model.WriteResult;
 
 @RestController
 @RequestMapping("/grants")
 public class GatewayController {
 	
+	private static final String WRITE_REJECTED = "Too many writes in progress, retry later.";
+	private static final String BATCH_EMPTY = "Requests should not be null or empty.";
+	private static final GatewayProperties GATEWAY_PROPERTIES = Constants.GATEWAY_PROPERTIES;
+	
 	@Autowired
 	private GatewayService gatewayService;
 
+	@Autowired
+	private WriteLimiter writeLimiter;
+
 	@PostMapping("/writeData")
 	public ResponseEntity<GatewayResponse> writeGrantsData(@RequestBody RequestData request) {
 		
-		GatewayResponse response = gatewayService.writeGrantsData(request);
+		if (!writeLimiter.tryAcquire()) {
+			return tooManyRequests(errorResponse(HttpStatus.TOO_MANY_REQUESTS, WRITE_REJECTED));
+		}
+
+		GatewayResponse response;
+		try {
+			response = gatewayService.writeGrantsData(request);
+		} finally {
+			writeLimiter.release();
+		}
 
 		if (response.getStatus() == HttpStatus.CREATED.value()) {
 			return ResponseEntity.ok(response);
@@ -47,16 +75,105 @@ public class GatewayController {
 		return ResponseEntity.badRequest().body(response);
 	}
 
-	@PostMapping("/readData")
-	public ResponseEntity<String> readGrantsData(@RequestBody RequestData request) throws IOException {
-		GatewayResponse response = gatewayService.readGrantsData(request);
+	/***
+	 * Writes a batch of events, the batch takes a write permit per event
+	 * 
+	 * @param requests
+	 * @return List of WriteResult, or GatewayResponse if the batch is rejected
+	 */
+	@PostMapping("/writeDataBatch")
+	public ResponseEntity<?> writeGrantsDataBatch(@RequestBody List<RequestData> requests) {
+		
+		if (requests == null || requests.isEmpty()) {
+			return ResponseEntity.badRequest().body(errorResponse(HttpStatus.BAD_REQUEST, BATCH_EMPTY));
+		}
+		int maxBatchSize = GATEWAY_PROPERTIES.getMaxBatchSize();
+		if (requests.size() > maxBatchSize) {
+			GatewayResponse response = errorResponse(HttpStatus.PAYLOAD_TOO_LARGE,
+					"Batch of " + requests.size() + " events exceeds the maximum of " + maxBatchSize + " events.");
+			return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+		}
+		if (!writeLimiter.tryAcquire(requests.size())) {
+			return tooManyRequests(errorResponse(HttpStatus.TOO_MANY_REQUESTS, WRITE_REJECTED));
+		}
+
+		List<WriteResult> results;
+		try {
+			results = gatewayService.writeGrantsDataBatch(requests);
+		} catch (Exception e) {
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body(errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage()));
+		} finally {
+			writeLimiter.release(requests.size());
+		}
+
+		if (results.stream().allMatch(WriteResult::isSuccess)) {
+			return ResponseEntity.ok(results);
+		}
+		return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(results);
+	}
+
+	private ResponseEntity<GatewayResponse> tooManyRequests(GatewayResponse body) {
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, writeLimiter.getRetryAfter()).body(body);
+	}
+
+	private static GatewayResponse errorResponse(HttpStatus status, String message) {
+		GatewayResponse response = new GatewayResponse();
+		response.setStatus(status.value());
+		response.setResponse(message);
+		return response;
+	}
 
-		if (response.getStatus() == HttpStatus.OK.value()) {
-			String result = new JsonMapper().serializeToPrettyJson(response);
-			result = result.replaceAll("\\\\", "");
-			return ResponseEntity.ok(result);
+	/***
+	 * Streams the decrypted records of a read. The request is validated and the
+	 * result is read before the status is chosen, a read that fails there
+	 * returns a GatewayResponse with 400 for invalid requests and 500 otherwise.
+	 * A read that fails while the records are streamed keeps the status 200 and
+	 * reports the cause in response.error.
+	 * 
+	 * @param request
+	 * @return StreamingResponseBody of the GatewayResponse, or GatewayResponse
+	 *         if the read fails
+	 */
+	@PostMapping(value = "/readData", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<?> readGrantsData(@RequestBody RequestData request) {
+		
+		Gateway.RecordReader reader;
+		try {
+			reader = gatewayService.fetchGrantsData(request);
+		} catch (JsonProcessingException | InvalidRequestException e) {
+			return ResponseEntity.badRequest().body(errorResponse(HttpStatus.BAD_REQUEST, e.getMessage()));
+		} catch (Exception e) {
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body(errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage()));
 		}
-		return ResponseEntity.notFound().build();
+
+		StreamingResponseBody body = outputStream -> {
+			ReadResponseWriter writer = new ReadResponseWriter(outputStream);
+			try {
+				ReadResponse response;
+				try {
+					response = reader.readRecords(writer::writeRecord);
+				} catch (UncheckedIOException e) {
+					// the output failed, nothing more can be written
+					throw (e);
+				} catch (Exception e) {
+					if (writer.writeError(e)) {
+						return;
+					}
+					throw (e);
+				}
+				writer.writeEnd(response);
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			} catch (IOException e) {
+				throw (e);
+			} catch (Exception e) {
+				throw new IOException(e);
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
 	}
 
 }
@@ -16,27 +16,32 @@
 
 package tgs.dl.infc.app;
 
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import tgs.dl.intfc.Gateway;
+import tgs.dl.intfc.aws.AWSClient;
 import tgs.dl.intfc.impl.GatewayImpl;
+import tgs.dl.intfc.journal.JournalMessageQueue;
 import tgs.dl.intfc.model.RequestData;
-import tgs.dl.intfc.utils.JsonMapper;
+import tgs.dl.intfc.model.WriteResult;
 
 @Service
 public class GatewayService {
 	
 	private Gateway gateway = new GatewayImpl();
 	
-	public synchronized GatewayResponse writeGrantsData(RequestData request) {
+	public GatewayResponse writeGrantsData(RequestData request) {
 		GatewayResponse response = new GatewayResponse();
 		
 		try {
-			String requestString = new JsonMapper().serializeToJson(request);
-			gateway.writeGrantsDataDLT(requestString);
+			gateway.writeGrantsDataDLT(request);
 			response.setStatus(HttpStatus.CREATED.value());
 		} catch (JsonProcessingException e) {
 			response.setStatus(HttpStatus.BAD_REQUEST.value());
@@ -48,26 +53,19 @@ public class GatewayService {
 		return response;
 	}
 	
-	public GatewayResponse readGrantsData(RequestData request) {
-		GatewayResponse response = new GatewayResponse();
-		
-		try {
-			String requestString = new JsonMapper().serializeToJson(request);
-			
-			String result = gateway.readGrantsDataDLT(requestString);
-			
-			response.setStatus(HttpStatus.OK.value());
-			response.setResponse(result);
-		} catch (JsonProcessingException e) {
-			response.setStatus(HttpStatus.BAD_REQUEST.value());
-			response.setResponse(e.getMessage());
-			e.printStackTrace();
-		} catch (Exception e) {
-			response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
-			response.setResponse(e.getMessage());
-			e.printStackTrace();
-		}
-		return response;
+	public List<WriteResult> writeGrantsDataBatch(List<RequestData> requests) throws Exception {
+		return gateway.writeGrantsDataDLTBatch(requests);
+	}
+	
+	public Gateway.RecordReader fetchGrantsData(RequestData request) throws Exception {
+		return gateway.fetchGrantsDataDLT(request);
+	}
+	
+	@PreDestroy
+	public void close() {
+		// stop the journal shipper before the SQS Client is shut down
+		JournalMessageQueue.closeInstance();
+		AWSClient.getInstance().close();
 	}
 
 }
@@ -0,0 +1,41 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.infc.app;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import tgs.dl.intfc.metrics.MetricsRegistry;
+
+/***
+ * Records the metrics of the interface in the registry of the application, they
+ * are scraped from /actuator/prometheus
+ */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public MicrometerMetrics micrometerMetrics(MeterRegistry meterRegistry) {
+		MicrometerMetrics metrics = new MicrometerMetrics(meterRegistry);
+		MetricsRegistry.setMetrics(metrics);
+		return metrics;
+	}
+
+}
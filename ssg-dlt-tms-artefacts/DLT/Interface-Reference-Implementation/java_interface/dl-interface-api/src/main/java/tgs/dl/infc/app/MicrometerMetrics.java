@@ -0,0 +1,121 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.infc.app;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+import tgs.dl.intfc.metrics.Metrics;
+
+/***
+ * Records the metrics of the interface in a Micrometer registry
+ * 
+ * Timers and sizes publish histogram buckets so that percentiles can be
+ * aggregated across instances. Meters are registered on the first record of
+ * their name and tags and kept for the later records. A gauge reads the value
+ * it is registered with last.
+ */
+public class MicrometerMetrics implements Metrics {
+
+	private static final String BYTES_SUFFIX = ".bytes";
+
+	private final MeterRegistry meterRegistry;
+	private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+	private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+	private final Map<MeterKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+	private final Map<MeterKey, AtomicReference<DoubleSupplier>> gauges = new ConcurrentHashMap<>();
+
+	public MicrometerMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void recordTime(String name, long nanos, String... tags) {
+		timers.computeIfAbsent(new MeterKey(name, tags), key -> Timer.builder(name).tags(tags)
+				.publishPercentileHistogram().register(meterRegistry)).record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void increment(String name, String... tags) {
+		counters.computeIfAbsent(new MeterKey(name, tags), key -> meterRegistry.counter(name, tags)).increment();
+	}
+
+	@Override
+	public void recordSize(String name, long size, String... tags) {
+		summaries.computeIfAbsent(new MeterKey(name, tags), key -> {
+			DistributionSummary.Builder builder = DistributionSummary.builder(name).tags(tags)
+					.publishPercentileHistogram();
+			if (name.endsWith(BYTES_SUFFIX)) {
+				builder.baseUnit(BaseUnits.BYTES);
+			}
+			return builder.register(meterRegistry);
+		}).record(size);
+	}
+
+	@Override
+	public void gauge(String name, DoubleSupplier value, String... tags) {
+		gauges.computeIfAbsent(new MeterKey(name, tags), key -> {
+			// the map keeps the value, Micrometer only holds a weak reference to it
+			AtomicReference<DoubleSupplier> current = new AtomicReference<>(value);
+			Gauge.builder(name, current, gaugeValue -> gaugeValue.get().getAsDouble()).tags(tags)
+					.register(meterRegistry);
+			return current;
+		}).set(value);
+	}
+
+	/***
+	 * Name and tags of a meter
+	 */
+	private static final class MeterKey {
+		private final String name;
+		private final String[] tags;
+		private final int hashCode;
+
+		private MeterKey(String name, String[] tags) {
+			this.name = name;
+			this.tags = tags;
+			this.hashCode = 31 * name.hashCode() + Arrays.hashCode(tags);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof MeterKey)) {
+				return false;
+			}
+			MeterKey other = (MeterKey) obj;
+			return name.equals(other.name) && Arrays.equals(tags, other.tags);
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.infc.app;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import tgs.dl.intfc.model.ReadResponse;
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.utils.JsonMapper;
+
+/***
+ * Writes a read response to the HTTP output one record at a time, in the shape
+ * of a GatewayResponse: {"status":200,"response":{"data":[...],...}}
+ * 
+ * Nothing is written until the first record or the end of the response, so a
+ * read that fails before any record is ready can still return an error status.
+ * Once a record is written the status 200 is sent and cannot be changed, a read
+ * that fails after it ends the data array and writes the cause to
+ * response.error, so clients have to check for it.
+ */
+public class ReadResponseWriter {
+
+	private static final Logger LOGGER = LogManager.getLogger(ReadResponseWriter.class);
+	private static final ObjectWriter RECORD_WRITER = JsonMapper.getWriter(RequestData.class);
+	private static final ObjectWriter NODE_WRITER = JsonMapper.getWriter(JsonNode.class);
+
+	private final JsonGenerator generator;
+	private boolean isStarted = false;
+	private JsonStreamContext dataContext;
+
+	public ReadResponseWriter(OutputStream outputStream) throws IOException {
+		this.generator = RECORD_WRITER.getFactory().createGenerator(outputStream);
+	}
+
+	/***
+	 * Writes a decrypted record to the data array
+	 * 
+	 * @param record
+	 */
+	public void writeRecord(RequestData record) {
+		try {
+			writeStart();
+			RECORD_WRITER.writeValue(generator, record);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/***
+	 * Closes the data array and writes the remaining fields of the result
+	 * 
+	 * @param readResponse : result without data
+	 * @throws IOException
+	 */
+	public void writeEnd(ReadResponse readResponse) throws IOException {
+		writeStart();
+		generator.writeEndArray();
+		for (Map.Entry<String, JsonNode> property : readResponse.getProperties().entrySet()) {
+			generator.writeFieldName(property.getKey());
+			NODE_WRITER.writeValue(generator, property.getValue());
+		}
+		generator.writeEndObject();
+		generator.writeEndObject();
+		generator.flush();
+	}
+
+	/***
+	 * Ends a response whose read failed after records are written, the data
+	 * array is closed and the cause is written as response.error
+	 * 
+	 * @param cause
+	 * @return false if nothing is written yet, the caller can still return an
+	 *         error status
+	 * @throws IOException : if the output fails
+	 */
+	public boolean writeError(Exception cause) throws IOException {
+		if (!isStarted) {
+			return false;
+		}
+		LOGGER.error("writeError : read failed after the response is started : ", cause);
+
+		// end a record that is not complete
+		while (generator.getOutputContext() != dataContext && !generator.getOutputContext().inRoot()) {
+			if (generator.getOutputContext().inArray()) {
+				generator.writeEndArray();
+			} else {
+				generator.writeEndObject();
+			}
+		}
+		generator.writeEndArray();
+		generator.writeStringField("error", String.valueOf(cause.getMessage()));
+		generator.writeEndObject();
+		generator.writeEndObject();
+		generator.flush();
+		return true;
+	}
+
+	private void writeStart() throws IOException {
+		if (isStarted) {
+			return;
+		}
+		generator.writeStartObject();
+		generator.writeNumberField("status", HttpStatus.OK.value());
+		generator.writeFieldName("response");
+		generator.writeStartObject();
+		generator.writeArrayFieldStart("data");
+		dataContext = generator.getOutputContext();
+		isStarted = true;
+	}
+}
@@ -0,0 +1,109 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.infc.app;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import tgs.dl.intfc.config.model.GatewayProperties;
+import tgs.dl.intfc.constants.Constants;
+
+/***
+ * Limits the number of writes processed at the same time. A write that cannot
+ * get a permit within writeAdmissionTimeout is rejected instead of queued, so
+ * the caller can retry after writeRetryAfter seconds. A batch takes a permit
+ * per event, a batch larger than maxConcurrentWrites takes all permits.
+ */
+@Component
+public class WriteLimiter {
+
+	private static final Logger LOGGER = LogManager.getLogger(WriteLimiter.class);
+
+	private final GatewayProperties gatewayProperties;
+	private final int maxPermits;
+	private final Semaphore permits;
+
+	public WriteLimiter() {
+		this(Constants.GATEWAY_PROPERTIES);
+	}
+
+	WriteLimiter(GatewayProperties gatewayProperties) {
+		this.gatewayProperties = gatewayProperties;
+		this.maxPermits = Math.max(gatewayProperties.getMaxConcurrentWrites(), 1);
+		this.permits = new Semaphore(maxPermits);
+	}
+
+	/***
+	 * Acquires a permit for a write
+	 * 
+	 * @return true if the write may proceed, release() must be called when it is done
+	 */
+	public boolean tryAcquire() {
+		return tryAcquire(1);
+	}
+
+	/***
+	 * Acquires the permits for a batch of writes
+	 * 
+	 * @param writes : number of events of the batch
+	 * @return true if the batch may proceed, release(writes) must be called when it is done
+	 */
+	public boolean tryAcquire(int writes) {
+		try {
+			if (permits.tryAcquire(getPermits(writes), gatewayProperties.getWriteAdmissionTimeout(),
+					TimeUnit.MILLISECONDS)) {
+				return true;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		LOGGER.warn("tryAcquire : {} writes rejected, {} writes in progress", writes,
+				maxPermits - permits.availablePermits());
+		return false;
+	}
+
+	/***
+	 * Releases the permit of a write
+	 */
+	public void release() {
+		release(1);
+	}
+
+	/***
+	 * Releases the permits of a batch of writes
+	 * 
+	 * @param writes : number of events of the batch
+	 */
+	public void release(int writes) {
+		permits.release(getPermits(writes));
+	}
+
+	private int getPermits(int writes) {
+		return Math.min(Math.max(writes, 1), maxPermits);
+	}
+
+	/**
+	 * @return the seconds to wait before retrying a rejected write
+	 */
+	public String getRetryAfter() {
+		return String.valueOf(gatewayProperties.getWriteRetryAfter());
+	}
+}
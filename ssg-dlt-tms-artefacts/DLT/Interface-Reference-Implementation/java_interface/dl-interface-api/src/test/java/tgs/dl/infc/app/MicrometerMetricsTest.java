@@ -0,0 +1,52 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.infc.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import tgs.dl.intfc.metrics.MetricNames;
+
+public class MicrometerMetricsTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final MicrometerMetrics metrics = new MicrometerMetrics(meterRegistry);
+
+	@Test
+	public void testGaugeReadsCurrentValue() {
+		AtomicLong pending = new AtomicLong(3);
+		metrics.gauge(MetricNames.JOURNAL_PENDING, pending::get);
+		assertEquals(3, meterRegistry.get(MetricNames.JOURNAL_PENDING).gauge().value());
+
+		pending.set(5);
+		assertEquals(5, meterRegistry.get(MetricNames.JOURNAL_PENDING).gauge().value());
+	}
+
+	@Test
+	public void testGaugeRegisteredAgainReplacesValue() {
+		metrics.gauge(MetricNames.JOURNAL_PENDING, () -> 3);
+		metrics.gauge(MetricNames.JOURNAL_PENDING, () -> 7);
+
+		assertEquals(1, meterRegistry.find(MetricNames.JOURNAL_PENDING).gauges().size());
+		assertEquals(7, meterRegistry.get(MetricNames.JOURNAL_PENDING).gauge().value());
+	}
+}
@@ -0,0 +1,125 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.infc.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.model.ReadResponse;
+import tgs.dl.intfc.model.RequestData;
+
+public class ReadResponseWriterTest {
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+	private ByteArrayOutputStream output;
+	private ReadResponseWriter writer;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		output = new ByteArrayOutputStream();
+		writer = new ReadResponseWriter(output);
+	}
+
+	@Test
+	public void testWriteEnd() throws Exception {
+		writer.writeRecord(record(1));
+		writer.writeRecord(record(2));
+		ReadResponse readResponse = new ReadResponse();
+		readResponse.setProperty("pageNumber", NODES.numberNode(1));
+		writer.writeEnd(readResponse);
+
+		JsonNode response = MAPPER.readTree(output.toByteArray());
+		assertEquals(200, response.get("status").asInt());
+		assertEquals(2, response.at("/response/data").size());
+		assertEquals(2, response.at("/response/data/1/payload/id").asInt());
+		assertEquals(1, response.at("/response/pageNumber").asInt());
+		assertTrue(response.at("/response/error").isMissingNode());
+	}
+
+	@Test
+	public void testWriteEndNoRecords() throws Exception {
+		writer.writeEnd(new ReadResponse());
+
+		JsonNode response = MAPPER.readTree(output.toByteArray());
+		assertEquals(200, response.get("status").asInt());
+		assertEquals(0, response.at("/response/data").size());
+	}
+
+	@Test
+	public void testWriteErrorNotStarted() throws Exception {
+		assertFalse(writer.writeError(new IOException("read failed")));
+		assertEquals(0, output.size());
+	}
+
+	@Test
+	public void testWriteErrorAfterRecords() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			writer.writeRecord(record(i));
+		}
+		assertTrue(writer.writeError(new IOException("read failed")));
+
+		JsonNode response = MAPPER.readTree(output.toByteArray());
+		assertEquals(200, response.get("status").asInt());
+		assertEquals(3, response.at("/response/data").size());
+		assertEquals("read failed", response.at("/response/error").asText());
+	}
+
+	@Test
+	public void testWriteErrorInRecord() throws Exception {
+		writer.writeRecord(record(1));
+
+		// the record fails in a nested array of its payload
+		RequestData failing = record(2);
+		((ObjectNode) failing.getPayload()).putArray("items").add(1).addPOJO(new FailingValue());
+		assertThrows(UncheckedIOException.class, () -> writer.writeRecord(failing));
+		assertTrue(writer.writeError(new IOException("decrypt failed")));
+
+		JsonNode response = MAPPER.readTree(output.toByteArray());
+		assertEquals(200, response.get("status").asInt());
+		assertEquals(2, response.at("/response/data").size());
+		assertEquals(1, response.at("/response/data/1/payload/items/0").asInt());
+		assertEquals("decrypt failed", response.at("/response/error").asText());
+	}
+
+	private static RequestData record(int id) {
+		ObjectNode header = NODES.objectNode().put("schemaType", "enrolment");
+		ObjectNode payload = NODES.objectNode().put("id", id);
+		return new RequestData(header, payload);
+	}
+
+	private static class FailingValue {
+		@SuppressWarnings("unused")
+		public String getValue() {
+			throw new IllegalStateException("not serializable");
+		}
+	}
+}
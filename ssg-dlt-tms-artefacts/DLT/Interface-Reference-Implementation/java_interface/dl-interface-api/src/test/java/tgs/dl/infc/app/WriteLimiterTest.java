@@ -0,0 +1,95 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.infc.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tgs.dl.intfc.config.model.GatewayProperties;
+
+public class WriteLimiterTest {
+	private static final int MAX_CONCURRENT_WRITES = 4;
+	private static final long WRITE_ADMISSION_TIMEOUT = 100;
+
+	private WriteLimiter writeLimiter;
+
+	@BeforeEach
+	public void setup() {
+		GatewayProperties gatewayProperties = new GatewayProperties();
+		gatewayProperties.setMaxConcurrentWrites(MAX_CONCURRENT_WRITES);
+		gatewayProperties.setWriteAdmissionTimeout(WRITE_ADMISSION_TIMEOUT);
+		gatewayProperties.setWriteRetryAfter(2);
+		writeLimiter = new WriteLimiter(gatewayProperties);
+	}
+
+	@Test
+	public void testLargeBatchTakesAllPermits() {
+		assertTrue(writeLimiter.tryAcquire(MAX_CONCURRENT_WRITES * 3));
+		assertFalse(writeLimiter.tryAcquire());
+
+		writeLimiter.release(MAX_CONCURRENT_WRITES * 3);
+		assertAvailable(MAX_CONCURRENT_WRITES);
+	}
+
+	@Test
+	public void testRejectAfterAdmissionTimeout() {
+		assertTrue(writeLimiter.tryAcquire(MAX_CONCURRENT_WRITES));
+
+		long start = System.nanoTime();
+		assertFalse(writeLimiter.tryAcquire());
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(elapsed >= WRITE_ADMISSION_TIMEOUT, "rejected after " + elapsed + " ms");
+		assertEquals("2", writeLimiter.getRetryAfter());
+
+		writeLimiter.release(MAX_CONCURRENT_WRITES);
+		assertTrue(writeLimiter.tryAcquire());
+		writeLimiter.release();
+	}
+
+	@Test
+	public void testReleaseRestoresAcquiredPermits() {
+		assertTrue(writeLimiter.tryAcquire(3));
+		assertTrue(writeLimiter.tryAcquire());
+		assertFalse(writeLimiter.tryAcquire());
+
+		writeLimiter.release();
+		assertAvailable(1);
+		writeLimiter.release(3);
+		assertAvailable(MAX_CONCURRENT_WRITES);
+
+		// an empty batch takes and releases a single permit
+		assertTrue(writeLimiter.tryAcquire(0));
+		writeLimiter.release(0);
+		assertAvailable(MAX_CONCURRENT_WRITES);
+	}
+
+	/***
+	 * Asserts that exactly the given number of permits is available, the
+	 * permits are taken and released again
+	 */
+	private void assertAvailable(int available) {
+		assertTrue(writeLimiter.tryAcquire(available));
+		assertFalse(writeLimiter.tryAcquire());
+		writeLimiter.release(available);
+	}
+}
@@ -0,0 +1,81 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.utils.JsonMapper;
+
+/***
+ * Sample write events of each schema under schema-validation
+ * 
+ * The benchmarks are run from the dl-interface-benchmarks directory, the
+ * schemas are read from the dl.schemaDir system property or the test
+ * resources of dl-interface.
+ */
+public final class BenchmarkEvents {
+
+	public static final String SCHEMA_DIR_PROPERTY = "dl.schemaDir";
+	public static final String DEFAULT_SCHEMA_DIR = "../dl-interface/src/test/resources/schema-validation";
+	public static final String SCHEMA_VERSION = "v0.5.json";
+	private static final String SCHEMA_LOCATION = "schemaLocation";
+
+	private BenchmarkEvents() {
+	}
+
+	/***
+	 * Reads the sample write event of the schema, with schemaLocation pointing
+	 * at the schema file
+	 * 
+	 * @param schemaName : directory of the schema, e.g. enrolment
+	 * @return String of the write event
+	 * @throws IOException : if the sample is missing
+	 */
+	public static String getWriteEvent(String schemaName) throws IOException {
+		JsonMapper jsonMapper = new JsonMapper();
+		RequestData event = jsonMapper.deserializeFromJson(readResource("/events/" + schemaName + ".json"),
+				RequestData.class);
+
+		String schemaDir = System.getProperty(SCHEMA_DIR_PROPERTY, DEFAULT_SCHEMA_DIR);
+		((ObjectNode) event.getHeader()).put(SCHEMA_LOCATION, Paths.get(schemaDir, schemaName, SCHEMA_VERSION).toString());
+		return jsonMapper.serializeToJson(event);
+	}
+
+	private static String readResource(String name) throws IOException {
+		try (InputStream inputStream = BenchmarkEvents.class.getResourceAsStream(name)) {
+			if (inputStream == null) {
+				throw new IOException("Missing benchmark event: " + name);
+			}
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, read);
+			}
+			return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+}
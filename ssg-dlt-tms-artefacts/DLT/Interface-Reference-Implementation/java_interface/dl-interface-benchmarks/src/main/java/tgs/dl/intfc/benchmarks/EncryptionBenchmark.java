@@ -0,0 +1,117 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tgs.dl.intfc.constants.CipherAlgorithm;
+import tgs.dl.intfc.utils.EncryptionUtil;
+
+/***
+ * Encryption and decryption of payloads of several sizes, through the String
+ * API and the byte API used by FormatterUtil
+ * 
+ * EncryptionUtil clears the data key after use, every invocation passes a new
+ * copy of the key. Encryption uses a new IV on every invocation as GCM does
+ * not allow an IV to be reused with the same key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EncryptionBenchmark {
+
+	@Param({ "256", "4096", "65536" })
+	private int payloadSize;
+
+	@Param({ "AES/CBC/PKCS5Padding", "AES/GCM/NoPadding" })
+	private String algorithmName;
+
+	private final EncryptionUtil encryptionUtil = new EncryptionUtil();
+	private final InMemoryKeyProvider keyProvider = new InMemoryKeyProvider();
+	private CipherAlgorithm algorithm;
+	private String message;
+	private byte[] messageBytes;
+	private byte[] iv;
+	private String encryptedMessage;
+	private byte[] encryptedBytes;
+	private byte[] output;
+
+	@Setup
+	public void setup() throws Exception {
+		algorithm = CipherAlgorithm.fromAlgorithmName(algorithmName);
+		message = createMessage(payloadSize);
+		messageBytes = message.getBytes(StandardCharsets.UTF_8);
+
+		iv = encryptionUtil.generateRandomIV(algorithm);
+		encryptedMessage = encryptionUtil.encryptMessage(algorithm, keyProvider.getPlainKey(), message, iv);
+		encryptedBytes = Base64.getDecoder().decode(encryptedMessage);
+		output = new byte[algorithm.getOutputSize(false, encryptedBytes.length)];
+	}
+
+	@Benchmark
+	public String encryptMessage() throws Exception {
+		return encryptionUtil.encryptMessage(algorithm, keyProvider.getPlainKey(), message,
+				encryptionUtil.generateRandomIV(algorithm));
+	}
+
+	@Benchmark
+	public String decryptMessage() throws Exception {
+		return encryptionUtil.decryptMessage(algorithm, keyProvider.getPlainKey(), encryptedMessage, iv);
+	}
+
+	@Benchmark
+	public byte[] encryptBytes() throws Exception {
+		return encryptionUtil.encryptBytes(algorithm, keyProvider.getPlainKey(), messageBytes, 0, messageBytes.length,
+				encryptionUtil.generateRandomIV(algorithm));
+	}
+
+	@Benchmark
+	public int decryptBytes() throws Exception {
+		return encryptionUtil.decryptBytes(algorithm, keyProvider.getPlainKey(), encryptedBytes, iv, output);
+	}
+
+	/***
+	 * Creates a Json message of the given size in bytes
+	 */
+	private static String createMessage(int size) {
+		StringBuilder message = new StringBuilder(size);
+		message.append("{\"data\":\"");
+		for (int i = 0; message.length() < size - 2; i++) {
+			message.append((char) ('a' + i % 26));
+		}
+		return message.append("\"}").toString();
+	}
+
+}
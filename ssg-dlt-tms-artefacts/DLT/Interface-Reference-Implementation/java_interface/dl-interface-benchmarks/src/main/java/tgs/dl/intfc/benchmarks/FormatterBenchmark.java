@@ -0,0 +1,88 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.utils.FormatterUtil;
+import tgs.dl.intfc.utils.JsonMapper;
+
+/***
+ * Formatting of write requests, hashing the primary key and encrypting the
+ * payload with the data key of an in-memory key source
+ * 
+ * Requests are formatted in place, every invocation formats a copy of the
+ * parsed event. copyRequest measures the copy alone.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatterBenchmark {
+
+	private FormatterUtil formatterUtil;
+	private RequestData event;
+
+	@Setup
+	public void setup() throws Exception {
+		formatterUtil = new FormatterUtil(new InMemoryKeyProvider());
+		event = new JsonMapper().deserializeFromJson(BenchmarkEvents.getWriteEvent("enrolment"), RequestData.class);
+	}
+
+	@Benchmark
+	public RequestData copyRequest() {
+		return copy(event);
+	}
+
+	@Benchmark
+	public String formatRequestData() throws Exception {
+		return formatterUtil.formatRequestData(copy(event), true);
+	}
+
+	@Benchmark
+	public RequestData formatRequest() throws Exception {
+		return formatterUtil.formatRequest(copy(event), true);
+	}
+
+	@Benchmark
+	public RequestData hashPrimaryKey() throws Exception {
+		return formatterUtil.formatRequest(copy(event), false);
+	}
+
+	private static RequestData copy(RequestData request) {
+		// the public payload is not formatted
+		RequestData copy = new RequestData(request.getHeader().deepCopy(), request.getPayload().deepCopy());
+		copy.setPublicPayload(request.getPublicPayload());
+		return copy;
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.benchmarks;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tgs.dl.intfc.utils.IVGenerator;
+
+/***
+ * IV generation when several threads generate at the same time, the thread
+ * generators of IVGenerator against a SecureRandom shared by all threads and
+ * the generateSeed of SecureRandom.getInstanceStrong() that EncryptionUtil
+ * used before
+ * 
+ * The number of threads can be changed with -t, generateSeed reads the
+ * entropy source of the platform and can block when it runs low.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class IVGeneratorBenchmark {
+
+	private final IVGenerator ivGenerator = IVGenerator.getInstance();
+	private final SecureRandom sharedRandom = new SecureRandom();
+	private final SecureRandom strongRandom = createStrongRandom();
+
+	@Benchmark
+	public byte[] ivGenerator() {
+		return ivGenerator.generateIV();
+	}
+
+	@Benchmark
+	public byte[] sharedSecureRandom() {
+		byte[] iv = new byte[IVGenerator.IV_LENGTH];
+		sharedRandom.nextBytes(iv);
+		return iv;
+	}
+
+	@Benchmark
+	public byte[] strongGenerateSeed() {
+		return strongRandom.generateSeed(IVGenerator.IV_LENGTH);
+	}
+
+	private static SecureRandom createStrongRandom() {
+		try {
+			return SecureRandom.getInstanceStrong();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
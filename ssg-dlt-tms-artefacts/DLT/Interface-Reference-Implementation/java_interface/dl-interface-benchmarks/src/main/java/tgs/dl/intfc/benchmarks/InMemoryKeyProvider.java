@@ -0,0 +1,59 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.benchmarks;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+import tgs.dl.intfc.key.mgmt.KeyProvider;
+import tgs.dl.intfc.key.mgmt.model.Key;
+import tgs.dl.intfc.key.mgmt.model.KeyConfig;
+import tgs.dl.intfc.key.mgmt.model.TrainingPartner;
+
+/***
+ * Key source with a single fixed data key, used instead of the key collection,
+ * the secret storage and the Key Management API
+ */
+public class InMemoryKeyProvider implements KeyProvider {
+
+	public static final String PLAIN_KEY = "QksJRJ19dKtJ1nnkPrGGnxncHJfw3GWLAJwy/Wj5M/I=";
+	public static final String ENCRYPTED_KEY = "in-memory-benchmark-key";
+	private static final int NUMBER_OF_BYTES = 32;
+
+	private final char[] plainKey = PLAIN_KEY.toCharArray();
+	private final String validUpTo = ZonedDateTime.now(ZoneOffset.UTC).plusYears(1).toString();
+
+	@Override
+	public KeyConfig getKeyConfig(TrainingPartner tp) {
+		return new KeyConfig(tp, new Key(getPlainKey(), ENCRYPTED_KEY, NUMBER_OF_BYTES, validUpTo));
+	}
+
+	@Override
+	public KeyConfig getDecryptedKey(TrainingPartner tp, String encryptedKey) {
+		return getKeyConfig(tp);
+	}
+
+	/***
+	 * @return a new copy of the plain key, callers clear the key after use
+	 */
+	public char[] getPlainKey() {
+		return Arrays.copyOf(plainKey, plainKey.length);
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.utils.JsonMapper;
+
+/***
+ * Serialization and deserialization of write events with JsonMapper
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonMapperBenchmark {
+
+	@Param({ "enrolment", "attendance", "assessment", "fees-collection", "grants" })
+	private String schemaName;
+
+	private final JsonMapper jsonMapper = new JsonMapper();
+	private String event;
+	private RequestData request;
+
+	@Setup
+	public void setup() throws Exception {
+		event = BenchmarkEvents.getWriteEvent(schemaName);
+		request = jsonMapper.deserializeFromJson(event, RequestData.class);
+	}
+
+	@Benchmark
+	public RequestData deserializeFromJson() throws Exception {
+		return jsonMapper.deserializeFromJson(event, RequestData.class);
+	}
+
+	@Benchmark
+	public String serializeToJson() throws Exception {
+		return jsonMapper.serializeToJson(request);
+	}
+
+	@Benchmark
+	public JsonNode readTree() throws Exception {
+		return jsonMapper.readTree(event);
+	}
+
+	@Benchmark
+	public String roundTrip() throws Exception {
+		return jsonMapper.serializeToJson(jsonMapper.deserializeFromJson(event, RequestData.class));
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tgs.dl.intfc.config.model.LoggingProperties;
+import tgs.dl.intfc.logging.PayloadLogger;
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.utils.FormatterUtil;
+import tgs.dl.intfc.utils.JsonMapper;
+
+/***
+ * Time spent on the request thread to log a formatted write request
+ * 
+ * synchronousPayload is the former trace logging of the full payload by a
+ * synchronous file appender. The other benchmarks log through PayloadLogger
+ * and an asynchronous file appender, see log4j2-benchmark.properties:
+ * disabledPayload with trace disabled, sampledPayload with one in 100 payloads
+ * logged and redactedPayload with every payload redacted and truncated. The
+ * asynchronous appender blocks once its buffer is full, so redactedPayload is
+ * also bound by the file I/O.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmark.properties")
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+	private static final Logger LOGGER = LogManager.getLogger(LoggingBenchmark.class);
+
+	private static final String DISABLED = "benchmark.disabled";
+	private static final String SAMPLED = "benchmark.sampled";
+	private static final String REDACTED = "benchmark.redacted";
+
+	private PayloadLogger disabledLogger;
+	private PayloadLogger sampledLogger;
+	private PayloadLogger redactedLogger;
+	private String formattedData;
+
+	@Setup
+	public void setup() throws Exception {
+		LoggingProperties properties = new LoggingProperties();
+		properties.getSampleRates().put(SAMPLED, 100);
+
+		disabledLogger = new PayloadLogger(DISABLED, properties);
+		sampledLogger = new PayloadLogger(SAMPLED, properties);
+		redactedLogger = new PayloadLogger(REDACTED, properties);
+
+		FormatterUtil formatterUtil = new FormatterUtil(new InMemoryKeyProvider());
+		RequestData event = new JsonMapper().deserializeFromJson(BenchmarkEvents.getWriteEvent("enrolment"),
+				RequestData.class);
+		formattedData = formatterUtil.formatRequestData(event, true);
+	}
+
+	@Benchmark
+	public void synchronousPayload() {
+		LOGGER.trace("writeGrantsDataDLT : formattedData : {}", formattedData);
+	}
+
+	@Benchmark
+	public void disabledPayload() {
+		disabledLogger.trace("writeGrantsDataDLT : formattedData : {}", formattedData);
+	}
+
+	@Benchmark
+	public void sampledPayload() {
+		sampledLogger.trace("writeGrantsDataDLT : formattedData : {}", formattedData);
+	}
+
+	@Benchmark
+	public void redactedPayload() {
+		redactedLogger.trace("writeGrantsDataDLT : formattedData : {}", formattedData);
+	}
+
+}
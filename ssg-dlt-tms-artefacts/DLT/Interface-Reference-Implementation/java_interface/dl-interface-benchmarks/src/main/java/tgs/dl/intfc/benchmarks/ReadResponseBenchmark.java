@@ -0,0 +1,105 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.model.ReadResponse;
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.utils.FormatterUtil;
+import tgs.dl.intfc.utils.JsonMapper;
+
+/***
+ * Formatting of read responses of synthetic pages of encrypted enrolment
+ * records, in the format of the chaincode Lambda where the result and each
+ * record are Json strings
+ * 
+ * Records are decrypted in parallel when decryptParallelism in
+ * dl-interface.yaml is more than 1.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadResponseBenchmark {
+
+	@Param({ "1", "10", "100" })
+	private int pageSize;
+
+	private FormatterUtil formatterUtil;
+	private String page;
+	private byte[] pageBytes;
+
+	@Setup
+	public void setup() throws Exception {
+		formatterUtil = new FormatterUtil(new InMemoryKeyProvider());
+		JsonMapper jsonMapper = new JsonMapper();
+		String event = BenchmarkEvents.getWriteEvent("enrolment");
+
+		ObjectNode result = JsonNodeFactory.instance.objectNode();
+		ArrayNode data = result.putArray("data");
+		for (int i = 0; i < pageSize; i++) {
+			RequestData request = jsonMapper.deserializeFromJson(event, RequestData.class);
+			data.add(formatterUtil.formatRequestData(request, true));
+		}
+		result.put("pageNumber", "1");
+		result.put("totalRecords", pageSize);
+
+		ObjectNode response = JsonNodeFactory.instance.objectNode();
+		response.put("result", result.toString());
+		page = response.toString();
+		pageBytes = page.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public String formatReadResponseData() throws Exception {
+		return formatterUtil.formatReadResponseData(page);
+	}
+
+	@Benchmark
+	public ReadResponse formatReadResponse() throws Exception {
+		return formatterUtil.formatReadResponse(ByteBuffer.wrap(pageBytes));
+	}
+
+	@Benchmark
+	public ReadResponse formatReadResponseStreamed(Blackhole blackhole) throws Exception {
+		return formatterUtil.formatReadResponse(ByteBuffer.wrap(pageBytes), blackhole::consume);
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.loadtest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/***
+ * Latency and error injection of a stand-in
+ * 
+ * Every call waits latencyMillis plus a uniform random jitter of up to
+ * jitterMillis, and fails with the probability errorRate. Blocking calls wait
+ * on the caller, non-blocking calls complete on a shared timer so that no
+ * caller thread is held.
+ */
+public class FaultInjector {
+
+	private static final ScheduledExecutorService TIMER = Executors.newScheduledThreadPool(
+			Math.max(2, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+				Thread thread = new Thread(runnable, "dl-standin-timer");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+	private final String backend;
+	private final long latencyMillis;
+	private final long jitterMillis;
+	private final double errorRate;
+
+	/***
+	 * @param backend       : name of the stand-in, used in the failures
+	 * @param latencyMillis : fixed latency of every call
+	 * @param jitterMillis  : maximum random latency added to every call
+	 * @param errorRate     : probability of a call to fail, 0 to 1
+	 */
+	public FaultInjector(String backend, long latencyMillis, long jitterMillis, double errorRate) {
+		if (latencyMillis < 0 || jitterMillis < 0 || errorRate < 0 || errorRate > 1) {
+			throw new IllegalArgumentException("Invalid fault injection of " + backend + ": latency "
+					+ latencyMillis + ", jitter " + jitterMillis + ", error rate " + errorRate);
+		}
+		this.backend = backend;
+		this.latencyMillis = latencyMillis;
+		this.jitterMillis = jitterMillis;
+		this.errorRate = errorRate;
+	}
+
+	/***
+	 * @param backend : name of the stand-in
+	 * @return FaultInjector without latency and errors
+	 */
+	public static FaultInjector none(String backend) {
+		return new FaultInjector(backend, 0, 0, 0);
+	}
+
+	/***
+	 * Waits the latency of a call on the caller
+	 * 
+	 * @return true if the call should succeed, false if it should fail
+	 */
+	public boolean pass() {
+		long latency = nextLatencyMillis();
+		if (latency > 0) {
+			try {
+				TimeUnit.MILLISECONDS.sleep(latency);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return !nextFailure();
+	}
+
+	/***
+	 * Waits the latency of a call on the caller
+	 * 
+	 * @throws InjectedFailureException : if the call should fail
+	 */
+	public void apply() {
+		if (!pass()) {
+			throw new InjectedFailureException(backend);
+		}
+	}
+
+	/***
+	 * Completes with the result of the supplier after the latency of a call
+	 * 
+	 * @param supplier : result of the call, run on the timer
+	 * @return CompletableFuture : completes with the result, or exceptionally
+	 *         with InjectedFailureException if the call should fail
+	 */
+	public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		Runnable completion = () -> {
+			try {
+				if (nextFailure()) {
+					future.completeExceptionally(new InjectedFailureException(backend));
+				} else {
+					future.complete(supplier.get());
+				}
+			} catch (Exception e) {
+				future.completeExceptionally(e);
+			}
+		};
+
+		long latency = nextLatencyMillis();
+		if (latency > 0) {
+			TIMER.schedule(completion, latency, TimeUnit.MILLISECONDS);
+		} else {
+			completion.run();
+		}
+		return future;
+	}
+
+	/***
+	 * @return true if the next call should fail
+	 */
+	public boolean nextFailure() {
+		return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+	}
+
+	/***
+	 * @return latency of the next call in milliseconds
+	 */
+	public long nextLatencyMillis() {
+		return jitterMillis > 0 ? latencyMillis + ThreadLocalRandom.current().nextLong(jitterMillis + 1)
+				: latencyMillis;
+	}
+
+	public String getBackend() {
+		return backend;
+	}
+
+	@Override
+	public String toString() {
+		return backend + " [latency=" + latencyMillis + "ms, jitter=" + jitterMillis + "ms, errorRate=" + errorRate
+				+ "]";
+	}
+
+}
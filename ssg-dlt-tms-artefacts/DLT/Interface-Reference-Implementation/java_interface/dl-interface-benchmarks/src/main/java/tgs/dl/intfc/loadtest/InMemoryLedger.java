@@ -0,0 +1,145 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.constants.HeaderKeys;
+import tgs.dl.intfc.constants.RequestDataConstants;
+import tgs.dl.intfc.utils.JsonMapper;
+
+/***
+ * In-memory ledger shared by the message queue and the chaincode stand-ins
+ * 
+ * Written records are kept by primary key, secondary key and tertiary key, a
+ * write of the same keys replaces the record. Queries match the primary key
+ * and, when they are given, the secondary and tertiary keys, and are answered
+ * in pages with the records as Json strings like the chaincode Lambda does.
+ */
+public class InMemoryLedger {
+
+	public static final int PAGE_SIZE = 10;
+	private static final String ARGS_FIELD = "args";
+	private static final String HEADER_FIELD = "header";
+	private static final String ANY_KEY = "-1";
+	private static final char KEY_SEPARATOR = '\u0000';
+
+	private final ConcurrentMap<String, ConcurrentNavigableMap<String, String>> records = new ConcurrentHashMap<>();
+
+	/***
+	 * Writes the record of a DLT Payload
+	 * 
+	 * @param dltPayload : serialized DLT Payload
+	 */
+	public void write(String dltPayload) {
+		JsonNode record = getRecord(dltPayload);
+		JsonNode header = record.path(HEADER_FIELD);
+		String key = header.path(HeaderKeys.SECONDARY_KEY.getHeaderKey()).asText() + KEY_SEPARATOR
+				+ header.path(HeaderKeys.TERTIARY_KEY.getHeaderKey()).asText();
+
+		records.computeIfAbsent(header.path(RequestDataConstants.PRIMARY_KEY).asText(),
+				primaryKey -> new ConcurrentSkipListMap<>()).put(key, record.toString());
+	}
+
+	/***
+	 * Answers the query of a DLT Payload with a page of records
+	 * 
+	 * @param dltPayload : serialized DLT Payload
+	 * @return Lambda payload
+	 */
+	public ByteBuffer query(String dltPayload) {
+		JsonNode header = getRecord(dltPayload).path(HEADER_FIELD);
+		String secondaryKey = header.path(HeaderKeys.SECONDARY_KEY.getHeaderKey()).asText();
+		String tertiaryKey = header.path(HeaderKeys.TERTIARY_KEY.getHeaderKey()).asText();
+		int pageNumber = Math.max(1, header.path(HeaderKeys.PAGE_NUMBER.getHeaderKey()).asInt(1));
+
+		List<String> matches = new ArrayList<>();
+		Map<String, String> primaryRecords = records.get(header.path(RequestDataConstants.PRIMARY_KEY).asText());
+		if (primaryRecords != null) {
+			for (Map.Entry<String, String> entry : primaryRecords.entrySet()) {
+				int separator = entry.getKey().indexOf(KEY_SEPARATOR);
+				if (matches(secondaryKey, entry.getKey().substring(0, separator))
+						&& matches(tertiaryKey, entry.getKey().substring(separator + 1))) {
+					matches.add(entry.getValue());
+				}
+			}
+		}
+
+		ObjectNode result = JsonNodeFactory.instance.objectNode();
+		ArrayNode data = result.putArray("data");
+		for (int i = (pageNumber - 1) * PAGE_SIZE; i < Math.min(matches.size(), pageNumber * PAGE_SIZE); i++) {
+			data.add(matches.get(i));
+		}
+		result.put(HeaderKeys.PAGE_NUMBER.getHeaderKey(), String.valueOf(pageNumber));
+		result.put("totalRecords", matches.size());
+
+		ObjectNode response = JsonNodeFactory.instance.objectNode();
+		response.put("status", 200);
+		response.put("result", result.toString());
+		return ByteBuffer.wrap(response.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/***
+	 * @return number of records
+	 */
+	public int size() {
+		int size = 0;
+		for (Map<String, String> primaryRecords : records.values()) {
+			size += primaryRecords.size();
+		}
+		return size;
+	}
+
+	public void clear() {
+		records.clear();
+	}
+
+	private static boolean matches(String queryKey, String recordKey) {
+		return StringUtils.isBlank(queryKey) || ANY_KEY.equals(queryKey) || queryKey.equals(recordKey);
+	}
+
+	private static JsonNode getRecord(String dltPayload) {
+		try {
+			JsonNode record = new JsonMapper().readTree(dltPayload).path(ARGS_FIELD).path(0);
+			if (!record.isObject()) {
+				throw new IOException("DLT Payload has no record.");
+			}
+			return record;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.loadtest;
+
+/***
+ * Failure injected by a stand-in
+ */
+public class InjectedFailureException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InjectedFailureException(String backend) {
+		super("Injected failure: " + backend);
+	}
+
+}
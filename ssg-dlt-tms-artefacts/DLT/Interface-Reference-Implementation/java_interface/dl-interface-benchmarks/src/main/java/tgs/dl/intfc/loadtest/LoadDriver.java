@@ -0,0 +1,318 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.Gateway;
+import tgs.dl.intfc.constants.RequestDataConstants;
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.utils.DateUtil;
+import tgs.dl.intfc.utils.JsonMapper;
+
+/***
+ * Replays the scenario test fixtures against a gateway on the stand-in backend
+ * at a target rate, and reports the throughput and the p50, p99 and p99.9
+ * latency of each fixture
+ * 
+ * Requests are started on a fixed schedule whether or not the previous ones
+ * have completed, and latency is measured from the scheduled start, so that a
+ * slow backend shows up as latency instead of a lower request rate. Fixtures
+ * with read in their name are sent to readGrantsDataDLT, the others to
+ * writeGrantsDataDLT. Fixtures that are expected to fail validation are
+ * reported as errors.
+ * 
+ * Run from the dl-interface-benchmarks directory, e.g. java -cp
+ * target/benchmarks.jar tgs.dl.intfc.loadtest.LoadDriver --rate=500
+ * --duration=60 --sqs.latency=20 --keyApi.errorRate=0.01
+ */
+public class LoadDriver {
+
+	private static final String[] BACKENDS = { StandInBackend.SQS, StandInBackend.LAMBDA, StandInBackend.SECRETS,
+			StandInBackend.KEY_COLLECTION, StandInBackend.KEY_API };
+	private static final String SCHEMA_LOCATION = "schemaLocation";
+	private static final String READ_FIXTURE = "read";
+	private static final double[] PERCENTILES = { 50, 99, 99.9 };
+
+	private final Gateway gateway;
+	private final List<Fixture> fixtures;
+	private final int concurrency;
+
+	public LoadDriver(Gateway gateway, List<Fixture> fixtures, int concurrency) {
+		this.gateway = gateway;
+		this.fixtures = fixtures;
+		this.concurrency = concurrency;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+
+		Path fixtureDir = Paths.get(getOption(options, "fixtures", "../dl-interface/src/test/resources/scenario_test/json"));
+		Path baseDir = Paths.get(getOption(options, "baseDir", "../dl-interface"));
+		Pattern include = Pattern.compile(getOption(options, "include", ".*\\.json"));
+		double rate = Double.parseDouble(getOption(options, "rate", "100"));
+		long warmupSeconds = Long.parseLong(getOption(options, "warmup", "5"));
+		long durationSeconds = Long.parseLong(getOption(options, "duration", "30"));
+		int concurrency = Integer.parseInt(getOption(options, "concurrency", "64"));
+
+		FaultInjector[] faultInjectors = new FaultInjector[BACKENDS.length];
+		for (int i = 0; i < BACKENDS.length; i++) {
+			faultInjectors[i] = getFaultInjector(options, BACKENDS[i]);
+			System.out.println("Stand-in " + faultInjectors[i]);
+		}
+		StandInBackend backend = new StandInBackend(faultInjectors[0], faultInjectors[1], faultInjectors[2],
+				faultInjectors[3], faultInjectors[4]);
+
+		List<Fixture> fixtures = loadFixtures(fixtureDir, baseDir, include);
+		if (fixtures.isEmpty()) {
+			throw new IOException("No fixtures in " + fixtureDir.toAbsolutePath() + " match " + include);
+		}
+		LoadDriver loadDriver = new LoadDriver(backend.createGateway(), fixtures, concurrency);
+
+		System.out.println("Warmup: " + warmupSeconds + " s at " + rate + " requests/s");
+		loadDriver.run(rate, warmupSeconds, TimeUnit.SECONDS);
+		fixtures.forEach(Fixture::reset);
+
+		System.out.println("Measurement: " + durationSeconds + " s at " + rate + " requests/s, " + fixtures.size()
+				+ " fixtures, " + concurrency + " workers");
+		long elapsedNanos = loadDriver.run(rate, durationSeconds, TimeUnit.SECONDS);
+		report(fixtures, elapsedNanos);
+		System.out.println("Ledger records: " + backend.getLedger().size() + ", data keys: "
+				+ backend.getKeyManagementClient().size());
+	}
+
+	/***
+	 * Starts requests at the rate for the duration and waits for them to
+	 * complete, fixtures are replayed in turn
+	 * 
+	 * @param rate     : requests per second
+	 * @param duration
+	 * @param unit
+	 * @return nanoseconds from the first start to the last completion
+	 * @throws InterruptedException
+	 */
+	public long run(double rate, long duration, TimeUnit unit) throws InterruptedException {
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+			Thread thread = new Thread(runnable, "dl-load-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+		long durationNanos = unit.toNanos(duration);
+		long start = System.nanoTime();
+		for (long i = 0;; i++) {
+			long scheduledStart = start + (long) (i * intervalNanos);
+			if (scheduledStart - start >= durationNanos) {
+				break;
+			}
+
+			long wait = scheduledStart - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+
+			Fixture fixture = fixtures.get((int) (i % fixtures.size()));
+			workers.execute(() -> fixture.send(gateway, scheduledStart));
+		}
+
+		workers.shutdown();
+		workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		return System.nanoTime() - start;
+	}
+
+	/***
+	 * Prints the results of each fixture, each operation and all requests
+	 */
+	private static void report(List<Fixture> fixtures, long elapsedNanos) {
+		System.out.println(String.format("%-52s %8s %7s %10s %9s %9s %9s %9s", "fixture", "ok", "errors", "ops/s",
+				"p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+		LatencyRecorder reads = new LatencyRecorder();
+		LatencyRecorder writes = new LatencyRecorder();
+		for (Fixture fixture : fixtures) {
+			report(fixture.name, fixture.recorder, elapsedNanos);
+			(fixture.isRead ? reads : writes).add(fixture.recorder);
+		}
+
+		LatencyRecorder total = new LatencyRecorder();
+		total.add(reads);
+		total.add(writes);
+		report("[write]", writes, elapsedNanos);
+		report("[read]", reads, elapsedNanos);
+		report("[total]", total, elapsedNanos);
+
+		for (Fixture fixture : fixtures) {
+			Throwable error = fixture.recorder.getFirstError();
+			if (error != null) {
+				System.out.println(fixture.name + " : " + error);
+			}
+		}
+	}
+
+	private static void report(String name, LatencyRecorder recorder, long elapsedNanos) {
+		long[] sorted = recorder.getSortedSamples();
+		double throughput = sorted.length / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+
+		StringBuilder line = new StringBuilder(String.format("%-52s %8d %7d %10.1f", name, sorted.length,
+				recorder.getErrorCount(), throughput));
+		for (double percentile : PERCENTILES) {
+			line.append(String.format(" %9.3f", toMillis(LatencyRecorder.getPercentile(sorted, percentile))));
+		}
+		line.append(String.format(" %9.3f", toMillis(sorted.length > 0 ? sorted[sorted.length - 1] : 0)));
+		System.out.println(line);
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/***
+	 * Reads the fixtures, write fixtures get a source timestamp if they have
+	 * none and their schemaLocation is resolved against the base directory
+	 */
+	private static List<Fixture> loadFixtures(Path fixtureDir, Path baseDir, Pattern include) throws IOException {
+		List<Path> files;
+		try (Stream<Path> paths = Files.list(fixtureDir)) {
+			files = paths.filter(path -> include.matcher(path.getFileName().toString()).matches()).sorted()
+					.collect(Collectors.toList());
+		}
+
+		JsonMapper jsonMapper = new JsonMapper();
+		List<Fixture> fixtures = new ArrayList<>(files.size());
+		for (Path file : files) {
+			String name = file.getFileName().toString();
+			String eventData = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+			boolean isRead = name.contains(READ_FIXTURE);
+
+			if (!isRead) {
+				RequestData request = jsonMapper.deserializeFromJson(eventData, RequestData.class);
+				addSourceTimestamp(request);
+				resolveSchemaLocation(request, baseDir);
+				eventData = jsonMapper.serializeToJson(request);
+			}
+			fixtures.add(new Fixture(name, eventData, isRead));
+		}
+		return fixtures;
+	}
+
+	private static void addSourceTimestamp(RequestData request) {
+		if (!(request.getPublicPayload() instanceof ObjectNode)) {
+			return;
+		}
+		ObjectNode source = ((ObjectNode) request.getPublicPayload())
+				.with(RequestDataConstants.PUBLIC_PAYLOAD_SOUCRCE);
+		if (StringUtils.isBlank(source.path(RequestDataConstants.PUBLIC_PAYLOAD_SOUCRCE_DATETIME).asText())) {
+			source.put(RequestDataConstants.PUBLIC_PAYLOAD_SOUCRCE_DATETIME, DateUtil.getFormattedDateTime());
+		}
+		if (StringUtils.isBlank(source.path(RequestDataConstants.PUBLIC_PAYLOAD_SOUCRCE_TIMESTAMP).asText())) {
+			source.put(RequestDataConstants.PUBLIC_PAYLOAD_SOUCRCE_TIMESTAMP,
+					String.valueOf(DateUtil.getTimestampInMilliseconds()));
+		}
+	}
+
+	private static void resolveSchemaLocation(RequestData request, Path baseDir) {
+		JsonNode schemaLocation = request.getHeader() != null ? request.getHeader().get(SCHEMA_LOCATION) : null;
+		if (schemaLocation != null && schemaLocation.isTextual() && !Paths.get(schemaLocation.asText()).isAbsolute()) {
+			((ObjectNode) request.getHeader()).put(SCHEMA_LOCATION,
+					baseDir.resolve(schemaLocation.asText()).toString());
+		}
+	}
+
+	/***
+	 * Latency and error rate of a stand-in from the options, e.g.
+	 * --sqs.latency=20 --sqs.jitter=10 --sqs.errorRate=0.01, latency, jitter and
+	 * errorRate without backend apply to all stand-ins
+	 */
+	private static FaultInjector getFaultInjector(Map<String, String> options, String backend) {
+		long latency = Long.parseLong(getOption(options, backend + ".latency", getOption(options, "latency", "0")));
+		long jitter = Long.parseLong(getOption(options, backend + ".jitter", getOption(options, "jitter", "0")));
+		double errorRate = Double
+				.parseDouble(getOption(options, backend + ".errorRate", getOption(options, "errorRate", "0")));
+		return new FaultInjector(backend, latency, jitter, errorRate);
+	}
+
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+				throw new IllegalArgumentException("Options are given as --name=value: " + arg);
+			}
+			options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+		}
+		return options;
+	}
+
+	private static String getOption(Map<String, String> options, String name, String defaultValue) {
+		return options.getOrDefault(name, defaultValue);
+	}
+
+	/***
+	 * Request of a fixture and its results
+	 */
+	public static class Fixture {
+		private final String name;
+		private final String eventData;
+		private final boolean isRead;
+		private volatile LatencyRecorder recorder = new LatencyRecorder();
+
+		public Fixture(String name, String eventData, boolean isRead) {
+			this.name = name;
+			this.eventData = eventData;
+			this.isRead = isRead;
+		}
+
+		private void send(Gateway gateway, long scheduledStart) {
+			try {
+				if (isRead) {
+					gateway.readGrantsDataDLT(eventData);
+				} else {
+					gateway.writeGrantsDataDLT(eventData);
+				}
+				recorder.record(System.nanoTime() - scheduledStart);
+			} catch (Exception e) {
+				recorder.recordError(e);
+			}
+		}
+
+		private void reset() {
+			recorder = new LatencyRecorder();
+		}
+	}
+
+}
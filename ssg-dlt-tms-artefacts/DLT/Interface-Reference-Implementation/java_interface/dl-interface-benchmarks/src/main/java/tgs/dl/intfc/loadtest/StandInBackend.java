@@ -0,0 +1,107 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.loadtest;
+
+import tgs.dl.intfc.Gateway;
+import tgs.dl.intfc.impl.GatewayImpl;
+import tgs.dl.intfc.impl.TransactionHandlerImpl;
+import tgs.dl.intfc.key.mgmt.KeyManagementService;
+import tgs.dl.intfc.key.mgmt.SecretStorageService;
+import tgs.dl.intfc.utils.FormatterUtil;
+
+/***
+ * In-process backend of the gateway, with stand-ins for SQS, the chaincode
+ * Lambda, Secrets Manager, the key collection and the Key Management API
+ * 
+ * Writes sent to the message queue stand-in are read back by the chaincode
+ * stand-in through a shared in-memory ledger.
+ */
+public class StandInBackend {
+
+	public static final String SQS = "sqs";
+	public static final String LAMBDA = "lambda";
+	public static final String SECRETS = "secrets";
+	public static final String KEY_COLLECTION = "keyCollection";
+	public static final String KEY_API = "keyApi";
+	public static final long DEFAULT_KEY_VALIDITY_SECONDS = 24 * 60 * 60;
+
+	private final InMemoryLedger ledger = new InMemoryLedger();
+	private final StandInMessageQueue messageQueue;
+	private final StandInChaincode chaincode;
+	private final StandInSecretStore secretStore;
+	private final StandInKeyRecordStore keyRecordStore;
+	private final StandInKeyManagementClient keyManagementClient;
+
+	/***
+	 * Stand-ins without latency and errors
+	 */
+	public StandInBackend() {
+		this(FaultInjector.none(SQS), FaultInjector.none(LAMBDA), FaultInjector.none(SECRETS),
+				FaultInjector.none(KEY_COLLECTION), FaultInjector.none(KEY_API));
+	}
+
+	public StandInBackend(FaultInjector sqs, FaultInjector lambda, FaultInjector secrets,
+			FaultInjector keyCollection, FaultInjector keyApi) {
+		messageQueue = new StandInMessageQueue(ledger, sqs);
+		chaincode = new StandInChaincode(ledger, lambda);
+		secretStore = new StandInSecretStore(secrets);
+		keyRecordStore = new StandInKeyRecordStore(keyCollection);
+		keyManagementClient = new StandInKeyManagementClient(keyApi, DEFAULT_KEY_VALIDITY_SECONDS);
+	}
+
+	/***
+	 * Creates a gateway on the stand-ins
+	 * 
+	 * Key records are cached by KeyManagementService for all gateways of the
+	 * JVM, a training partner keeps the data key of the first backend it was
+	 * used with.
+	 * 
+	 * @return Gateway
+	 */
+	public Gateway createGateway() {
+		KeyManagementService keyManagementService = new KeyManagementService(keyRecordStore,
+				new SecretStorageService(secretStore), keyManagementClient);
+		return new GatewayImpl(new TransactionHandlerImpl(messageQueue, chaincode),
+				new FormatterUtil(keyManagementService));
+	}
+
+	public InMemoryLedger getLedger() {
+		return ledger;
+	}
+
+	public StandInMessageQueue getMessageQueue() {
+		return messageQueue;
+	}
+
+	public StandInChaincode getChaincode() {
+		return chaincode;
+	}
+
+	public StandInSecretStore getSecretStore() {
+		return secretStore;
+	}
+
+	public StandInKeyRecordStore getKeyRecordStore() {
+		return keyRecordStore;
+	}
+
+	public StandInKeyManagementClient getKeyManagementClient() {
+		return keyManagementClient;
+	}
+
+}
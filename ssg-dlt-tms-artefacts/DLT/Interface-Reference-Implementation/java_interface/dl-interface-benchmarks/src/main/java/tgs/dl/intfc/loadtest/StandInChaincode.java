@@ -0,0 +1,49 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.loadtest;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+import tgs.dl.intfc.spi.ChaincodeInvoker;
+
+/***
+ * Chaincode Lambda stand-in, queries are answered from the ledger
+ */
+public class StandInChaincode implements ChaincodeInvoker {
+
+	private final InMemoryLedger ledger;
+	private final FaultInjector faultInjector;
+
+	public StandInChaincode(InMemoryLedger ledger, FaultInjector faultInjector) {
+		this.ledger = ledger;
+		this.faultInjector = faultInjector;
+	}
+
+	@Override
+	public ByteBuffer invokeLambdaPayload(String lambdaFunction, String payload) {
+		faultInjector.apply();
+		return ledger.query(payload);
+	}
+
+	@Override
+	public CompletableFuture<ByteBuffer> invokeLambdaPayloadAsync(String lambdaFunction, String payload) {
+		return faultInjector.supplyAsync(() -> ledger.query(payload));
+	}
+
+}
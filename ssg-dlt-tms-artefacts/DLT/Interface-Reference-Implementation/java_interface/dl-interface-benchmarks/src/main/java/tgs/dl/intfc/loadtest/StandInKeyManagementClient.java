@@ -0,0 +1,133 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.loadtest;
+
+import java.security.SecureRandom;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.constants.Constants;
+import tgs.dl.intfc.spi.KeyManagementClient;
+import tgs.dl.intfc.utils.JsonMapper;
+import tgs.dl.intfc.utils.model.APIResponse;
+
+/***
+ * Key Management API stand-in
+ * 
+ * A request without encrypted key creates a new 256 bit data key, a request
+ * with an encrypted key returns the data key it was created with. Injected
+ * failures are answered with HTTP 503.
+ */
+public class StandInKeyManagementClient implements KeyManagementClient {
+
+	private static final int NUMBER_OF_BYTES = 32;
+	private static final int ENCRYPTED_KEY_BYTES = 48;
+
+	private final SecureRandom random = new SecureRandom();
+	private final ConcurrentMap<String, String> plainKeys = new ConcurrentHashMap<>();
+	private final FaultInjector faultInjector;
+	private final long keyValiditySeconds;
+
+	/***
+	 * @param faultInjector
+	 * @param keyValiditySeconds : validity of the created data keys
+	 */
+	public StandInKeyManagementClient(FaultInjector faultInjector, long keyValiditySeconds) {
+		this.faultInjector = faultInjector;
+		this.keyValiditySeconds = keyValiditySeconds;
+	}
+
+	@Override
+	public APIResponse apiPostRequest(String requestURL, Map<String, String> headerParameters, String jsonString)
+			throws Exception {
+		if (!faultInjector.pass()) {
+			return getResponse(HttpStatus.SC_SERVICE_UNAVAILABLE,
+					new InjectedFailureException(faultInjector.getBackend()).getMessage(), null);
+		}
+
+		JsonNode request = new JsonMapper().readTree(jsonString);
+		String encryptedKey = request.path("key").path("encryptedKey").asText(null);
+
+		String plainKey;
+		if (StringUtils.isBlank(encryptedKey)) {
+			plainKey = nextKey(NUMBER_OF_BYTES);
+			encryptedKey = nextKey(ENCRYPTED_KEY_BYTES);
+			plainKeys.put(encryptedKey, plainKey);
+		} else {
+			plainKey = plainKeys.get(encryptedKey);
+			if (plainKey == null) {
+				return getResponse(HttpStatus.SC_NOT_FOUND, "Data key does not exist.", null);
+			}
+		}
+
+		ObjectNode data = JsonNodeFactory.instance.objectNode();
+		ObjectNode trainingPartner = data.putObject("trainingPartner");
+		trainingPartner.put("uen", headerParameters.get(Constants.KEY_MGMT_API_HEADER_UEN));
+		trainingPartner.put("code", request.path("trainingPartner").path("code").asText());
+		ObjectNode key = data.putObject("key");
+		key.put("plainKey", plainKey);
+		key.put("encryptedKey", encryptedKey);
+		key.put("numberOfBytes", NUMBER_OF_BYTES);
+		key.put("validUpTo", ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(keyValiditySeconds)
+				.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+		return getResponse(HttpStatus.SC_OK, null, data);
+	}
+
+	/***
+	 * @return number of data keys created
+	 */
+	public int size() {
+		return plainKeys.size();
+	}
+
+	private String nextKey(int numberOfBytes) {
+		byte[] key = new byte[numberOfBytes];
+		random.nextBytes(key);
+		return Base64.getEncoder().encodeToString(key);
+	}
+
+	/***
+	 * The API answers with HTTP 200 and the status in the body, except when it
+	 * is unavailable
+	 */
+	private static APIResponse getResponse(int status, String description, JsonNode data) {
+		ObjectNode body = JsonNodeFactory.instance.objectNode();
+		body.put("status", status);
+		if (description != null) {
+			body.put("description", description);
+		}
+		if (data != null) {
+			body.set("data", data);
+		}
+		int httpStatus = status == HttpStatus.SC_SERVICE_UNAVAILABLE ? status : HttpStatus.SC_OK;
+		return new APIResponse(httpStatus, body.toString());
+	}
+
+}
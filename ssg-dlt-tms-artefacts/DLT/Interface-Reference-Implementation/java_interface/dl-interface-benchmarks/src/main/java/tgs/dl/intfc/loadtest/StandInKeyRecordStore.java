@@ -0,0 +1,87 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import tgs.dl.intfc.key.mgmt.model.OrgKeyRecord;
+import tgs.dl.intfc.spi.KeyRecordStore;
+
+/***
+ * Key collection stand-in, failures are reported as false or null like
+ * KeyRecordRepository
+ * 
+ * Records are copied in and out, so that callers cannot change the stored
+ * records.
+ */
+public class StandInKeyRecordStore implements KeyRecordStore {
+
+	private static final Logger LOGGER = LogManager.getLogger(StandInKeyRecordStore.class);
+
+	private final Map<String, OrgKeyRecord> records = new ConcurrentHashMap<>();
+	private final FaultInjector faultInjector;
+
+	public StandInKeyRecordStore(FaultInjector faultInjector) {
+		this.faultInjector = faultInjector;
+	}
+
+	@Override
+	public OrgKeyRecord findByTpCode(String tpCode) {
+		if (!faultInjector.pass()) {
+			LOGGER.error("findByTpCode : {}", new InjectedFailureException(faultInjector.getBackend()).getMessage());
+			return null;
+		}
+
+		OrgKeyRecord keyRecord = tpCode != null ? records.get(tpCode) : null;
+		return keyRecord != null ? copy(keyRecord) : null;
+	}
+
+	@Override
+	public boolean replace(OrgKeyRecord keyRecord) {
+		if (!faultInjector.pass()) {
+			LOGGER.error("replace : {}", new InjectedFailureException(faultInjector.getBackend()).getMessage());
+			return false;
+		}
+
+		return keyRecord.getTpCode() != null && records.replace(keyRecord.getTpCode(), copy(keyRecord)) != null;
+	}
+
+	@Override
+	public boolean create(OrgKeyRecord keyRecord) {
+		if (!faultInjector.pass()) {
+			LOGGER.error("create : {}", new InjectedFailureException(faultInjector.getBackend()).getMessage());
+			return false;
+		}
+
+		return keyRecord.getTpCode() != null && records.putIfAbsent(keyRecord.getTpCode(), copy(keyRecord)) == null;
+	}
+
+	public int size() {
+		return records.size();
+	}
+
+	private static OrgKeyRecord copy(OrgKeyRecord keyRecord) {
+		return new OrgKeyRecord(keyRecord.getTpUen(), keyRecord.getTpCode(), keyRecord.getEncryptedKey(),
+				keyRecord.getNumberOfBytes(), keyRecord.getValidUpTo());
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import tgs.dl.intfc.model.WriteResult;
+import tgs.dl.intfc.spi.MessageQueue;
+
+/***
+ * SQS stand-in, messages are written to the ledger as soon as they are
+ * accepted
+ * 
+ * A batch waits the latency once per 10 messages like SendMessageBatch, and
+ * fails message by message.
+ */
+public class StandInMessageQueue implements MessageQueue {
+
+	private static final int MAX_BATCH_ENTRIES = 10;
+
+	private final InMemoryLedger ledger;
+	private final FaultInjector faultInjector;
+
+	public StandInMessageQueue(InMemoryLedger ledger, FaultInjector faultInjector) {
+		this.ledger = ledger;
+		this.faultInjector = faultInjector;
+	}
+
+	@Override
+	public boolean sendMessage(String queueUrl, String messageBody) {
+		faultInjector.apply();
+		ledger.write(messageBody);
+		return true;
+	}
+
+	@Override
+	public CompletableFuture<Boolean> sendMessageAsync(String queueUrl, String messageBody) {
+		return faultInjector.supplyAsync(() -> {
+			ledger.write(messageBody);
+			return true;
+		});
+	}
+
+	@Override
+	public List<WriteResult> sendMessageBatch(String queueUrl, List<String> messageBodies) {
+		List<WriteResult> results = new ArrayList<>(messageBodies.size());
+
+		for (int i = 0; i < messageBodies.size(); i++) {
+			if (i % MAX_BATCH_ENTRIES == 0) {
+				faultInjector.pass();
+			}
+
+			WriteResult result = new WriteResult(i);
+			if (faultInjector.nextFailure()) {
+				result.setMessage(new InjectedFailureException(faultInjector.getBackend()).getMessage());
+			} else {
+				ledger.write(messageBodies.get(i));
+				result.setSuccess(true);
+				result.setMessageId(UUID.randomUUID().toString());
+			}
+			results.add(result);
+		}
+		return results;
+	}
+
+}
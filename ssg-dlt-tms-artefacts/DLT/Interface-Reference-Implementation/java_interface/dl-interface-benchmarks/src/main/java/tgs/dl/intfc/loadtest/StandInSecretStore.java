@@ -0,0 +1,79 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.loadtest;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import tgs.dl.intfc.config.model.SecretKVPair;
+import tgs.dl.intfc.spi.SecretStore;
+import tgs.dl.intfc.utils.JsonMapper;
+
+/***
+ * Secrets Manager stand-in, failures are reported as false or null like
+ * SecretsMgrService
+ */
+public class StandInSecretStore implements SecretStore {
+
+	private static final Logger LOGGER = LogManager.getLogger(StandInSecretStore.class);
+
+	private final ConcurrentMap<String, String> secrets = new ConcurrentHashMap<>();
+	private final FaultInjector faultInjector;
+
+	public StandInSecretStore(FaultInjector faultInjector) {
+		this.faultInjector = faultInjector;
+	}
+
+	@Override
+	public boolean createSecret(String secretName, String secretKey) {
+		return faultInjector.pass() && secrets.putIfAbsent(secretName, secretKey) == null;
+	}
+
+	@Override
+	public boolean updateSecret(String secretName, String secretKey) {
+		return faultInjector.pass() && secrets.replace(secretName, secretKey) != null;
+	}
+
+	@Override
+	public SecretKVPair getSecret(String secretName) {
+		if (!faultInjector.pass()) {
+			LOGGER.error("getSecret : {}", new InjectedFailureException(faultInjector.getBackend()).getMessage());
+			return null;
+		}
+
+		String secret = secrets.get(secretName);
+		if (secret == null) {
+			return null;
+		}
+		try {
+			return new JsonMapper().deserializeFromJson(secret, SecretKVPair.class);
+		} catch (IOException e) {
+			LOGGER.error("getSecret : ", e);
+			return null;
+		}
+	}
+
+	public int size() {
+		return secrets.size();
+	}
+
+}
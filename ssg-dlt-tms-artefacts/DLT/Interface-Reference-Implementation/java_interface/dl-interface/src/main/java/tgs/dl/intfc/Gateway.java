@@ -16,6 +16,15 @@
 
 package tgs.dl.intfc;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import tgs.dl.intfc.model.ReadResponse;
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.model.WriteResult;
+
 public interface Gateway {
 	
 	/***
@@ -26,6 +35,31 @@ public interface Gateway {
 	 */
 	void writeGrantsDataDLT(String eventData) throws Exception;
 	
+	/***
+	 * Writes grants data of a parsed request to message queue, a copy of the
+	 * request is hashed and encrypted, the request is not modified
+	 * @param request
+	 * @throws Exception : for null values and AWS Service exceptions
+	 */
+	void writeGrantsDataDLT(RequestData request) throws Exception;
+	
+	/***
+	 * Writes a batch of grants data to message queue
+	 * @param eventData as list of Serialized Json
+	 * @return List of WriteResult : status of each event, in the order of eventData
+	 * @throws Exception : for null values and AWS Service exceptions
+	 */
+	List<WriteResult> writeGrantsDataDLT(List<String> eventData) throws Exception;
+	
+	/***
+	 * Writes a batch of parsed requests to message queue, copies of the
+	 * requests are hashed and encrypted, the requests are not modified
+	 * @param requests
+	 * @return List of WriteResult : status of each event, in the order of requests
+	 * @throws Exception : for null values and AWS Service exceptions
+	 */
+	List<WriteResult> writeGrantsDataDLTBatch(List<RequestData> requests) throws Exception;
+	
 	/***
 	 * Reads grants data 
 	 * @param queryKeys as Json String
@@ -33,4 +67,76 @@ public interface Gateway {
 	 * @throws Exception : null values and for AWS Service exceptions
 	 */
 	String readGrantsDataDLT(String queryKeys) throws Exception;
+	
+	/***
+	 * Reads grants data of a parsed request, handing each decrypted record over
+	 * as soon as it is ready
+	 * @param queryKeys
+	 * @param recordConsumer : receives the decrypted records in the order of the result
+	 * @return ReadResponse : remaining fields of the result, without data
+	 * @throws Exception : null values and for AWS Service exceptions
+	 */
+	ReadResponse readGrantsDataDLT(RequestData queryKeys, Consumer<RequestData> recordConsumer) throws Exception;
+	
+	/***
+	 * Validates the query keys and reads the result of a parsed request, the
+	 * records are decrypted when the returned reader is called. A caller can so
+	 * tell a failed read from a failure while the records are handed over.
+	 * @param queryKeys
+	 * @return RecordReader : hands over the records of the result, once
+	 * @throws InvalidRequestException : null values and invalid query keys
+	 * @throws Exception : for AWS Service exceptions
+	 */
+	RecordReader fetchGrantsDataDLT(RequestData queryKeys) throws Exception;
+	
+	/***
+	 * Reads grants data of all pages, starting from the pageNumber of the header
+	 * or the first page if it is empty. The next pages are requested while a page
+	 * is decrypted; close the stream to stop reading early.
+	 * @param queryKeys
+	 * @return Stream of decrypted records in page order, a failed page is thrown
+	 *         as CompletionException while the stream is consumed
+	 * @throws Exception : null values and invalid query keys
+	 */
+	Stream<RequestData> readGrantsDataDLTPages(RequestData queryKeys) throws Exception;
+	
+	/***
+	 * Writes grants data to message queue without blocking the caller
+	 * @param eventData as Serialized Json
+	 * @return CompletableFuture : completes when the message queue accepts the event,
+	 *         or exceptionally for null values and AWS Service exceptions
+	 */
+	CompletableFuture<Void> writeGrantsDataDLTAsync(String eventData);
+	
+	/***
+	 * Writes grants data of a parsed request to message queue without blocking
+	 * the caller, a copy of the request is hashed and encrypted, the request is
+	 * not modified
+	 * @param request
+	 * @return CompletableFuture : completes when the message queue accepts the event,
+	 *         or exceptionally for null values and AWS Service exceptions
+	 */
+	CompletableFuture<Void> writeGrantsDataDLTAsync(RequestData request);
+	
+	/***
+	 * Reads grants data without blocking the caller
+	 * @param queryKeys as Json String
+	 * @return CompletableFuture : completes with Serialized Json of EventPayload,
+	 *         or exceptionally for null values and AWS Service exceptions
+	 */
+	CompletableFuture<String> readGrantsDataDLTAsync(String queryKeys);
+	
+	/***
+	 * Result of a read that is fetched but not decrypted yet
+	 */
+	interface RecordReader {
+		
+		/***
+		 * Decrypts the records, handing each over as soon as it is ready
+		 * @param recordConsumer : receives the decrypted records in the order of the result
+		 * @return ReadResponse : remaining fields of the result, without data
+		 * @throws Exception : if the result has an invalid format or decryption fails
+		 */
+		ReadResponse readRecords(Consumer<RequestData> recordConsumer) throws Exception;
+	}
 }
\ No newline at end of file
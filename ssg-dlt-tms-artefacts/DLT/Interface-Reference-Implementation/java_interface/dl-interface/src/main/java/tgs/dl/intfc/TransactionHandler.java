@@ -16,6 +16,13 @@
 
 package tgs.dl.intfc;
 
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.model.WriteResult;
+
 public interface TransactionHandler {
 	
 	/***
@@ -26,6 +33,29 @@ public interface TransactionHandler {
 	 */
 	void writeTransaction(String eventData) throws Exception;
 	
+	/***
+	 * Writes transaction data, Formats the parsed request to DLT Payload
+	 * @param request : formatted request
+	 * @throws Exception : null values for AWS Service exceptions
+	 */
+	void writeTransaction(RequestData request) throws Exception;
+	
+	/***
+	 * Writes a batch of transaction data, Formats each request to DLT Payload
+	 * @param eventData : formatted requests
+	 * @return List of WriteResult : status from message queue, in the order of eventData
+	 * @throws Exception : null values for AWS Service exceptions
+	 */
+	List<WriteResult> writeTransaction(List<String> eventData) throws Exception;
+	
+	/***
+	 * Writes a batch of transaction data, Formats each parsed request to DLT Payload
+	 * @param requests : formatted requests
+	 * @return List of WriteResult : status from message queue, in the order of requests
+	 * @throws Exception : null values for AWS Service exceptions
+	 */
+	List<WriteResult> writeTransactionBatch(List<RequestData> requests) throws Exception;
+	
 	/***
 	 * Reads transaction data based on the queryKeys provided, Formats the request to DLT Payload
 	 * @param eventData
@@ -33,4 +63,40 @@ public interface TransactionHandler {
 	 * @throws Exceptio n: null values for AWS Service exceptions
 	 */
 	String readTransaction(String queryKeys) throws Exception;
+	
+	/***
+	 * Reads transaction data based on the queryKeys provided, Formats the request to DLT Payload
+	 * @param queryKeys
+	 * @return queried data as returned by the chaincode, undecoded
+	 * @throws Exception : null values for AWS Service exceptions
+	 */
+	ByteBuffer readTransactionPayload(String queryKeys) throws Exception;
+	
+	/***
+	 * Writes transaction data without blocking the caller
+	 * @param eventData
+	 * @return CompletableFuture : completes when the message queue accepts the message
+	 */
+	CompletableFuture<Void> writeTransactionAsync(String eventData);
+	
+	/***
+	 * Writes transaction data of a parsed request without blocking the caller
+	 * @param request : formatted request
+	 * @return CompletableFuture : completes when the message queue accepts the message
+	 */
+	CompletableFuture<Void> writeTransactionAsync(RequestData request);
+	
+	/***
+	 * Reads transaction data based on the queryKeys provided without blocking the caller
+	 * @param queryKeys
+	 * @return CompletableFuture : completes with the queried data
+	 */
+	CompletableFuture<String> readTransactionAsync(String queryKeys);
+	
+	/***
+	 * Reads transaction data based on the queryKeys provided without blocking the caller
+	 * @param queryKeys
+	 * @return CompletableFuture : completes with the queried data as returned by the chaincode, undecoded
+	 */
+	CompletableFuture<ByteBuffer> readTransactionPayloadAsync(String queryKeys);
 }
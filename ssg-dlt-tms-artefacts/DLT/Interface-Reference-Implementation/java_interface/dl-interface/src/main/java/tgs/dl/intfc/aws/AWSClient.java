@@ -16,13 +16,21 @@
 
 package tgs.dl.intfc.aws;
 
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.regions.Regions;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.retry.RetryPolicy;
 import com.amazonaws.services.lambda.AWSLambda;
+import com.amazonaws.services.lambda.AWSLambdaAsync;
+import com.amazonaws.services.lambda.AWSLambdaAsyncClientBuilder;
 import com.amazonaws.services.lambda.AWSLambdaClientBuilder;
 import com.amazonaws.services.secretsmanager.AWSSecretsManager;
 import com.amazonaws.services.secretsmanager.AWSSecretsManagerClientBuilder;
@@ -32,18 +40,33 @@ import com.amazonaws.util.StringUtils;
 
 import tgs.dl.intfc.config.model.AWSProperties;
 import tgs.dl.intfc.constants.Constants;
+import tgs.dl.intfc.metrics.MetricNames;
+import tgs.dl.intfc.metrics.MetricsRegistry;
 
 /***
- * Class for Building AWS Service Clients
+ * Registry of AWS Service Clients
+ * 
+ * Clients are built once on first use and shared by every caller of the same
+ * AWSClient, they are thread-safe. Use getInstance() for the process wide
+ * registry and close() to release the connection and thread pools, a closed
+ * registry does not build clients again.
  */
-public class AWSClient {
+public class AWSClient implements Closeable {
 
 	private static final Logger LOGGER = LogManager.getLogger(AWSClient.class);
 
+	private static volatile AWSClient instance;
+
 	private AWSProperties awsProperties = Constants.AWS_PROPERTIES;
 	private BasicAWSCredentials awsCreds;
 	private Regions regionName;
 
+	private volatile AWSLambda lambdaClient;
+	private volatile AWSLambdaAsync lambdaAsyncClient;
+	private volatile AmazonSQSAsync sqsClient;
+	private volatile AWSSecretsManager secretsMgrClient;
+	private volatile boolean isClosed;
+
 	/***
 	 * Set AWS credentials
 	 * 
@@ -52,6 +75,25 @@ public class AWSClient {
 	public AWSClient() {
 		initializeProperties();
 	}
+
+	/***
+	 * Provides the process wide registry of AWS Service Clients
+	 * 
+	 * @return shared AWSClient
+	 */
+	public static AWSClient getInstance() {
+		AWSClient client = instance;
+		if (client == null) {
+			synchronized (AWSClient.class) {
+				client = instance;
+				if (client == null) {
+					client = new AWSClient();
+					instance = client;
+				}
+			}
+		}
+		return client;
+	}
 	
 	private void initializeProperties() {
 		try {
@@ -85,46 +127,199 @@ public class AWSClient {
 	}
 
 	/***
-	 * Set Lambda Client
+	 * Builds the client configuration of a service client
+	 * 
+	 * @param service : service tag of the retry count
+	 * @return ClientConfiguration with connection pool size, timeouts and the
+	 *         default retry policy that counts retries
+	 */
+	private ClientConfiguration getClientConfiguration(String service) {
+		ClientConfiguration clientConfiguration = new ClientConfiguration().withRetryPolicy(getRetryPolicy(service));
+		if (awsProperties != null) {
+			clientConfiguration.withMaxConnections(awsProperties.getMaxConnections())
+					.withConnectionTimeout(awsProperties.getConnectionTimeout())
+					.withSocketTimeout(awsProperties.getSocketTimeout())
+					.withClientExecutionTimeout(awsProperties.getClientExecutionTimeout());
+		}
+		return clientConfiguration;
+	}
+
+	/***
+	 * Default retry policy of the SDK that counts the retries of a service
+	 * 
+	 * @param service : service tag of the retry count
+	 * @return RetryPolicy
+	 */
+	private static RetryPolicy getRetryPolicy(String service) {
+		RetryPolicy.RetryCondition retryCondition = (request, exception, retriesAttempted) -> {
+			boolean isRetry = PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION.shouldRetry(request, exception,
+					retriesAttempted);
+			if (isRetry) {
+				MetricsRegistry.getMetrics().increment(MetricNames.AWS_RETRIES, MetricNames.TAG_SERVICE, service);
+			}
+			return isRetry;
+		};
+		return new RetryPolicy(retryCondition, PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY,
+				PredefinedRetryPolicies.DEFAULT_MAX_ERROR_RETRY, true);
+	}
+
+	private int getAsyncThreadPoolSize() {
+		return awsProperties != null ? awsProperties.getAsyncThreadPoolSize()
+				: ClientConfiguration.DEFAULT_MAX_CONNECTIONS;
+	}
+
+	/***
+	 * Get Lambda Client
 	 * 
 	 * @return Lambda Client
 	 */
 	public AWSLambda getLambdaClient() {
-		try {
-			return AWSLambdaClientBuilder.standard().withCredentials(new AWSStaticCredentialsProvider(awsCreds))
-					.withRegion(regionName).build();
-		} catch (Exception e) {
-			LOGGER.error("getLambdaClient : Exception : ", e);
-			throw (e);
+		AWSLambda client = lambdaClient;
+		if (client == null) {
+			synchronized (this) {
+				client = lambdaClient;
+				if (client == null) {
+					checkOpen("getLambdaClient");
+					try {
+						client = AWSLambdaClientBuilder.standard()
+								.withCredentials(new AWSStaticCredentialsProvider(awsCreds))
+								.withClientConfiguration(getClientConfiguration(MetricNames.LAMBDA))
+								.withRegion(regionName).build();
+						lambdaClient = client;
+					} catch (Exception e) {
+						LOGGER.error("getLambdaClient : Exception : ", e);
+						throw (e);
+					}
+				}
+			}
 		}
+		return client;
 	}
 
 	/***
-	 * Set SQS Client
+	 * Get Lambda Async Client
+	 * 
+	 * @return Lambda Async Client
+	 */
+	public AWSLambdaAsync getLambdaAsyncClient() {
+		AWSLambdaAsync client = lambdaAsyncClient;
+		if (client == null) {
+			synchronized (this) {
+				client = lambdaAsyncClient;
+				if (client == null) {
+					checkOpen("getLambdaAsyncClient");
+					try {
+						int threads = getAsyncThreadPoolSize();
+						client = AWSLambdaAsyncClientBuilder.standard()
+								.withCredentials(new AWSStaticCredentialsProvider(awsCreds))
+								.withClientConfiguration(getClientConfiguration(MetricNames.LAMBDA))
+								.withExecutorFactory(() -> Executors.newFixedThreadPool(threads))
+								.withRegion(regionName).build();
+						lambdaAsyncClient = client;
+					} catch (Exception e) {
+						LOGGER.error("getLambdaAsyncClient : Exception : ", e);
+						throw (e);
+					}
+				}
+			}
+		}
+		return client;
+	}
+
+	/***
+	 * Get SQS Client
 	 * 
 	 * @return SQS Client
 	 */
 	public AmazonSQSAsync getSQSClient() {
-		try {
-			return AmazonSQSAsyncClientBuilder.standard().withCredentials(new AWSStaticCredentialsProvider(awsCreds))
-					.withRegion(regionName).build();
-		} catch (Exception e) {
-			LOGGER.error("getSQSClient : Exception : ", e);
-			throw (e);
+		AmazonSQSAsync client = sqsClient;
+		if (client == null) {
+			synchronized (this) {
+				client = sqsClient;
+				if (client == null) {
+					checkOpen("getSQSClient");
+					try {
+						int threads = getAsyncThreadPoolSize();
+						client = AmazonSQSAsyncClientBuilder.standard()
+								.withCredentials(new AWSStaticCredentialsProvider(awsCreds))
+								.withClientConfiguration(getClientConfiguration(MetricNames.SQS))
+								.withExecutorFactory(() -> Executors.newFixedThreadPool(threads))
+								.withRegion(regionName).build();
+						sqsClient = client;
+					} catch (Exception e) {
+						LOGGER.error("getSQSClient : Exception : ", e);
+						throw (e);
+					}
+				}
+			}
 		}
+		return client;
 	}
 
 	/***
-	 * Set Secrets Manager Client
+	 * Get Secrets Manager Client
 	 * @return AWSSecretsManagerClient
 	 */
 	public AWSSecretsManager getSecretsMgrClient() {
-		try {
-			return AWSSecretsManagerClientBuilder.standard().withRegion(regionName).build();
-		} catch (Exception e) {
-			LOGGER.error("getSecretsMgrClient : Exception : ", e);
-			throw (e);
+		AWSSecretsManager client = secretsMgrClient;
+		if (client == null) {
+			synchronized (this) {
+				client = secretsMgrClient;
+				if (client == null) {
+					checkOpen("getSecretsMgrClient");
+					try {
+						client = AWSSecretsManagerClientBuilder.standard()
+								.withClientConfiguration(getClientConfiguration(MetricNames.SECRETS_MANAGER))
+								.withRegion(regionName).build();
+						secretsMgrClient = client;
+					} catch (Exception e) {
+						LOGGER.error("getSecretsMgrClient : Exception : ", e);
+						throw (e);
+					}
+				}
+			}
+		}
+		return client;
+	}
+
+	/***
+	 * Fails the request of a client after the registry is closed
+	 * 
+	 * @param method : name of the getter
+	 * @throws IllegalStateException : if the registry is closed
+	 */
+	private void checkOpen(String method) {
+		if (isClosed) {
+			IllegalStateException e = new IllegalStateException("AWS Client registry is closed.");
+			LOGGER.error("{} : ", method, e);
+			throw e;
+		}
+	}
+
+	/***
+	 * Shuts down all clients built by this registry, the getters fail with
+	 * IllegalStateException afterwards
+	 */
+	@Override
+	public synchronized void close() {
+		isClosed = true;
+		if (lambdaClient != null) {
+			lambdaClient.shutdown();
+			lambdaClient = null;
+		}
+		if (lambdaAsyncClient != null) {
+			lambdaAsyncClient.shutdown();
+			lambdaAsyncClient = null;
+		}
+		if (sqsClient != null) {
+			sqsClient.shutdown();
+			sqsClient = null;
+		}
+		if (secretsMgrClient != null) {
+			secretsMgrClient.shutdown();
+			secretsMgrClient = null;
 		}
+		LOGGER.trace("close : clients are shut down.");
 	}
 
 }
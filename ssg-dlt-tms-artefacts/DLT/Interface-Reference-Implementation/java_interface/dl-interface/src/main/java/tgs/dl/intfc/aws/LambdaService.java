@@ -18,21 +18,30 @@ package tgs.dl.intfc.aws;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.services.lambda.AWSLambda;
+import com.amazonaws.services.lambda.AWSLambdaAsync;
 import com.amazonaws.services.lambda.model.InvokeRequest;
 import com.amazonaws.services.lambda.model.InvokeResult;
 
+import tgs.dl.intfc.logging.PayloadLogger;
+import tgs.dl.intfc.metrics.MetricNames;
+import tgs.dl.intfc.metrics.MetricsRegistry;
+import tgs.dl.intfc.spi.ChaincodeInvoker;
+
 /***
  * 
  * Provides functions for AWS Lambda Service
  *
  */
-public class LambdaService {
+public class LambdaService implements ChaincodeInvoker {
 	private static final Logger LOGGER = LogManager.getLogger(LambdaService.class);
+	private static final PayloadLogger READ_PAYLOADS = PayloadLogger.getLogger(PayloadLogger.READ);
 
 	private final AWSLambda lambdaClient;
 
@@ -46,18 +55,104 @@ public class LambdaService {
 	 * @param payload        : Payload
 	 * @return result of the lambda call
 	 */
+	@Override
 	public String invokeLambda(String lambdaFunction, String payload) {
-		LOGGER.trace("sendMessage : lambdaFunction : " + lambdaFunction + " : payload : " + payload);
+		ByteBuffer byteBuf = invokeLambdaPayload(lambdaFunction, payload);
+		return byteBuf != null ? StandardCharsets.UTF_8.decode(byteBuf).toString() : null;
+	}
+
+	/***
+	 * 
+	 * @param lambdaFunction : Function Name
+	 * @param payload        : Payload
+	 * @return undecoded result of the lambda call
+	 */
+	@Override
+	public ByteBuffer invokeLambdaPayload(String lambdaFunction, String payload) {
+		READ_PAYLOADS.trace("invokeLambdaPayload : payload : {} : lambdaFunction : {}", payload, lambdaFunction);
+
+		long start = System.nanoTime();
+		boolean isSuccess = false;
+		try {
+			InvokeRequest invokeRequest = new InvokeRequest().withFunctionName(lambdaFunction).withPayload(payload);
+			InvokeResult invokeResult = lambdaClient.invoke(invokeRequest);
+
+			isSuccess = true;
+			recordResponseBytes(invokeResult.getPayload());
+			return invokeResult.getPayload();
+		} finally {
+			recordInvokeTime(start, MetricNames.SINGLE, isSuccess);
+		}
+	}
+
+	/***
+	 * Invokes lambda without blocking the caller, requires an async lambda client
+	 * 
+	 * @param lambdaFunction : Function Name
+	 * @param payload        : Payload
+	 * @return CompletableFuture : completes with the result of the lambda call
+	 */
+	@Override
+	public CompletableFuture<String> invokeLambdaAsync(String lambdaFunction, String payload) {
+		return invokeLambdaPayloadAsync(lambdaFunction, payload).thenApply(
+				byteBuf -> byteBuf != null ? StandardCharsets.UTF_8.decode(byteBuf).toString() : null);
+	}
+
+	/***
+	 * Invokes lambda without blocking the caller, requires an async lambda client
+	 * 
+	 * @param lambdaFunction : Function Name
+	 * @param payload        : Payload
+	 * @return CompletableFuture : completes with the undecoded result of the lambda call
+	 */
+	@Override
+	public CompletableFuture<ByteBuffer> invokeLambdaPayloadAsync(String lambdaFunction, String payload) {
+		READ_PAYLOADS.trace("invokeLambdaAsync : payload : {} : lambdaFunction : {}", payload, lambdaFunction);
+
+		long start = System.nanoTime();
+		CompletableFuture<ByteBuffer> resultFuture = new CompletableFuture<>();
+		if (!(lambdaClient instanceof AWSLambdaAsync)) {
+			resultFuture.completeExceptionally(
+					new IllegalStateException("Lambda client does not support asynchronous invocation."));
+			return resultFuture;
+		}
+
+		try {
+			InvokeRequest invokeRequest = new InvokeRequest().withFunctionName(lambdaFunction).withPayload(payload);
+			((AWSLambdaAsync) lambdaClient).invokeAsync(invokeRequest,
+					new AsyncHandler<InvokeRequest, InvokeResult>() {
 
-		String result = null;
+						@Override
+						public void onError(Exception e) {
+							LOGGER.error("invokeLambdaAsync : ", e);
+							recordInvokeTime(start, MetricNames.ASYNC, false);
+							resultFuture.completeExceptionally(e);
+						}
 
-		InvokeRequest invokeRequest = new InvokeRequest().withFunctionName(lambdaFunction).withPayload(payload);
-		InvokeResult invokeResult = lambdaClient.invoke(invokeRequest);
+						@Override
+						public void onSuccess(InvokeRequest request, InvokeResult invokeResult) {
+							recordInvokeTime(start, MetricNames.ASYNC, true);
+							recordResponseBytes(invokeResult.getPayload());
+							resultFuture.complete(invokeResult.getPayload());
+						}
+					});
+		} catch (Exception e) {
+			LOGGER.error("invokeLambdaAsync : ", e);
+			recordInvokeTime(start, MetricNames.ASYNC, false);
+			resultFuture.completeExceptionally(e);
+		}
+		return resultFuture;
+	}
 
-		ByteBuffer byteBuf = invokeResult.getPayload();
-		if (byteBuf != null) {
-			result = StandardCharsets.UTF_8.decode(byteBuf).toString();
+	private static void recordResponseBytes(ByteBuffer payload) {
+		if (payload != null) {
+			MetricsRegistry.getMetrics().recordSize(MetricNames.PAYLOAD_BYTES, payload.remaining(),
+					MetricNames.TAG_STAGE, MetricNames.RESPONSE);
 		}
-		return result;
+	}
+
+	private static void recordInvokeTime(long start, String mode, boolean isSuccess) {
+		MetricsRegistry.getMetrics().recordTimeSince(MetricNames.LAMBDA_INVOKE, start, MetricNames.TAG_MODE, mode,
+				MetricNames.TAG_RESULT, MetricNames.result(isSuccess));
 	}
 }
@@ -16,6 +16,9 @@
 
 package tgs.dl.intfc.aws;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -23,17 +26,37 @@ import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.amazonaws.handlers.AsyncHandler;
 import com.amazonaws.services.sqs.AmazonSQSAsync;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageRequest;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
+import tgs.dl.intfc.logging.PayloadLogger;
+import tgs.dl.intfc.metrics.MetricNames;
+import tgs.dl.intfc.metrics.MetricsRegistry;
+import tgs.dl.intfc.model.WriteResult;
+import tgs.dl.intfc.spi.MessageQueue;
+
 /***
  * Provides functions for AWS SQS Service
  *
  */
-public class SQSService {
+public class SQSService implements MessageQueue {
 	private final AmazonSQSAsync sqsClient;
 	private static final Logger LOGGER = LogManager.getLogger(SQSService.class);
+	private static final PayloadLogger WRITE_PAYLOADS = PayloadLogger.getLogger(PayloadLogger.WRITE);
+	
+	// SQS limit for a single message
+	public static final int MAX_MESSAGE_BYTES = 256 * 1024;
+	
+	// SQS limits for a single SendMessageBatch call
+	private static final int MAX_BATCH_ENTRIES = 10;
+	private static final int MAX_BATCH_BYTES = MAX_MESSAGE_BYTES;
 
 	public SQSService(AmazonSQSAsync sqsClient) {
 		this.sqsClient = sqsClient;
@@ -47,16 +70,201 @@ public class SQSService {
 	 * @throws ExecutionException 
 	 * @throws InterruptedException 
 	 */
+	@Override
 	public boolean sendMessage(String sqsUrl, String messageBody) throws InterruptedException, ExecutionException {
-		LOGGER.trace("sendMessage : messageBody : {}" , messageBody );
+		WRITE_PAYLOADS.trace("sendMessage : messageBody : {}", messageBody);
+		recordMessageBytes(messageBody);
 		
-		SendMessageRequest sendMessageRequest = new SendMessageRequest().withQueueUrl(sqsUrl)
+		long start = System.nanoTime();
+		boolean isSuccess = false;
+		try {
+			SendMessageRequest sendMessageRequest = new SendMessageRequest().withQueueUrl(sqsUrl)
+						.withMessageBody(messageBody);
+			Future<SendMessageResult> messageFuture = sqsClient.sendMessageAsync(sendMessageRequest);
+			
+			int responseCode = messageFuture.get().getSdkHttpMetadata().getHttpStatusCode();
+			WRITE_PAYLOADS.trace("sendMessage : messageBody : {} : {}", messageBody, responseCode);
+			
+			isSuccess = (responseCode == HttpStatus.SC_OK);
+			return isSuccess;
+		} finally {
+			recordSendTime(start, MetricNames.SINGLE, isSuccess);
+		}
+	}
+	
+	/***
+	 * Sends message to SQS without blocking the caller
+	 * @param sqsUrl
+	 * @param messageBody
+	 * @return CompletableFuture : completes with true if send message result is OK
+	 */
+	@Override
+	public CompletableFuture<Boolean> sendMessageAsync(String sqsUrl, String messageBody) {
+		WRITE_PAYLOADS.trace("sendMessageAsync : messageBody : {}", messageBody);
+		recordMessageBytes(messageBody);
+
+		long start = System.nanoTime();
+		CompletableFuture<Boolean> messageFuture = new CompletableFuture<>();
+		try {
+			SendMessageRequest sendMessageRequest = new SendMessageRequest().withQueueUrl(sqsUrl)
 					.withMessageBody(messageBody);
-		Future<SendMessageResult> messageFuture = sqsClient.sendMessageAsync(sendMessageRequest);
-		
-		int responseCode = messageFuture.get().getSdkHttpMetadata().getHttpStatusCode();
-		LOGGER.trace("sendMessage : messageBody : {} : {}", messageBody, responseCode);
-		
-		return(responseCode == HttpStatus.SC_OK);
+			sqsClient.sendMessageAsync(sendMessageRequest,
+					new AsyncHandler<SendMessageRequest, SendMessageResult>() {
+
+						@Override
+						public void onError(Exception e) {
+							LOGGER.error("sendMessageAsync : ", e);
+							recordSendTime(start, MetricNames.ASYNC, false);
+							messageFuture.completeExceptionally(e);
+						}
+
+						@Override
+						public void onSuccess(SendMessageRequest request, SendMessageResult result) {
+							int responseCode = result.getSdkHttpMetadata().getHttpStatusCode();
+							WRITE_PAYLOADS.trace("sendMessageAsync : messageBody : {} : {}", messageBody, responseCode);
+							recordSendTime(start, MetricNames.ASYNC, responseCode == HttpStatus.SC_OK);
+							messageFuture.complete(responseCode == HttpStatus.SC_OK);
+						}
+					});
+		} catch (Exception e) {
+			LOGGER.error("sendMessageAsync : ", e);
+			recordSendTime(start, MetricNames.ASYNC, false);
+			messageFuture.completeExceptionally(e);
+		}
+		return messageFuture;
+	}
+	
+	/***
+	 * Sends messages to SQS in batches of up to 10 entries and 256 KB
+	 * @param sqsUrl
+	 * @param messageBodies
+	 * @return List of WriteResult : one result per message, in the order of messageBodies,
+	 *         messages of a batch call that fails are failed with the cause
+	 * @throws InterruptedException 
+	 */
+	@Override
+	public List<WriteResult> sendMessageBatch(String sqsUrl, List<String> messageBodies)
+			throws InterruptedException {
+		LOGGER.trace("sendMessageBatch : messages : {}", messageBodies.size());
+
+		long start = System.nanoTime();
+		boolean isSuccess = false;
+		List<WriteResult> results = new ArrayList<>(messageBodies.size());
+		List<Future<SendMessageBatchResult>> batchFutures = new ArrayList<>();
+		List<List<SendMessageBatchRequestEntry>> batches = new ArrayList<>();
+
+		List<SendMessageBatchRequestEntry> entries = new ArrayList<>(MAX_BATCH_ENTRIES);
+		int batchBytes = 0;
+
+		for (int i = 0; i < messageBodies.size(); i++) {
+			String messageBody = messageBodies.get(i);
+			results.add(new WriteResult(i));
+
+			int messageBytes = getUtf8Length(messageBody);
+			MetricsRegistry.getMetrics().recordSize(MetricNames.PAYLOAD_BYTES, messageBytes, MetricNames.TAG_STAGE,
+					MetricNames.MESSAGE);
+			if (messageBytes > MAX_MESSAGE_BYTES) {
+				results.get(i).setMessage("Message exceeds the maximum size of " + MAX_MESSAGE_BYTES + " bytes.");
+				results.get(i).setSenderFault(true);
+				LOGGER.error("sendMessageBatch : message {} : {} bytes", i, messageBytes);
+				continue;
+			}
+
+			// start a new batch if the entry does not fit into the current one
+			if (entries.size() == MAX_BATCH_ENTRIES || batchBytes + messageBytes > MAX_BATCH_BYTES) {
+				batches.add(entries);
+				batchFutures.add(sendBatchAsync(sqsUrl, entries));
+				entries = new ArrayList<>(MAX_BATCH_ENTRIES);
+				batchBytes = 0;
+			}
+
+			// entry id is the position of the message so results can be matched back
+			entries.add(new SendMessageBatchRequestEntry(String.valueOf(i), messageBody));
+			batchBytes += messageBytes;
+		}
+
+		if (!entries.isEmpty()) {
+			batches.add(entries);
+			batchFutures.add(sendBatchAsync(sqsUrl, entries));
+		}
+
+		boolean hasFailedBatch = false;
+		try {
+			for (int batch = 0; batch < batchFutures.size(); batch++) {
+				SendMessageBatchResult batchResult;
+				try {
+					batchResult = batchFutures.get(batch).get();
+				} catch (ExecutionException e) {
+					// results of the other batches are kept, only the messages of this batch failed
+					LOGGER.error("sendMessageBatch : batch {} : ", batch, e);
+					hasFailedBatch = true;
+					String cause = String.valueOf(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+					for (SendMessageBatchRequestEntry entry : batches.get(batch)) {
+						results.get(Integer.parseInt(entry.getId())).setMessage(cause);
+					}
+					continue;
+				}
+
+				for (SendMessageBatchResultEntry entry : batchResult.getSuccessful()) {
+					WriteResult result = results.get(Integer.parseInt(entry.getId()));
+					result.setSuccess(true);
+					result.setMessageId(entry.getMessageId());
+				}
+				for (BatchResultErrorEntry entry : batchResult.getFailed()) {
+					WriteResult result = results.get(Integer.parseInt(entry.getId()));
+					result.setMessage(entry.getCode() + " : " + entry.getMessage());
+					result.setSenderFault(Boolean.TRUE.equals(entry.getSenderFault()));
+					LOGGER.error("sendMessageBatch : message {} : {} : {}", entry.getId(), entry.getCode(),
+							entry.getMessage());
+				}
+			}
+			isSuccess = !hasFailedBatch;
+		} finally {
+			recordSendTime(start, MetricNames.BATCH, isSuccess);
+		}
+
+		LOGGER.trace("sendMessageBatch : batches : {}", batchFutures.size());
+		return results;
+	}
+
+	private Future<SendMessageBatchResult> sendBatchAsync(String sqsUrl, List<SendMessageBatchRequestEntry> entries) {
+		SendMessageBatchRequest sendMessageBatchRequest = new SendMessageBatchRequest().withQueueUrl(sqsUrl)
+				.withEntries(entries);
+		return sqsClient.sendMessageBatchAsync(sendMessageBatchRequest);
+	}
+
+	private static void recordMessageBytes(String messageBody) {
+		if (messageBody != null) {
+			MetricsRegistry.getMetrics().recordSize(MetricNames.PAYLOAD_BYTES, getUtf8Length(messageBody),
+					MetricNames.TAG_STAGE, MetricNames.MESSAGE);
+		}
+	}
+
+	private static void recordSendTime(long start, String mode, boolean isSuccess) {
+		MetricsRegistry.getMetrics().recordTimeSince(MetricNames.SQS_SEND, start, MetricNames.TAG_MODE, mode,
+				MetricNames.TAG_RESULT, MetricNames.result(isSuccess));
+	}
+
+	/***
+	 * Computes the UTF-8 encoded length of a message without encoding it
+	 * @param message
+	 * @return number of bytes
+	 */
+	public static int getUtf8Length(String message) {
+		int length = 0;
+		for (int i = 0; i < message.length(); i++) {
+			char c = message.charAt(i);
+			if (c < 0x80) {
+				length += 1;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c)) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
 	}
 }
\ No newline at end of file
@@ -36,9 +36,10 @@ import com.amazonaws.services.secretsmanager.model.UpdateSecretRequest;
 import com.amazonaws.services.secretsmanager.model.UpdateSecretResult;
 
 import tgs.dl.intfc.config.model.SecretKVPair;
+import tgs.dl.intfc.spi.SecretStore;
 import tgs.dl.intfc.utils.JsonMapper;
 
-public class SecretsMgrService {
+public class SecretsMgrService implements SecretStore {
 	private static final Logger LOGGER = LogManager.getLogger(SecretsMgrService.class);
 
 	private final AWSSecretsManager client;
@@ -53,6 +54,7 @@ public class SecretsMgrService {
 	 * @param secretKey
 	 * @return
 	 */
+	@Override
 	public boolean createSecret(String secretName, String secretKey){
 		try {
 			
@@ -69,6 +71,7 @@ public class SecretsMgrService {
 		return false;
 	}
 
+	@Override
 	public boolean updateSecret(String secretName, String secretKey){
 		try {
 
@@ -85,6 +88,7 @@ public class SecretsMgrService {
 		return false;
 	}
 
+	@Override
 	public SecretKVPair getSecret(String secretName) {
 		
 		try {
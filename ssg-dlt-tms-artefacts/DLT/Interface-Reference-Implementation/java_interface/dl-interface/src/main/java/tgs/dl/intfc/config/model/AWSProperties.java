@@ -20,6 +20,11 @@ public class AWSProperties {
 	private String region;
 	private String accessKey;
 	private String secretKey;
+	private int maxConnections = 50;
+	private int connectionTimeout = 10000;
+	private int socketTimeout = 50000;
+	private int clientExecutionTimeout = 0;
+	private int asyncThreadPoolSize = 50;
 
 	/**
 	 * @return the region
@@ -63,8 +68,81 @@ public class AWSProperties {
 		this.secretKey = secretKey;
 	}
 
+	/**
+	 * @return the maxConnections
+	 */
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	/**
+	 * @param maxConnections the maxConnections to set
+	 */
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	/**
+	 * @return the connectionTimeout in milliseconds
+	 */
+	public int getConnectionTimeout() {
+		return connectionTimeout;
+	}
+
+	/**
+	 * @param connectionTimeout the connectionTimeout to set
+	 */
+	public void setConnectionTimeout(int connectionTimeout) {
+		this.connectionTimeout = connectionTimeout;
+	}
+
+	/**
+	 * @return the socketTimeout in milliseconds
+	 */
+	public int getSocketTimeout() {
+		return socketTimeout;
+	}
+
+	/**
+	 * @param socketTimeout the socketTimeout to set
+	 */
+	public void setSocketTimeout(int socketTimeout) {
+		this.socketTimeout = socketTimeout;
+	}
+
+	/**
+	 * @return the clientExecutionTimeout in milliseconds, 0 to disable
+	 */
+	public int getClientExecutionTimeout() {
+		return clientExecutionTimeout;
+	}
+
+	/**
+	 * @param clientExecutionTimeout the clientExecutionTimeout to set
+	 */
+	public void setClientExecutionTimeout(int clientExecutionTimeout) {
+		this.clientExecutionTimeout = clientExecutionTimeout;
+	}
+
+	/**
+	 * @return the asyncThreadPoolSize
+	 */
+	public int getAsyncThreadPoolSize() {
+		return asyncThreadPoolSize;
+	}
+
+	/**
+	 * @param asyncThreadPoolSize the asyncThreadPoolSize to set
+	 */
+	public void setAsyncThreadPoolSize(int asyncThreadPoolSize) {
+		this.asyncThreadPoolSize = asyncThreadPoolSize;
+	}
+
 	@Override
 	public String toString() {
-		return "AWS [region=" + region + ", accessKey=" + accessKey + ", secretKey=" + secretKey + "]";
+		return "AWS [region=" + region + ", accessKey=" + accessKey + ", secretKey=" + secretKey + ", maxConnections="
+				+ maxConnections + ", connectionTimeout=" + connectionTimeout + ", socketTimeout=" + socketTimeout
+				+ ", clientExecutionTimeout=" + clientExecutionTimeout + ", asyncThreadPoolSize=" + asyncThreadPoolSize
+				+ "]";
 	}
 }
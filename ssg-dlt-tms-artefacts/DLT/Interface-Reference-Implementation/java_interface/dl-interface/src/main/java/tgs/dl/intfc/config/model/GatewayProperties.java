@@ -0,0 +1,194 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.config.model;
+
+public class GatewayProperties {
+	private int workerThreads = Runtime.getRuntime().availableProcessors();
+	private int decryptParallelism = 1;
+	private int readPrefetchPages = 1;
+	private int readPageSize = 10;
+	private int maxConcurrentWrites = 64;
+	private long writeAdmissionTimeout = 0;
+	private int writeRetryAfter = 1;
+	private int maxBatchSize = 500;
+	private String cipherEngine = "JCE";
+	private String writeAlgorithm = "AES/CBC/PKCS5Padding";
+	private int hashCacheSize = 10000;
+
+	/**
+	 * @return the workerThreads
+	 */
+	public int getWorkerThreads() {
+		return workerThreads;
+	}
+
+	/**
+	 * @param workerThreads the workerThreads to set
+	 */
+	public void setWorkerThreads(int workerThreads) {
+		this.workerThreads = workerThreads;
+	}
+
+	/**
+	 * @return the decryptParallelism, 1 to decrypt records one after another
+	 */
+	public int getDecryptParallelism() {
+		return decryptParallelism;
+	}
+
+	/**
+	 * @param decryptParallelism the decryptParallelism to set
+	 */
+	public void setDecryptParallelism(int decryptParallelism) {
+		this.decryptParallelism = decryptParallelism;
+	}
+
+	/**
+	 * @return the readPrefetchPages, 0 to read pages one after another
+	 */
+	public int getReadPrefetchPages() {
+		return readPrefetchPages;
+	}
+
+	/**
+	 * @param readPrefetchPages the readPrefetchPages to set
+	 */
+	public void setReadPrefetchPages(int readPrefetchPages) {
+		this.readPrefetchPages = readPrefetchPages;
+	}
+
+	/**
+	 * @return the readPageSize, maximum records of a page returned by the DLT, 0 if not known
+	 */
+	public int getReadPageSize() {
+		return readPageSize;
+	}
+
+	/**
+	 * @param readPageSize the readPageSize to set
+	 */
+	public void setReadPageSize(int readPageSize) {
+		this.readPageSize = readPageSize;
+	}
+
+	/**
+	 * @return the maxConcurrentWrites
+	 */
+	public int getMaxConcurrentWrites() {
+		return maxConcurrentWrites;
+	}
+
+	/**
+	 * @param maxConcurrentWrites the maxConcurrentWrites to set
+	 */
+	public void setMaxConcurrentWrites(int maxConcurrentWrites) {
+		this.maxConcurrentWrites = maxConcurrentWrites;
+	}
+
+	/**
+	 * @return the writeAdmissionTimeout in milliseconds, 0 to reject at once
+	 */
+	public long getWriteAdmissionTimeout() {
+		return writeAdmissionTimeout;
+	}
+
+	/**
+	 * @param writeAdmissionTimeout the writeAdmissionTimeout to set
+	 */
+	public void setWriteAdmissionTimeout(long writeAdmissionTimeout) {
+		this.writeAdmissionTimeout = writeAdmissionTimeout;
+	}
+
+	/**
+	 * @return the writeRetryAfter in seconds
+	 */
+	public int getWriteRetryAfter() {
+		return writeRetryAfter;
+	}
+
+	/**
+	 * @param writeRetryAfter the writeRetryAfter to set
+	 */
+	public void setWriteRetryAfter(int writeRetryAfter) {
+		this.writeRetryAfter = writeRetryAfter;
+	}
+
+	/**
+	 * @return the maxBatchSize of a write batch, larger batches are rejected
+	 */
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * @param maxBatchSize the maxBatchSize to set
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * @return the cipherEngine, JCE or BC
+	 */
+	public String getCipherEngine() {
+		return cipherEngine;
+	}
+
+	/**
+	 * @param cipherEngine the cipherEngine to set
+	 */
+	public void setCipherEngine(String cipherEngine) {
+		this.cipherEngine = cipherEngine;
+	}
+
+	/**
+	 * @return the writeAlgorithm of new records, AES/CBC/PKCS5Padding or AES/GCM/NoPadding
+	 */
+	public String getWriteAlgorithm() {
+		return writeAlgorithm;
+	}
+
+	/**
+	 * @param writeAlgorithm the writeAlgorithm to set
+	 */
+	public void setWriteAlgorithm(String writeAlgorithm) {
+		this.writeAlgorithm = writeAlgorithm;
+	}
+
+	/**
+	 * @return the hashCacheSize, 0 to hash primary keys every time
+	 */
+	public int getHashCacheSize() {
+		return hashCacheSize;
+	}
+
+	/**
+	 * @param hashCacheSize the hashCacheSize to set
+	 */
+	public void setHashCacheSize(int hashCacheSize) {
+		this.hashCacheSize = hashCacheSize;
+	}
+
+	@Override
+	public String toString() {
+		return "GatewayProperties [workerThreads=" + workerThreads + ", decryptParallelism=" + decryptParallelism
+				+ ", readPrefetchPages=" + readPrefetchPages + ", readPageSize=" + readPageSize + ", maxConcurrentWrites=" + maxConcurrentWrites
+				+ ", writeAdmissionTimeout=" + writeAdmissionTimeout + ", writeRetryAfter=" + writeRetryAfter + ", maxBatchSize="
+				+ maxBatchSize + ", cipherEngine=" + cipherEngine + ", writeAlgorithm=" + writeAlgorithm + ", hashCacheSize="
+				+ hashCacheSize + "]";
+	}
+}
@@ -0,0 +1,150 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.config.model;
+
+public class JournalProperties {
+	private boolean enabled = false;
+	private String directory = "../dl-journal";
+	private int segmentSize = 64 * 1024 * 1024;
+	private int maxSegments = 16;
+	private boolean syncOnWrite = false;
+	private int shipBatchSize = 10;
+	private long shipInterval = 100;
+	private long maxRetryBackoff = 5000;
+
+	/**
+	 * @return the enabled, true to acknowledge writes once they are journaled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @param enabled the enabled to set
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @return the directory of the journal segments
+	 */
+	public String getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * @param directory the directory to set
+	 */
+	public void setDirectory(String directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * @return the segmentSize in bytes
+	 */
+	public int getSegmentSize() {
+		return segmentSize;
+	}
+
+	/**
+	 * @param segmentSize the segmentSize to set
+	 */
+	public void setSegmentSize(int segmentSize) {
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * @return the maxSegments, writes are rejected while the journal has as many
+	 *         segments
+	 */
+	public int getMaxSegments() {
+		return maxSegments;
+	}
+
+	/**
+	 * @param maxSegments the maxSegments to set
+	 */
+	public void setMaxSegments(int maxSegments) {
+		this.maxSegments = maxSegments;
+	}
+
+	/**
+	 * @return the syncOnWrite, true to flush each write to the disk
+	 */
+	public boolean isSyncOnWrite() {
+		return syncOnWrite;
+	}
+
+	/**
+	 * @param syncOnWrite the syncOnWrite to set
+	 */
+	public void setSyncOnWrite(boolean syncOnWrite) {
+		this.syncOnWrite = syncOnWrite;
+	}
+
+	/**
+	 * @return the shipBatchSize, at most 10 messages per SQS batch
+	 */
+	public int getShipBatchSize() {
+		return shipBatchSize;
+	}
+
+	/**
+	 * @param shipBatchSize the shipBatchSize to set
+	 */
+	public void setShipBatchSize(int shipBatchSize) {
+		this.shipBatchSize = shipBatchSize;
+	}
+
+	/**
+	 * @return the shipInterval in milliseconds, wait of the shipper when the
+	 *         journal is drained
+	 */
+	public long getShipInterval() {
+		return shipInterval;
+	}
+
+	/**
+	 * @param shipInterval the shipInterval to set
+	 */
+	public void setShipInterval(long shipInterval) {
+		this.shipInterval = shipInterval;
+	}
+
+	/**
+	 * @return the maxRetryBackoff in milliseconds
+	 */
+	public long getMaxRetryBackoff() {
+		return maxRetryBackoff;
+	}
+
+	/**
+	 * @param maxRetryBackoff the maxRetryBackoff to set
+	 */
+	public void setMaxRetryBackoff(long maxRetryBackoff) {
+		this.maxRetryBackoff = maxRetryBackoff;
+	}
+
+	@Override
+	public String toString() {
+		return "JournalProperties [enabled=" + enabled + ", directory=" + directory + ", segmentSize=" + segmentSize
+				+ ", maxSegments=" + maxSegments + ", syncOnWrite=" + syncOnWrite + ", shipBatchSize="
+				+ shipBatchSize + ", shipInterval=" + shipInterval + ", maxRetryBackoff=" + maxRetryBackoff + "]";
+	}
+}
@@ -20,6 +20,13 @@ public class KeyMgmtAPI {
 	private String url;
 	private String getEncryptDataKeyEndpoint;
 	private String getDecryptDataKeyEndpoint;
+	private int maxConnections = 50;
+	private int maxConnectionsPerRoute = 20;
+	private int connectTimeout = 5000;
+	private int connectionRequestTimeout = 5000;
+	private int socketTimeout = 30000;
+	private long keepAlive = 30000;
+	private long idleTimeout = 60000;
 	
 	/**
 	 * @return the url
@@ -57,10 +64,97 @@ public class KeyMgmtAPI {
 	public void setGetDecryptDataKeyEndpoint(String getDecryptDataKeyEndpoint) {
 		this.getDecryptDataKeyEndpoint = getDecryptDataKeyEndpoint;
 	}
+	/**
+	 * @return the maxConnections
+	 */
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+	/**
+	 * @param maxConnections the maxConnections to set
+	 */
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+	/**
+	 * @return the maxConnectionsPerRoute
+	 */
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+	/**
+	 * @param maxConnectionsPerRoute the maxConnectionsPerRoute to set
+	 */
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+	/**
+	 * @return the connectTimeout in milliseconds
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+	/**
+	 * @param connectTimeout the connectTimeout to set
+	 */
+	public void setConnectTimeout(int connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+	/**
+	 * @return the connectionRequestTimeout in milliseconds
+	 */
+	public int getConnectionRequestTimeout() {
+		return connectionRequestTimeout;
+	}
+	/**
+	 * @param connectionRequestTimeout the connectionRequestTimeout to set
+	 */
+	public void setConnectionRequestTimeout(int connectionRequestTimeout) {
+		this.connectionRequestTimeout = connectionRequestTimeout;
+	}
+	/**
+	 * @return the socketTimeout in milliseconds
+	 */
+	public int getSocketTimeout() {
+		return socketTimeout;
+	}
+	/**
+	 * @param socketTimeout the socketTimeout to set
+	 */
+	public void setSocketTimeout(int socketTimeout) {
+		this.socketTimeout = socketTimeout;
+	}
+	/**
+	 * @return the keepAlive in milliseconds
+	 */
+	public long getKeepAlive() {
+		return keepAlive;
+	}
+	/**
+	 * @param keepAlive the keepAlive to set
+	 */
+	public void setKeepAlive(long keepAlive) {
+		this.keepAlive = keepAlive;
+	}
+	/**
+	 * @return the idleTimeout in milliseconds
+	 */
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+	/**
+	 * @param idleTimeout the idleTimeout to set
+	 */
+	public void setIdleTimeout(long idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
 	@Override
 	public String toString() {
 		return "KeyMgmtProperties [url=" + url + ", getEncryptDataKeyEndpoint=" + getEncryptDataKeyEndpoint
-				+ ", getDecryptDataKeyEndpoint=" + getDecryptDataKeyEndpoint + "]";
+				+ ", getDecryptDataKeyEndpoint=" + getDecryptDataKeyEndpoint + ", maxConnections=" + maxConnections
+				+ ", maxConnectionsPerRoute=" + maxConnectionsPerRoute + ", connectTimeout=" + connectTimeout
+				+ ", connectionRequestTimeout=" + connectionRequestTimeout + ", socketTimeout=" + socketTimeout
+				+ ", keepAlive=" + keepAlive + ", idleTimeout=" + idleTimeout + "]";
 	}
 	
 }
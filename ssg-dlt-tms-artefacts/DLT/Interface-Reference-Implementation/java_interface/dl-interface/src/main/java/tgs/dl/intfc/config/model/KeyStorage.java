@@ -20,6 +20,15 @@ public class KeyStorage {
 	private String uri;
 	private String keyDB;
 	private String keyCollection;
+	private int keyCacheSize = 1000;
+	private int decryptKeyCacheSize = 1000;
+	private long decryptKeyCacheTtl = 3600;
+	private int maxConnections = 100;
+	private int minConnections = 0;
+	private int maxWaitTime = 2000;
+	private int connectTimeout = 5000;
+	private int socketTimeout = 10000;
+	private int maxConnectionIdleTime = 60000;
 	/**
 	 * @return the uri
 	 */
@@ -56,8 +65,121 @@ public class KeyStorage {
 	public void setKeyCollection(String keyCollection) {
 		this.keyCollection = keyCollection;
 	}
+	/**
+	 * @return the keyCacheSize
+	 */
+	public int getKeyCacheSize() {
+		return keyCacheSize;
+	}
+	/**
+	 * @param keyCacheSize the keyCacheSize to set
+	 */
+	public void setKeyCacheSize(int keyCacheSize) {
+		this.keyCacheSize = keyCacheSize;
+	}
+	/**
+	 * @return the decryptKeyCacheSize
+	 */
+	public int getDecryptKeyCacheSize() {
+		return decryptKeyCacheSize;
+	}
+	/**
+	 * @param decryptKeyCacheSize the decryptKeyCacheSize to set
+	 */
+	public void setDecryptKeyCacheSize(int decryptKeyCacheSize) {
+		this.decryptKeyCacheSize = decryptKeyCacheSize;
+	}
+	/**
+	 * @return the decryptKeyCacheTtl in seconds
+	 */
+	public long getDecryptKeyCacheTtl() {
+		return decryptKeyCacheTtl;
+	}
+	/**
+	 * @param decryptKeyCacheTtl the decryptKeyCacheTtl to set
+	 */
+	public void setDecryptKeyCacheTtl(long decryptKeyCacheTtl) {
+		this.decryptKeyCacheTtl = decryptKeyCacheTtl;
+	}
+	/**
+	 * @return the maxConnections, size of the connection pool
+	 */
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+	/**
+	 * @param maxConnections the maxConnections to set
+	 */
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+	/**
+	 * @return the minConnections kept open in the connection pool
+	 */
+	public int getMinConnections() {
+		return minConnections;
+	}
+	/**
+	 * @param minConnections the minConnections to set
+	 */
+	public void setMinConnections(int minConnections) {
+		this.minConnections = minConnections;
+	}
+	/**
+	 * @return the maxWaitTime in milliseconds for a connection of the pool
+	 */
+	public int getMaxWaitTime() {
+		return maxWaitTime;
+	}
+	/**
+	 * @param maxWaitTime the maxWaitTime to set
+	 */
+	public void setMaxWaitTime(int maxWaitTime) {
+		this.maxWaitTime = maxWaitTime;
+	}
+	/**
+	 * @return the connectTimeout in milliseconds
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+	/**
+	 * @param connectTimeout the connectTimeout to set
+	 */
+	public void setConnectTimeout(int connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+	/**
+	 * @return the socketTimeout in milliseconds
+	 */
+	public int getSocketTimeout() {
+		return socketTimeout;
+	}
+	/**
+	 * @param socketTimeout the socketTimeout to set
+	 */
+	public void setSocketTimeout(int socketTimeout) {
+		this.socketTimeout = socketTimeout;
+	}
+	/**
+	 * @return the maxConnectionIdleTime in milliseconds, idle connections are closed after
+	 */
+	public int getMaxConnectionIdleTime() {
+		return maxConnectionIdleTime;
+	}
+	/**
+	 * @param maxConnectionIdleTime the maxConnectionIdleTime to set
+	 */
+	public void setMaxConnectionIdleTime(int maxConnectionIdleTime) {
+		this.maxConnectionIdleTime = maxConnectionIdleTime;
+	}
 	@Override
 	public String toString() {
-		return "KeyStorage [uri=" + uri + ", keyDB=" + keyDB + ", keyCollection=" + keyCollection + "]";
+		return "KeyStorage [uri=" + uri + ", keyDB=" + keyDB + ", keyCollection=" + keyCollection
+				+ ", keyCacheSize=" + keyCacheSize + ", decryptKeyCacheSize=" + decryptKeyCacheSize
+				+ ", decryptKeyCacheTtl=" + decryptKeyCacheTtl + ", maxConnections=" + maxConnections
+				+ ", minConnections=" + minConnections + ", maxWaitTime=" + maxWaitTime + ", connectTimeout="
+				+ connectTimeout + ", socketTimeout=" + socketTimeout + ", maxConnectionIdleTime="
+				+ maxConnectionIdleTime + "]";
 	}
 }
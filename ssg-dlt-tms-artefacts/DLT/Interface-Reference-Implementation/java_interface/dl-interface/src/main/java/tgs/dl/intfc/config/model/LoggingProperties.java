@@ -0,0 +1,101 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.config.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LoggingProperties {
+	private int maxPayloadLength = 1024;
+	private int sampleRate = 1;
+	private Map<String, Integer> sampleRates = new HashMap<>();
+	private List<String> redactedFields = Arrays.asList("plainKey", "encryptedKey", "dataKey", "iv", "record");
+
+	/**
+	 * @return the maxPayloadLength, payloads are truncated to as many characters
+	 */
+	public int getMaxPayloadLength() {
+		return maxPayloadLength;
+	}
+
+	/**
+	 * @param maxPayloadLength the maxPayloadLength to set
+	 */
+	public void setMaxPayloadLength(int maxPayloadLength) {
+		this.maxPayloadLength = maxPayloadLength;
+	}
+
+	/**
+	 * @return the sampleRate, one in sampleRate payloads is logged
+	 */
+	public int getSampleRate() {
+		return sampleRate;
+	}
+
+	/**
+	 * @param sampleRate the sampleRate to set
+	 */
+	public void setSampleRate(int sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	/**
+	 * @return the sampleRates of the payload categories that override sampleRate
+	 */
+	public Map<String, Integer> getSampleRates() {
+		return sampleRates;
+	}
+
+	/**
+	 * @param sampleRates the sampleRates to set
+	 */
+	public void setSampleRates(Map<String, Integer> sampleRates) {
+		this.sampleRates = sampleRates;
+	}
+
+	/**
+	 * @return the redactedFields, names of the fields whose values are masked
+	 */
+	public List<String> getRedactedFields() {
+		return redactedFields;
+	}
+
+	/**
+	 * @param redactedFields the redactedFields to set
+	 */
+	public void setRedactedFields(List<String> redactedFields) {
+		this.redactedFields = redactedFields;
+	}
+
+	/**
+	 * @param category : payload category, see PayloadLogger
+	 * @return the sample rate of the category
+	 */
+	public int getSampleRate(String category) {
+		Integer rate = sampleRates == null ? null : sampleRates.get(category);
+		return rate != null ? rate : sampleRate;
+	}
+
+	@Override
+	public String toString() {
+		return "LoggingProperties [maxPayloadLength=" + maxPayloadLength + ", sampleRate=" + sampleRate
+				+ ", sampleRates=" + sampleRates + ", redactedFields=" + redactedFields + "]";
+	}
+}
@@ -23,6 +23,9 @@ public class ProfileConfig {
 	private String lambdaChaincode;
 	private KeyStorage keyStorage;
 	private KeyMgmtAPI keyMgmtAPI;
+	private GatewayProperties gatewayProperties = new GatewayProperties();
+	private JournalProperties journalProperties = new JournalProperties();
+	private LoggingProperties loggingProperties = new LoggingProperties();
 
 	/**
 	 * @return the awsProperties
@@ -108,11 +111,54 @@ public class ProfileConfig {
 		this.keyMgmtAPI = keyMgmtAPI;
 	}
 
+	/**
+	 * @return the gatewayProperties
+	 */
+	public GatewayProperties getGatewayProperties() {
+		return gatewayProperties;
+	}
+
+	/**
+	 * @param gatewayProperties the gatewayProperties to set
+	 */
+	public void setGatewayProperties(GatewayProperties gatewayProperties) {
+		this.gatewayProperties = gatewayProperties;
+	}
+
+	/**
+	 * @return the journalProperties
+	 */
+	public JournalProperties getJournalProperties() {
+		return journalProperties;
+	}
+
+	/**
+	 * @param journalProperties the journalProperties to set
+	 */
+	public void setJournalProperties(JournalProperties journalProperties) {
+		this.journalProperties = journalProperties;
+	}
+
+	/**
+	 * @return the loggingProperties
+	 */
+	public LoggingProperties getLoggingProperties() {
+		return loggingProperties;
+	}
+
+	/**
+	 * @param loggingProperties the loggingProperties to set
+	 */
+	public void setLoggingProperties(LoggingProperties loggingProperties) {
+		this.loggingProperties = loggingProperties;
+	}
+
 	@Override
 	public String toString() {
 		return "ProfileConfig [awsProperties=" + awsProperties + ", dltProperties=" + dltProperties + ", sqsUrl="
 				+ sqsUrl + ", lambdaChaincode=" + lambdaChaincode + ", keyStorage=" + keyStorage + ", keyMgmtAPI="
-				+ keyMgmtAPI + "]";
+				+ keyMgmtAPI + ", gatewayProperties=" + gatewayProperties + ", journalProperties=" + journalProperties
+				+ ", loggingProperties=" + loggingProperties + "]";
 	}
 	
 }
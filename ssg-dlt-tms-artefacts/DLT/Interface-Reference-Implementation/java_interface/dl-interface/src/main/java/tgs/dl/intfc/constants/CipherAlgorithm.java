@@ -0,0 +1,80 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package tgs.dl.intfc.constants;
+
+import java.io.IOException;
+
+/***
+ * Algorithms of encrypted payload records, by the name kept in the payload
+ * envelope
+ */
+public enum CipherAlgorithm {
+	AES_CBC("AES/CBC/PKCS5Padding", 16),
+	AES_GCM("AES/GCM/NoPadding", 12);
+
+	/***
+	 * Length of the GCM authentication tag in bits
+	 */
+	public static final int GCM_TAG_LENGTH = 128;
+
+	private String algorithmName;
+	private int ivLength;
+
+	CipherAlgorithm(String algorithmName, int ivLength) {
+		this.algorithmName = algorithmName;
+		this.ivLength = ivLength;
+	}
+
+	public String getAlgorithmName() {
+		return algorithmName;
+	}
+
+	public int getIvLength() {
+		return ivLength;
+	}
+
+	/***
+	 * Provides the size of the output of the algorithm, for decryption the
+	 * largest size that the message may have
+	 * 
+	 * @param isEncrypt   : true for encryption
+	 * @param inputLength
+	 * @return size of the output in bytes
+	 */
+	public int getOutputSize(boolean isEncrypt, int inputLength) {
+		int blockSize = 16;
+		if (this == AES_GCM) {
+			return isEncrypt ? inputLength + GCM_TAG_LENGTH / 8 : Math.max(inputLength - GCM_TAG_LENGTH / 8, 0);
+		}
+		return isEncrypt ? inputLength + blockSize - inputLength % blockSize : inputLength;
+	}
+
+	/***
+	 * Provides the algorithm of the given name
+	 * 
+	 * @param algorithmName
+	 * @return CipherAlgorithm
+	 * @throws IOException : if the algorithm is not supported
+	 */
+	public static CipherAlgorithm fromAlgorithmName(String algorithmName) throws IOException {
+		for (CipherAlgorithm algorithm : values()) {
+			if (algorithm.algorithmName.equalsIgnoreCase(algorithmName)) {
+				return algorithm;
+			}
+		}
+		throw new IOException("Unsupported algorithm: " + algorithmName);
+	}
+}
@@ -19,8 +19,11 @@ package tgs.dl.intfc.constants;
 import tgs.dl.intfc.config.ConfigProperties;
 import tgs.dl.intfc.config.model.AWSProperties;
 import tgs.dl.intfc.config.model.DLTProperties;
+import tgs.dl.intfc.config.model.GatewayProperties;
+import tgs.dl.intfc.config.model.JournalProperties;
 import tgs.dl.intfc.config.model.KeyMgmtAPI;
 import tgs.dl.intfc.config.model.KeyStorage;
+import tgs.dl.intfc.config.model.LoggingProperties;
 import tgs.dl.intfc.config.model.ProfileConfig;
 
 public class Constants extends ConfigProperties{
@@ -43,4 +46,11 @@ public class Constants extends ConfigProperties{
 	public static final KeyStorage KEY_STORAGE = EXTERNAL_CONFIG.getKeyStorage();
 	public static final String KEY_STORAGE_ENCODING_TYPE = "Base64";
 	public static final String KEY_MGMT_API_HEADER_UEN = "uen";
+	
+	//gateway
+	public static final GatewayProperties GATEWAY_PROPERTIES = EXTERNAL_CONFIG.getGatewayProperties();
+	public static final JournalProperties JOURNAL_PROPERTIES = EXTERNAL_CONFIG.getJournalProperties();
+	
+	//logging
+	public static final LoggingProperties LOGGING_PROPERTIES = EXTERNAL_CONFIG.getLoggingProperties();
 }
\ No newline at end of file
@@ -23,6 +23,10 @@ public class RequestDataConstants {
     public static final String DATA_KEY = "dataKey";
     public static final String RECORD = "record";
     public static final String IV = "iv";
+    public static final String VERSION = "version";
+    public static final String ALGORITHM = "algorithm";
+    public static final int ENVELOPE_VERSION_CBC = 1;
+    public static final int ENVELOPE_VERSION = 2;
     public static final String PUBLIC_PAYLOAD_SOUCRCE = "source";
     public static final String PUBLIC_PAYLOAD_SOUCRCE_DATETIME = "dateTime";
     public static final String PUBLIC_PAYLOAD_SOUCRCE_TIMESTAMP = "timeStampInMilliSeconds";
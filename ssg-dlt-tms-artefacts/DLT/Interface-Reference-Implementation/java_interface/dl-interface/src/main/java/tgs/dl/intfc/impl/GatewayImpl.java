@@ -17,16 +17,42 @@
 package tgs.dl.intfc.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 import tgs.dl.intfc.Gateway;
+import tgs.dl.intfc.InvalidRequestException;
+import tgs.dl.intfc.TransactionHandler;
 import tgs.dl.intfc.config.ConfigProperties;
+import tgs.dl.intfc.constants.Constants;
+import tgs.dl.intfc.constants.HeaderKeys;
+import tgs.dl.intfc.logging.PayloadLogger;
+import tgs.dl.intfc.metrics.MetricNames;
+import tgs.dl.intfc.metrics.MetricsRegistry;
+import tgs.dl.intfc.model.ReadResponse;
 import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.model.WriteResult;
 import tgs.dl.intfc.utils.FormatterUtil;
+import tgs.dl.intfc.utils.JsonMapper;
 import tgs.dl.intfc.utils.SchemaValidationUtil;
 
 /***
@@ -37,12 +63,36 @@ import tgs.dl.intfc.utils.SchemaValidationUtil;
 public class GatewayImpl implements Gateway {
 
 	private static final Logger LOGGER = LogManager.getLogger(GatewayImpl.class);
+	private static final PayloadLogger WRITE_PAYLOADS = PayloadLogger.getLogger(PayloadLogger.WRITE);
+	private static final PayloadLogger READ_PAYLOADS = PayloadLogger.getLogger(PayloadLogger.READ);
 	private static final FormatterUtil FORMATTER_UTIL = new FormatterUtil();
 	private static final SchemaValidationUtil SCHEMA_VALIDATION_UTIl = new SchemaValidationUtil();
+	private static final int READ_PREFETCH_PAGES = Constants.GATEWAY_PROPERTIES.getReadPrefetchPages();
+	private static final int READ_PAGE_SIZE = Constants.GATEWAY_PROPERTIES.getReadPageSize();
+	private static final ExecutorService WORKER_POOL = Executors
+			.newFixedThreadPool(Constants.GATEWAY_PROPERTIES.getWorkerThreads(), runnable -> {
+				Thread thread = new Thread(runnable, "dl-gateway-worker");
+				thread.setDaemon(true);
+				return thread;
+			});
 
 	Properties properties = ConfigProperties.getProperties();
+	// null to send each request through a new TransactionHandlerImpl on the AWS clients
+	private final TransactionHandler transactionHandler;
+	private final FormatterUtil formatterUtil;
 
 	public GatewayImpl() {
+		this(null, FORMATTER_UTIL);
+	}
+
+	/***
+	 * @param transactionHandler : handler of the DLT transactions, null to use
+	 *                           the AWS clients
+	 * @param formatterUtil      : formatter of the requests and responses
+	 */
+	public GatewayImpl(TransactionHandler transactionHandler, FormatterUtil formatterUtil) {
+		this.transactionHandler = transactionHandler;
+		this.formatterUtil = formatterUtil;
 		LOGGER.info("Version: {}", properties.getProperty("version"));
 		LOGGER.info("Active Profile: {}", properties.getProperty("profile.active"));
 	}
@@ -55,7 +105,7 @@ public class GatewayImpl implements Gateway {
 	 */
 	@Override
 	public void writeGrantsDataDLT(String eventData) throws Exception {
-		LOGGER.trace("writeGrantsDataDLT : {}", eventData);
+		WRITE_PAYLOADS.trace("writeGrantsDataDLT : {}", eventData);
 
 		if (StringUtils.isBlank(eventData)) {
 			String msg = "Request should not be null or empty.";
@@ -65,20 +115,272 @@ public class GatewayImpl implements Gateway {
 		}
 
 		try {
-			// validate request
-			RequestData request = SCHEMA_VALIDATION_UTIl.validateWriteEventData(eventData);
+			writeGrantsDataDLT(parseWriteData(eventData));
+		} catch (Exception e) {
+			LOGGER.error("Exception: writeGrantsDataDLT : ", e);
+			throw (e);
+		}
+	}
 
-			// format request
-			boolean isEncrypt = true;
-			String formattedData = FORMATTER_UTIL.formatRequestData(request, isEncrypt);
-			LOGGER.trace("writeGrantsDataDLT : formattedData : {}", formattedData);
+	/***
+	 * Implementation of writeToDLT for a parsed request
+	 * 
+	 * @param request
+	 * @throws Exception : for null values and AWS Service exceptions
+	 */
+	@Override
+	public void writeGrantsDataDLT(RequestData request) throws Exception {
+		long start = System.nanoTime();
+		boolean isSuccess = false;
+		try {
+			// validate and format a copy of the request
+			RequestData formattedData = formatWriteData(copyRequest(request));
 
 			// send formatted request to transaction handler
-			new TransactionHandlerImpl().writeTransaction(formattedData);
+			getTransactionHandler().writeTransaction(formattedData);
+			isSuccess = true;
+		} catch (Exception e) {
+			LOGGER.error("Exception: writeGrantsDataDLT : ", e);
+			throw (e);
+		} finally {
+			recordTime(MetricNames.GATEWAY_WRITE, start, MetricNames.SINGLE, isSuccess);
+		}
+	}
+
+	/***
+	 * Implementation of writeToDLT for a batch of events
+	 * Events are validated, hashed and encrypted in parallel and sent to the
+	 * message queue in batches
+	 * 
+	 * @param eventData as list of Json String
+	 * @return List of WriteResult : status of each event, in the order of eventData
+	 * @throws Exception : for null values and AWS Service exceptions
+	 */
+	@Override
+	public List<WriteResult> writeGrantsDataDLT(List<String> eventData) throws Exception {
+		LOGGER.trace("writeGrantsDataDLT : events : {}", eventData == null ? 0 : eventData.size());
+
+		if (eventData == null || eventData.isEmpty()) {
+			String msg = "Requests should not be null or empty.";
+			IOException e = new IOException(msg);
+			LOGGER.error("writeGrantsDataDLT : ", e);
+			throw e;
+		}
+
+		List<Callable<RequestData>> formatTasks = new ArrayList<>(eventData.size());
+		for (String event : eventData) {
+			formatTasks.add(() -> formatWriteData(parseWriteData(event)));
+		}
+		return writeBatch(formatTasks);
+	}
+
+	/***
+	 * Implementation of writeToDLT for a batch of parsed requests
+	 * 
+	 * @param requests
+	 * @return List of WriteResult : status of each event, in the order of requests
+	 * @throws Exception : for null values and AWS Service exceptions
+	 */
+	@Override
+	public List<WriteResult> writeGrantsDataDLTBatch(List<RequestData> requests) throws Exception {
+		LOGGER.trace("writeGrantsDataDLTBatch : events : {}", requests == null ? 0 : requests.size());
+
+		if (requests == null || requests.isEmpty()) {
+			String msg = "Requests should not be null or empty.";
+			IOException e = new IOException(msg);
+			LOGGER.error("writeGrantsDataDLTBatch : ", e);
+			throw e;
+		}
+
+		List<Callable<RequestData>> formatTasks = new ArrayList<>(requests.size());
+		for (RequestData request : requests) {
+			formatTasks.add(() -> formatWriteData(copyRequest(request)));
+		}
+		return writeBatch(formatTasks);
+	}
+
+	/***
+	 * Runs the format tasks in parallel and sends the formatted requests to the
+	 * message queue in batches
+	 * 
+	 * @param formatTasks : validate and format task of each event
+	 * @return List of WriteResult : status of each event, in the order of formatTasks
+	 * @throws Exception : for AWS Service exceptions
+	 */
+	private List<WriteResult> writeBatch(List<Callable<RequestData>> formatTasks) throws Exception {
+		long start = System.nanoTime();
+		boolean isSuccess = false;
+		MetricsRegistry.getMetrics().recordSize(MetricNames.WRITE_BATCH_SIZE, formatTasks.size());
+		try {
+			// validate and format requests in parallel
+			List<CompletableFuture<RequestData>> formattedFutures = new ArrayList<>(formatTasks.size());
+			for (Callable<RequestData> formatTask : formatTasks) {
+				formattedFutures.add(callAsync(formatTask));
+			}
+
+			List<WriteResult> results = new ArrayList<>(formatTasks.size());
+			List<RequestData> formattedData = new ArrayList<>(formatTasks.size());
+			List<Integer> formattedIndexes = new ArrayList<>(formatTasks.size());
+
+			for (int i = 0; i < formattedFutures.size(); i++) {
+				WriteResult result = new WriteResult(i);
+				results.add(result);
+				try {
+					formattedData.add(formattedFutures.get(i).join());
+					formattedIndexes.add(i);
+				} catch (CompletionException e) {
+					LOGGER.error("writeGrantsDataDLT : event {} : ", i, e.getCause());
+					result.setMessage(e.getCause().getMessage());
+				}
+			}
+
+			if (formattedData.isEmpty()) {
+				isSuccess = true;
+				return results;
+			}
+
+			// send formatted requests to transaction handler
+			List<WriteResult> sendResults = getTransactionHandler().writeTransactionBatch(formattedData);
+
+			// map the message queue results back to the position of the event
+			for (WriteResult sendResult : sendResults) {
+				int index = formattedIndexes.get(sendResult.getIndex());
+				sendResult.setIndex(index);
+				results.set(index, sendResult);
+			}
+			isSuccess = true;
+			return results;
 		} catch (Exception e) {
 			LOGGER.error("Exception: writeGrantsDataDLT : ", e);
 			throw (e);
+		} finally {
+			recordTime(MetricNames.GATEWAY_WRITE, start, MetricNames.BATCH, isSuccess);
+		}
+	}
+
+	/***
+	 * Implementation of writeToDLT without blocking the caller
+	 * Validation and formatting run on the worker pool, the message queue send
+	 * completes on the SQS callback
+	 * 
+	 * @param eventData as Json String
+	 * @return CompletableFuture : completes when the message queue accepts the event
+	 */
+	@Override
+	public CompletableFuture<Void> writeGrantsDataDLTAsync(String eventData) {
+		WRITE_PAYLOADS.trace("writeGrantsDataDLTAsync : {}", eventData);
+
+		return writeAsync(() -> formatWriteData(parseWriteData(eventData)));
+	}
+
+	/***
+	 * Implementation of writeToDLT for a parsed request without blocking the
+	 * caller
+	 * 
+	 * @param request
+	 * @return CompletableFuture : completes when the message queue accepts the event
+	 */
+	@Override
+	public CompletableFuture<Void> writeGrantsDataDLTAsync(RequestData request) {
+		return writeAsync(() -> formatWriteData(copyRequest(request)));
+	}
+
+	private CompletableFuture<Void> writeAsync(Callable<RequestData> formatTask) {
+		long start = System.nanoTime();
+		return callAsync(formatTask)
+				.thenCompose(formattedData -> getTransactionHandler().writeTransactionAsync(formattedData))
+				.whenComplete((result, e) -> {
+					if (e != null) {
+						LOGGER.error("Exception: writeGrantsDataDLTAsync : ", e);
+					}
+					recordTime(MetricNames.GATEWAY_WRITE, start, MetricNames.ASYNC, e == null);
+				});
+	}
+
+	/***
+	 * Implementation of readFromDLT without blocking the caller
+	 * Lambda invocation completes on the Lambda callback, decryption of the
+	 * response runs on the worker pool
+	 * 
+	 * @param queryKeys as Serialised Json
+	 * @return CompletableFuture : completes with Serialized Payload
+	 */
+	@Override
+	public CompletableFuture<String> readGrantsDataDLTAsync(String queryKeys) {
+		READ_PAYLOADS.trace("readGrantsDataDLTAsync : {}", queryKeys);
+
+		long start = System.nanoTime();
+		return callAsync(() -> formatReadData(queryKeys))
+				.thenCompose(formattedData -> getTransactionHandler().readTransactionPayloadAsync(formattedData))
+				.thenApplyAsync(result -> {
+					try {
+						return new JsonMapper().serializeToJson(formatterUtil.formatReadResponse(result));
+					} catch (Exception e) {
+						throw new CompletionException(e);
+					}
+				}, WORKER_POOL).whenComplete((response, e) -> {
+					if (e != null) {
+						LOGGER.error("readGrantsDataDLTAsync : Exception : ", e);
+					}
+					recordTime(MetricNames.GATEWAY_READ, start, MetricNames.ASYNC, e == null);
+				});
+	}
+
+	/***
+	 * Parses a write request
+	 * 
+	 * @param eventData as Json String
+	 * @return RequestData
+	 * @throws Exception : if request is blank or not valid Json
+	 */
+	private static RequestData parseWriteData(String eventData) throws Exception {
+		if (StringUtils.isBlank(eventData)) {
+			String msg = "Request should not be null or empty.";
+			throw new IOException(msg);
+		}
+		return new JsonMapper().deserializeFromJson(eventData, RequestData.class);
+	}
+
+	/***
+	 * Copies a request of the caller, formatting replaces the primary key of the
+	 * header in place and the payload of the request, so the request of the
+	 * caller is left unchanged and can be sent again
+	 * 
+	 * @param request
+	 * @return RequestData with a copy of the header and the payload
+	 */
+	private static RequestData copyRequest(RequestData request) {
+		if (request == null || request.getHeader() == null) {
+			return request;
 		}
+		JsonNode payload = request.getPayload();
+		return new RequestData(request.getHeader().deepCopy(), payload == null ? null : payload.deepCopy());
+	}
+
+	/***
+	 * Validates and formats a write request
+	 * 
+	 * @param request
+	 * @return RequestData of formatted data
+	 * @throws Exception : if request is null, schema is not valid or formatting fails
+	 */
+	private RequestData formatWriteData(RequestData request) throws Exception {
+		if (request == null || request.getHeader() == null) {
+			String msg = "Request should not be null or empty.";
+			throw new IOException(msg);
+		}
+
+		// validate request
+		long start = System.nanoTime();
+		request = SCHEMA_VALIDATION_UTIl.validateWriteEventData(request);
+		MetricsRegistry.getMetrics().recordTimeSince(MetricNames.SCHEMA_VALIDATION, start, MetricNames.TAG_OPERATION,
+				MetricNames.WRITE);
+
+		// format request
+		boolean isEncrypt = true;
+		RequestData formattedData = formatterUtil.formatRequest(request, isEncrypt);
+		WRITE_PAYLOADS.trace("writeGrantsDataDLT : formattedData : {}", formattedData);
+		return formattedData;
 	}
 
 	/***
@@ -90,7 +392,7 @@ public class GatewayImpl implements Gateway {
 	 */
 	@Override
 	public String readGrantsDataDLT(String queryKeys) throws Exception {
-		LOGGER.trace("readGrantsDataDLT : {}", queryKeys);
+		READ_PAYLOADS.trace("readGrantsDataDLT : {}", queryKeys);
 
 		if (StringUtils.isBlank(queryKeys)) {
 			String msg = "Query Keys should not be null or empty.";
@@ -100,29 +402,256 @@ public class GatewayImpl implements Gateway {
 		}
 
 		String response = null;
+		long start = System.nanoTime();
+		boolean isSuccess = false;
 		try {
 
-			// validate request
-			RequestData request = SCHEMA_VALIDATION_UTIl.validateReadEventData(queryKeys);
-
-			// format request
-			boolean isEncrypt = false;
-			String formattedData = FORMATTER_UTIL.formatRequestData(request, isEncrypt);
-			LOGGER.trace("readGrantsDataDLT : formattedData : {}", formattedData);
+			// validate and format request
+			String formattedData = formatReadData(queryKeys);
 
 			// get result
-			String result = new TransactionHandlerImpl().readTransaction(formattedData);
+			ByteBuffer result = getTransactionHandler().readTransactionPayload(formattedData);
 			LOGGER.trace("readGrantsDataDLT : result : {}", result);
 
 			// format response
-			response = FORMATTER_UTIL.formatReadResponseData(result);
-			LOGGER.trace("readGrantsDataDLT : response : {}", response);
+			response = new JsonMapper().serializeToJson(formatterUtil.formatReadResponse(result));
+			READ_PAYLOADS.trace("readGrantsDataDLT : response : {}", response);
+			isSuccess = true;
 			return response;
 
 		} catch (Exception e) {
 			LOGGER.error("readGrantsDataDLT : Exception : ", e);
 			throw (e);
+		} finally {
+			recordTime(MetricNames.GATEWAY_READ, start, MetricNames.SINGLE, isSuccess);
+		}
+	}
+
+	/***
+	 * Implementation of readFromDLT for a parsed request, streaming the
+	 * decrypted records to the consumer
+	 * 
+	 * @param queryKeys
+	 * @param recordConsumer
+	 * @return ReadResponse without data
+	 * @throws Exception
+	 */
+	@Override
+	public ReadResponse readGrantsDataDLT(RequestData queryKeys, Consumer<RequestData> recordConsumer)
+			throws Exception {
+		return fetchGrantsDataDLT(queryKeys).readRecords(recordConsumer);
+	}
+
+	/***
+	 * Implementation of readFromDLT for a parsed request, the result is read
+	 * here and decrypted by the returned reader. The duration of the read is
+	 * recorded when the reader is done or the read fails.
+	 * 
+	 * @param queryKeys
+	 * @return RecordReader of the result
+	 * @throws Exception
+	 */
+	@Override
+	public RecordReader fetchGrantsDataDLT(RequestData queryKeys) throws Exception {
+		READ_PAYLOADS.trace("fetchGrantsDataDLT : {}", queryKeys);
+
+		if (queryKeys == null || queryKeys.getHeader() == null) {
+			String msg = "Query Keys should not be null or empty.";
+			IOException e = new InvalidRequestException(msg);
+			LOGGER.error("readFromDLT : ", e);
+			throw e;
+		}
+
+		long start = System.nanoTime();
+		ByteBuffer result;
+		try {
+			// validate and format a copy of the request
+			RequestData request = validateReadData(copyRequest(queryKeys));
+			boolean isEncrypt = false;
+			String formattedData = formatterUtil.formatRequestData(request, isEncrypt);
+
+			// get result
+			result = getTransactionHandler().readTransactionPayload(formattedData);
+		} catch (Exception e) {
+			LOGGER.error("fetchGrantsDataDLT : Exception : ", e);
+			recordTime(MetricNames.GATEWAY_READ, start, MetricNames.SINGLE, false);
+			throw (e);
 		}
+
+		return recordConsumer -> {
+			boolean isSuccess = false;
+			try {
+				// format response
+				ReadResponse readResponse = formatterUtil.formatReadResponse(result, recordConsumer);
+				isSuccess = true;
+				return readResponse;
+			} catch (Exception e) {
+				LOGGER.error("readGrantsDataDLT : Exception : ", e);
+				throw (e);
+			} finally {
+				recordTime(MetricNames.GATEWAY_READ, start, MetricNames.SINGLE, isSuccess);
+			}
+		};
+	}
+
+	/***
+	 * Implementation of readFromDLT for all pages of a parsed request
+	 * 
+	 * @param queryKeys
+	 * @return Stream of decrypted records, closing it discards the prefetched pages
+	 * @throws Exception
+	 */
+	@Override
+	public Stream<RequestData> readGrantsDataDLTPages(RequestData queryKeys) throws Exception {
+		READ_PAYLOADS.trace("readGrantsDataDLTPages : {}", queryKeys);
+
+		if (queryKeys == null || queryKeys.getHeader() == null) {
+			String msg = "Query Keys should not be null or empty.";
+			IOException e = new InvalidRequestException(msg);
+			LOGGER.error("readGrantsDataDLTPages : ", e);
+			throw e;
+		}
+
+		try {
+			// validate and format a copy of the request once for all pages
+			RequestData request = validateReadData(copyRequest(queryKeys));
+			int startPage = getPageNumber(request);
+			boolean isEncrypt = false;
+			RequestData formattedData = formatterUtil.formatRequest(request, isEncrypt);
+
+			TransactionHandler transactionHandler = getTransactionHandler();
+			PagedReadIterator records = new PagedReadIterator(
+					pageNumber -> readPageAsync(transactionHandler, formattedData, pageNumber),
+					formatterUtil::formatReadResponse, startPage, READ_PAGE_SIZE, READ_PREFETCH_PAGES);
+
+			return StreamSupport
+					.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL),
+							false)
+					.onClose(records::close);
+		} catch (Exception e) {
+			LOGGER.error("readGrantsDataDLTPages : Exception : ", e);
+			throw (e);
+		}
+	}
+
+	/***
+	 * Requests a page of a formatted read request without blocking the caller
+	 * 
+	 * @param transactionHandler
+	 * @param formattedData      : formatted request, left unchanged
+	 * @param pageNumber
+	 * @return CompletableFuture : completes with the undecoded Lambda payload
+	 */
+	private static CompletableFuture<ByteBuffer> readPageAsync(TransactionHandler transactionHandler,
+			RequestData formattedData, int pageNumber) {
+		ObjectNode header = formattedData.getHeader().deepCopy();
+		header.put(HeaderKeys.PAGE_NUMBER.getHeaderKey(), String.valueOf(pageNumber));
+		RequestData page = new RequestData(header, formattedData.getPayload());
+
+		String pageData;
+		try {
+			pageData = new JsonMapper().serializeToJson(page);
+		} catch (Exception e) {
+			CompletableFuture<ByteBuffer> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+		return transactionHandler.readTransactionPayloadAsync(pageData);
+	}
+
+	/***
+	 * Reads the page number of a read request, the first page if it is empty
+	 * 
+	 * @param request
+	 * @return page number
+	 * @throws IOException : if page number is not a positive number
+	 */
+	private static int getPageNumber(RequestData request) throws IOException {
+		String pageNumber = request.getHeader().path(HeaderKeys.PAGE_NUMBER.getHeaderKey()).asText();
+		if (StringUtils.isBlank(pageNumber)) {
+			return 1;
+		}
+		try {
+			int page = Integer.parseInt(pageNumber.trim());
+			if (page > 0) {
+				return page;
+			}
+		} catch (NumberFormatException e) {
+			LOGGER.trace("getPageNumber : {}", pageNumber);
+		}
+		String msg = "Page Number should be a positive number.";
+		throw new InvalidRequestException(msg);
+	}
+
+	/***
+	 * Validates and formats a read request
+	 * 
+	 * @param queryKeys as Json String
+	 * @return String of formatted data
+	 * @throws Exception : if request is blank or not valid
+	 */
+	private String formatReadData(String queryKeys) throws Exception {
+		if (StringUtils.isBlank(queryKeys)) {
+			String msg = "Query Keys should not be null or empty.";
+			throw new IOException(msg);
+		}
+
+		// validate request
+		RequestData request = validateReadData(new JsonMapper().deserializeFromJson(queryKeys, RequestData.class));
+
+		// format request
+		boolean isEncrypt = false;
+		String formattedData = formatterUtil.formatRequestData(request, isEncrypt);
+		READ_PAYLOADS.trace("readGrantsDataDLT : formattedData : {}", formattedData);
+		return formattedData;
+	}
+
+	/***
+	 * Validates a read request
+	 * 
+	 * @param request
+	 * @return RequestData
+	 * @throws Exception : if request is not valid
+	 */
+	private static RequestData validateReadData(RequestData request) throws Exception {
+		long start = System.nanoTime();
+		RequestData validRequest = SCHEMA_VALIDATION_UTIl.validateReadEventData(request);
+		MetricsRegistry.getMetrics().recordTimeSince(MetricNames.SCHEMA_VALIDATION, start, MetricNames.TAG_OPERATION,
+				MetricNames.READ);
+		return validRequest;
+	}
+
+	/***
+	 * Records the duration of a gateway operation
+	 * 
+	 * @param name      : GATEWAY_WRITE or GATEWAY_READ
+	 * @param start     : System.nanoTime() at the start of the operation
+	 * @param mode      : SINGLE, BATCH or ASYNC
+	 * @param isSuccess
+	 */
+	private static void recordTime(String name, long start, String mode, boolean isSuccess) {
+		MetricsRegistry.getMetrics().recordTimeSince(name, start, MetricNames.TAG_MODE, mode, MetricNames.TAG_RESULT,
+				MetricNames.result(isSuccess));
+	}
+
+	private TransactionHandler getTransactionHandler() {
+		return transactionHandler != null ? transactionHandler : new TransactionHandlerImpl();
+	}
+
+	/***
+	 * Runs a task on the worker pool
+	 * 
+	 * @param task
+	 * @return CompletableFuture : completes with the result of the task
+	 */
+	private static <T> CompletableFuture<T> callAsync(Callable<T> task) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return task.call();
+			} catch (Exception e) {
+				throw new CompletionException(e);
+			}
+		}, WORKER_POOL);
 	}
 
 }
@@ -0,0 +1,200 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import tgs.dl.intfc.model.ReadResponse;
+import tgs.dl.intfc.model.RequestData;
+
+/***
+ * Iterates over the decrypted records of all pages of a read, starting from a
+ * given page. While a page is decrypted, the next prefetchPages pages are
+ * already requested from the DLT.
+ * 
+ * Iteration ends at the first empty page, or at the last page according to the
+ * totalRecords of the result and the page size. Without the page size, the
+ * last page is only known from page 1. close() stops the iteration early and discards
+ * the prefetched pages.
+ * 
+ * Not thread safe, a failed page is thrown from hasNext() as a
+ * CompletionException with the cause.
+ */
+public class PagedReadIterator implements Iterator<RequestData>, AutoCloseable {
+
+	private static final Logger LOGGER = LogManager.getLogger(PagedReadIterator.class);
+	private static final String TOTAL_RECORDS = "totalRecords";
+
+	/***
+	 * Decodes and decrypts a page of the Lambda response
+	 */
+	@FunctionalInterface
+	public interface PageDecoder {
+		ReadResponse decode(ByteBuffer page) throws Exception;
+	}
+
+	private final IntFunction<CompletableFuture<ByteBuffer>> pageFetcher;
+	private final PageDecoder pageDecoder;
+	private final int prefetchPages;
+	private int pageSize;
+	private final Deque<Page> pending = new ArrayDeque<>();
+
+	private int nextPage;
+	private int lastPage = Integer.MAX_VALUE;
+	private Iterator<RequestData> records = Collections.emptyIterator();
+	private boolean isDone = false;
+
+	/***
+	 * @param pageFetcher   : requests a page from the DLT without blocking
+	 * @param pageDecoder   : decodes and decrypts a page
+	 * @param startPage     : first page to read
+	 * @param pageSize      : maximum records of a page, 0 if not known
+	 * @param prefetchPages : number of pages requested ahead of the page being
+	 *                      decrypted, 0 to request pages one after another
+	 */
+	public PagedReadIterator(IntFunction<CompletableFuture<ByteBuffer>> pageFetcher, PageDecoder pageDecoder,
+			int startPage, int pageSize, int prefetchPages) {
+		this.pageFetcher = pageFetcher;
+		this.pageDecoder = pageDecoder;
+		this.nextPage = Math.max(startPage, 1);
+		this.pageSize = Math.max(pageSize, 0);
+		this.prefetchPages = Math.max(prefetchPages, 0);
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!records.hasNext()) {
+			if (isDone) {
+				return false;
+			}
+			readNextPage();
+		}
+		return true;
+	}
+
+	@Override
+	public RequestData next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return records.next();
+	}
+
+	/***
+	 * Stops the iteration and discards the prefetched pages
+	 */
+	@Override
+	public void close() {
+		isDone = true;
+		records = Collections.emptyIterator();
+		for (Page page : pending) {
+			page.result.cancel(false);
+		}
+		pending.clear();
+	}
+
+	private void readNextPage() {
+		requestPages(prefetchPages + 1);
+		Page page = pending.poll();
+		// keep the next pages in flight while this page is decrypted
+		requestPages(prefetchPages);
+
+		List<RequestData> data;
+		try {
+			ReadResponse readResponse = pageDecoder.decode(page.result.join());
+			data = readResponse.getData();
+			updateLastPage(page.number, readResponse, data);
+		} catch (CompletionException e) {
+			close();
+			throw (e);
+		} catch (Exception e) {
+			close();
+			throw new CompletionException(e);
+		}
+		LOGGER.trace("readNextPage : page {} : records : {}", page.number, data == null ? 0 : data.size());
+
+		if (data == null || data.isEmpty() || page.number >= lastPage) {
+			close();
+		}
+		if (data != null) {
+			records = data.iterator();
+		}
+	}
+
+	private void requestPages(int inFlight) {
+		while (!isDone && pending.size() < inFlight && nextPage <= lastPage) {
+			int number = nextPage++;
+			pending.add(new Page(number, pageFetcher.apply(number)));
+		}
+	}
+
+	/***
+	 * Works out the last page from totalRecords and the size of a full page, and
+	 * discards prefetched pages past it. Without the page size only page 1 is
+	 * used, a later page may be a short last page.
+	 */
+	private void updateLastPage(int number, ReadResponse readResponse, List<RequestData> data) {
+		JsonNode totalRecords = readResponse.getProperties().get(TOTAL_RECORDS);
+		if (lastPage != Integer.MAX_VALUE || totalRecords == null || data == null || data.isEmpty()) {
+			return;
+		}
+		long total = totalRecords.asLong(-1);
+		int fullPage = pageSize > 0 ? pageSize : number == 1 ? data.size() : 0;
+		if (total < 0 || fullPage == 0) {
+			return;
+		}
+		int last = (int) Math.min((total + fullPage - 1) / fullPage, Integer.MAX_VALUE);
+		if (data.size() > fullPage || (number < last && data.size() < fullPage)) {
+			// the page size does not match the DLT, read until an empty page
+			LOGGER.warn("updateLastPage : page {} has {} records, page size is {}", number, data.size(), fullPage);
+			pageSize = 0;
+			return;
+		}
+		lastPage = last;
+		pending.removeIf(page -> {
+			if (page.number > lastPage) {
+				page.result.cancel(false);
+				return true;
+			}
+			return false;
+		});
+	}
+
+	private static class Page {
+		private final int number;
+		private final CompletableFuture<ByteBuffer> result;
+
+		private Page(int number, CompletableFuture<ByteBuffer> result) {
+			this.number = number;
+			this.result = result;
+		}
+	}
+}
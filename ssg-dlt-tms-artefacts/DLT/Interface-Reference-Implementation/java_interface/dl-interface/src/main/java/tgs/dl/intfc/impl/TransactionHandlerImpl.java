@@ -16,6 +16,12 @@
 
 package tgs.dl.intfc.impl;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -26,51 +32,106 @@ import tgs.dl.intfc.aws.SQSService;
 import tgs.dl.intfc.constants.ChaincodeFunction;
 import tgs.dl.intfc.constants.Constants;
 import tgs.dl.intfc.constants.DLTFunctionType;
+import tgs.dl.intfc.journal.JournalMessageQueue;
+import tgs.dl.intfc.logging.PayloadLogger;
+import tgs.dl.intfc.metrics.MetricNames;
+import tgs.dl.intfc.metrics.MetricsRegistry;
 import tgs.dl.intfc.model.DLTPayload;
 import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.model.WriteResult;
+import tgs.dl.intfc.spi.ChaincodeInvoker;
+import tgs.dl.intfc.spi.MessageQueue;
 import tgs.dl.intfc.utils.JsonMapper;
 
 public class TransactionHandlerImpl implements TransactionHandler {
 	
 	private static final Logger LOGGER = LogManager.getLogger(TransactionHandlerImpl.class);
-	private SQSService sqsService;
-	private LambdaService lambdaService;
+	private static final PayloadLogger WRITE_PAYLOADS = PayloadLogger.getLogger(PayloadLogger.WRITE);
+	private static final PayloadLogger READ_PAYLOADS = PayloadLogger.getLogger(PayloadLogger.READ);
+	private MessageQueue sqsService;
+	private ChaincodeInvoker lambdaService;
 	
 	public TransactionHandlerImpl() {
 	}
 	
-	public TransactionHandlerImpl(SQSService sqsService){
+	public TransactionHandlerImpl(MessageQueue sqsService){
 		this.sqsService = sqsService;
 	}
 	
-	public TransactionHandlerImpl(LambdaService lambdaService){
+	public TransactionHandlerImpl(ChaincodeInvoker lambdaService){
+		this.lambdaService = lambdaService;
+	}
+	
+	public TransactionHandlerImpl(MessageQueue sqsService, ChaincodeInvoker lambdaService){
+		this.sqsService = sqsService;
 		this.lambdaService = lambdaService;
 	}
 	
 	/***
 	 * Implementation of writeTransaction
 	 * Deserializes event request to RequestData Object
+	 * Sends it as DLT Payload to SQS
+	 */
+	@Override
+	public void writeTransaction(String eventData) throws Exception {
+		writeTransaction(new JsonMapper().deserializeFromJson(eventData, RequestData.class));
+	}
+	
+	/***
+	 * Implementation of writeTransaction for a parsed request
 	 * Sets DLT Payload with the event request
 	 * Sends DLT Payload to SQS
 	 */
 	@Override
-	public void writeTransaction(String eventData) throws Exception {
-		JsonMapper mapper = new JsonMapper();
-		RequestData eventRequest = mapper.deserializeFromJson(eventData, RequestData.class);
-		
-		DLTPayload payload = setFabricPayload(eventRequest, DLTFunctionType.INVOKE.getFunctionType(),
+	public void writeTransaction(RequestData request) throws Exception {
+		String payloadString = getPayloadString(request, DLTFunctionType.INVOKE.getFunctionType(),
 				ChaincodeFunction.INVOKE.getChaincodeFunction());
-
-		String payloadString = mapper.serializeToJson(payload);
 		
-		LOGGER.trace("writeTransaction : payloadString : {}", payloadString);
+		WRITE_PAYLOADS.trace("writeTransaction : payloadString : {}", payloadString);
 		
-		sqsService = new SQSService(new AWSClient().getSQSClient());
-		boolean isMessageSent = sqsService.sendMessage(Constants.SQS_URL, payloadString); 
+		boolean isMessageSent = getSQSService().sendMessage(Constants.SQS_URL, payloadString); 
 		
 		LOGGER.trace("writeTransaction : isMessageSent : {}", isMessageSent);
 	}
 	
+	/***
+	 * Implementation of writeTransaction for a batch
+	 * Deserializes each event request to RequestData Object
+	 * Sends them as DLT Payloads to SQS in batches
+	 */
+	@Override
+	public List<WriteResult> writeTransaction(List<String> eventData) throws Exception {
+		JsonMapper mapper = new JsonMapper();
+		List<RequestData> requests = new ArrayList<>(eventData.size());
+		
+		for (String event : eventData) {
+			requests.add(mapper.deserializeFromJson(event, RequestData.class));
+		}
+		return writeTransactionBatch(requests);
+	}
+	
+	/***
+	 * Implementation of writeTransaction for a batch of parsed requests
+	 * Sets DLT Payload with each event request
+	 * Sends DLT Payloads to SQS in batches
+	 */
+	@Override
+	public List<WriteResult> writeTransactionBatch(List<RequestData> requests) throws Exception {
+		List<String> payloadStrings = new ArrayList<>(requests.size());
+		
+		for (RequestData request : requests) {
+			payloadStrings.add(getPayloadString(request, DLTFunctionType.INVOKE.getFunctionType(),
+					ChaincodeFunction.INVOKE.getChaincodeFunction()));
+		}
+		
+		LOGGER.trace("writeTransaction : payloads : {}", payloadStrings.size());
+		
+		List<WriteResult> results = getSQSService().sendMessageBatch(Constants.SQS_URL, payloadStrings);
+		
+		LOGGER.trace("writeTransaction : results : {}", results);
+		return results;
+	}
+	
 	
 	/***
 	 * Implementation of readTransaction
@@ -88,14 +149,184 @@ public class TransactionHandlerImpl implements TransactionHandler {
 
 		String payloadString = mapper.serializeToJson(payload);
 		
-		LOGGER.trace("readTransaction : payload : {}", payloadString);
+		READ_PAYLOADS.trace("readTransaction : payload : {}", payloadString);
 		
-		lambdaService = new LambdaService(new AWSClient().getLambdaClient());
-		String response = lambdaService.invokeLambda(Constants.LAMBDA_CHAINCODE, payloadString);
+		String response = getLambdaService().invokeLambda(Constants.LAMBDA_CHAINCODE, payloadString);
 		
-		LOGGER.trace("readTransaction : response : {}", response);
+		READ_PAYLOADS.trace("readTransaction : response : {}", response);
 		return response;
 	}
+	
+	/***
+	 * Implementation of readTransactionPayload
+	 * Sets DLT Payload with the event request
+	 * Sends DLT Payload to Lambda
+	 * Returns undecoded Event Payload from Lambda
+	 */
+	@Override
+	public ByteBuffer readTransactionPayload(String eventData) throws Exception {
+		String payloadString = getPayloadString(eventData, DLTFunctionType.QUERY_OBJECT.getFunctionType(),
+				ChaincodeFunction.QUERY_PAGINATION.getChaincodeFunction());
+		
+		READ_PAYLOADS.trace("readTransactionPayload : payload : {}", payloadString);
+		
+		return getLambdaService().invokeLambdaPayload(Constants.LAMBDA_CHAINCODE, payloadString);
+	}
+
+	/***
+	 * Implementation of writeTransactionAsync
+	 * Deserializes event request to RequestData Object
+	 * Sends it as DLT Payload to SQS, completes on the SQS callback
+	 */
+	@Override
+	public CompletableFuture<Void> writeTransactionAsync(String eventData) {
+		RequestData request;
+		try {
+			request = new JsonMapper().deserializeFromJson(eventData, RequestData.class);
+		} catch (Exception e) {
+			LOGGER.error("writeTransactionAsync : ", e);
+			CompletableFuture<Void> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+		return writeTransactionAsync(request);
+	}
+	
+	/***
+	 * Implementation of writeTransactionAsync for a parsed request
+	 * Sets DLT Payload with the event request
+	 * Sends DLT Payload to SQS, completes on the SQS callback
+	 */
+	@Override
+	public CompletableFuture<Void> writeTransactionAsync(RequestData request) {
+		String payloadString;
+		MessageQueue messageQueue;
+		try {
+			payloadString = getPayloadString(request, DLTFunctionType.INVOKE.getFunctionType(),
+					ChaincodeFunction.INVOKE.getChaincodeFunction());
+			messageQueue = getSQSService();
+		} catch (Exception e) {
+			LOGGER.error("writeTransactionAsync : ", e);
+			CompletableFuture<Void> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+		
+		WRITE_PAYLOADS.trace("writeTransactionAsync : payloadString : {}", payloadString);
+		
+		return messageQueue.sendMessageAsync(Constants.SQS_URL, payloadString)
+				.thenAccept(isMessageSent -> LOGGER.trace("writeTransactionAsync : isMessageSent : {}", isMessageSent));
+	}
+	
+	/***
+	 * Implementation of readTransactionAsync
+	 * Sets DLT Payload with the event request
+	 * Sends DLT Payload to Lambda, completes on the Lambda callback
+	 */
+	@Override
+	public CompletableFuture<String> readTransactionAsync(String eventData) {
+		String payloadString;
+		try {
+			payloadString = getPayloadString(eventData, DLTFunctionType.QUERY_OBJECT.getFunctionType(),
+					ChaincodeFunction.QUERY_PAGINATION.getChaincodeFunction());
+		} catch (Exception e) {
+			LOGGER.error("readTransactionAsync : ", e);
+			CompletableFuture<String> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+		
+		READ_PAYLOADS.trace("readTransactionAsync : payload : {}", payloadString);
+		
+		return getLambdaService().invokeLambdaAsync(Constants.LAMBDA_CHAINCODE, payloadString);
+	}
+	
+	/***
+	 * Implementation of readTransactionPayloadAsync
+	 * Sets DLT Payload with the event request
+	 * Sends DLT Payload to Lambda, completes on the Lambda callback with the
+	 * undecoded Event Payload
+	 */
+	@Override
+	public CompletableFuture<ByteBuffer> readTransactionPayloadAsync(String eventData) {
+		String payloadString;
+		try {
+			payloadString = getPayloadString(eventData, DLTFunctionType.QUERY_OBJECT.getFunctionType(),
+					ChaincodeFunction.QUERY_PAGINATION.getChaincodeFunction());
+		} catch (Exception e) {
+			LOGGER.error("readTransactionPayloadAsync : ", e);
+			CompletableFuture<ByteBuffer> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+		
+		READ_PAYLOADS.trace("readTransactionPayloadAsync : payload : {}", payloadString);
+		
+		return getLambdaService().invokeLambdaPayloadAsync(Constants.LAMBDA_CHAINCODE, payloadString);
+	}
+	
+	/***
+	 * Uses the injected Message Queue, otherwise the shared write-behind journal
+	 * when it is enabled, otherwise SQS on the shared SQS Client
+	 * @return Message Queue
+	 * @throws Exception : if the journal cannot be opened
+	 */
+	private MessageQueue getSQSService() throws Exception {
+		if (sqsService == null) {
+			sqsService = Constants.JOURNAL_PROPERTIES.isEnabled() ? JournalMessageQueue.getInstance()
+					: new SQSService(AWSClient.getInstance().getSQSClient());
+		}
+		return sqsService;
+	}
+	
+	/***
+	 * Uses the injected Chaincode Invoker, otherwise Lambda on the shared Lambda
+	 * Async Client which serves both the blocking and non-blocking invocations
+	 * @return Chaincode Invoker
+	 */
+	private ChaincodeInvoker getLambdaService() {
+		if (lambdaService == null) {
+			lambdaService = new LambdaService(AWSClient.getInstance().getLambdaAsyncClient());
+		}
+		return lambdaService;
+	}
+	
+	/***
+	 * Deserializes the event request and serializes it as DLT Payload
+	 * @param eventData (Serialized RequestData)
+	 * @param triggerType (Fabric function type)
+	 * @param chaincodeFunction (Chaincode function name)
+	 * @return Serialized DLT Payload
+	 * @throws Exception
+	 */
+	private String getPayloadString(String eventData, String triggerType, String chaincodeFunction) throws Exception {
+		RequestData eventRequest = new JsonMapper().deserializeFromJson(eventData, RequestData.class);
+		return getPayloadString(eventRequest, triggerType, chaincodeFunction);
+	}
+	
+	/***
+	 * Serializes the parsed request as DLT Payload
+	 * @param request
+	 * @param triggerType (Fabric function type)
+	 * @param chaincodeFunction (Chaincode function name)
+	 * @return Serialized DLT Payload
+	 * @throws Exception
+	 */
+	private String getPayloadString(RequestData request, String triggerType, String chaincodeFunction) throws Exception {
+		if (request == null) {
+			String msg = "Request should not be null.";
+			IOException e = new IOException(msg);
+			LOGGER.error("getPayloadString : ", e);
+			throw e;
+		}
+		
+		long start = System.nanoTime();
+		DLTPayload payload = setFabricPayload(request, triggerType, chaincodeFunction);
+		String payloadString = new JsonMapper().serializeToJson(payload);
+		MetricsRegistry.getMetrics().recordTimeSince(MetricNames.SERIALIZATION, start, MetricNames.TAG_STAGE,
+				MetricNames.MESSAGE);
+		return payloadString;
+	}
 
 	/***
 	 * Sets the DLT Payload Object
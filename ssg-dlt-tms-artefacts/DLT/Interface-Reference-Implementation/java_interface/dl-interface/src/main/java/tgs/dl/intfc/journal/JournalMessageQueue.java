@@ -0,0 +1,224 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import tgs.dl.intfc.aws.AWSClient;
+import tgs.dl.intfc.aws.SQSService;
+import tgs.dl.intfc.config.model.JournalProperties;
+import tgs.dl.intfc.constants.Constants;
+import tgs.dl.intfc.metrics.MetricNames;
+import tgs.dl.intfc.metrics.MetricsRegistry;
+import tgs.dl.intfc.model.WriteResult;
+import tgs.dl.intfc.spi.MessageQueue;
+
+/***
+ * Write-behind message queue
+ * 
+ * Messages to the queue of the journal are accepted once they are appended to
+ * the journal, a background shipper sends them on to the message queue.
+ * Messages to other queues are sent directly. Enable it with
+ * journalProperties.enabled, TransactionHandlerImpl then sends its writes
+ * through getInstance().
+ */
+public class JournalMessageQueue implements MessageQueue, Closeable {
+
+	private static final Logger LOGGER = LogManager.getLogger(JournalMessageQueue.class);
+	private static final long STOP_TIMEOUT = 10000;
+
+	private static volatile JournalMessageQueue instance;
+
+	private final WriteJournal journal;
+	private final MessageQueue messageQueue;
+	private final String queueUrl;
+	private final JournalShipper shipper;
+
+	/***
+	 * Starts shipping the journal to the message queue
+	 * 
+	 * @param journal
+	 * @param messageQueue : queue the messages are shipped to
+	 * @param queueUrl     : url of the queue the journal is for
+	 * @param properties
+	 */
+	public JournalMessageQueue(WriteJournal journal, MessageQueue messageQueue, String queueUrl,
+			JournalProperties properties) {
+		this.journal = journal;
+		this.messageQueue = messageQueue;
+		this.queueUrl = queueUrl;
+		this.shipper = new JournalShipper(journal, messageQueue, queueUrl, properties);
+		this.shipper.start();
+	}
+
+	/***
+	 * Provides the process wide write-behind queue of the SQS url, shipping to
+	 * SQS on the shared SQS Client
+	 * 
+	 * @return shared JournalMessageQueue
+	 * @throws Exception : if the journal cannot be opened
+	 */
+	public static JournalMessageQueue getInstance() throws Exception {
+		JournalMessageQueue queue = instance;
+		if (queue == null) {
+			synchronized (JournalMessageQueue.class) {
+				queue = instance;
+				if (queue == null) {
+					try {
+						queue = new JournalMessageQueue(new WriteJournal(Constants.JOURNAL_PROPERTIES),
+								new SQSService(AWSClient.getInstance().getSQSClient()), Constants.SQS_URL,
+								Constants.JOURNAL_PROPERTIES);
+						instance = queue;
+					} catch (Exception e) {
+						LOGGER.error("getInstance : ", e);
+						throw (e);
+					}
+				}
+			}
+		}
+		return queue;
+	}
+
+	/***
+	 * Closes the process wide queue if it is open
+	 */
+	public static void closeInstance() {
+		synchronized (JournalMessageQueue.class) {
+			if (instance != null) {
+				instance.close();
+				instance = null;
+			}
+		}
+	}
+
+	/***
+	 * Appends the message to the journal
+	 * 
+	 * @return true once the message is journaled
+	 * @throws Exception : if the journal is full or closed, or the message
+	 *                   exceeds the SQS message size
+	 */
+	@Override
+	public boolean sendMessage(String queueUrl, String messageBody) throws Exception {
+		if (!this.queueUrl.equals(queueUrl)) {
+			return messageQueue.sendMessage(queueUrl, messageBody);
+		}
+		append(messageBody);
+		return true;
+	}
+
+	/***
+	 * Appends the message to the journal, the caller is blocked for the append
+	 * only
+	 * 
+	 * @return CompletableFuture : completes with true once the message is
+	 *         journaled
+	 */
+	@Override
+	public CompletableFuture<Boolean> sendMessageAsync(String queueUrl, String messageBody) {
+		if (!this.queueUrl.equals(queueUrl)) {
+			return messageQueue.sendMessageAsync(queueUrl, messageBody);
+		}
+
+		CompletableFuture<Boolean> messageFuture = new CompletableFuture<>();
+		try {
+			append(messageBody);
+			messageFuture.complete(true);
+		} catch (Exception e) {
+			LOGGER.error("sendMessageAsync : ", e);
+			messageFuture.completeExceptionally(e);
+		}
+		return messageFuture;
+	}
+
+	/***
+	 * Appends the messages to the journal
+	 * 
+	 * @return List of WriteResult : one result per message, the message id is
+	 *         the sequence in the journal
+	 */
+	@Override
+	public List<WriteResult> sendMessageBatch(String queueUrl, List<String> messageBodies) throws Exception {
+		if (!this.queueUrl.equals(queueUrl)) {
+			return messageQueue.sendMessageBatch(queueUrl, messageBodies);
+		}
+
+		List<WriteResult> results = new ArrayList<>(messageBodies.size());
+		for (int i = 0; i < messageBodies.size(); i++) {
+			WriteResult result = new WriteResult(i);
+			try {
+				result.setMessageId(String.valueOf(append(messageBodies.get(i))));
+				result.setSuccess(true);
+			} catch (Exception e) {
+				LOGGER.error("sendMessageBatch : message {} : ", i, e);
+				result.setMessage(e.getMessage());
+			}
+			results.add(result);
+		}
+		return results;
+	}
+
+	private long append(String messageBody) throws Exception {
+		long start = System.nanoTime();
+		boolean isSuccess = false;
+		try {
+			// the message queue would reject it on every send
+			int messageBytes = SQSService.getUtf8Length(messageBody);
+			if (messageBytes > SQSService.MAX_MESSAGE_BYTES) {
+				throw new IOException("Message of " + messageBytes + " bytes exceeds the maximum size of "
+						+ SQSService.MAX_MESSAGE_BYTES + " bytes.");
+			}
+			long sequence = journal.append(messageBody);
+			isSuccess = true;
+			return sequence;
+		} finally {
+			MetricsRegistry.getMetrics().recordTimeSince(MetricNames.JOURNAL_APPEND, start, MetricNames.TAG_RESULT,
+					MetricNames.result(isSuccess));
+		}
+	}
+
+	/***
+	 * @return the journal
+	 */
+	public WriteJournal getJournal() {
+		return journal;
+	}
+
+	/***
+	 * Rejects further messages, stops the shipper after the batch that is being
+	 * sent and writes the journal to the disk
+	 */
+	@Override
+	public void close() {
+		journal.close();
+		try {
+			shipper.stop(STOP_TIMEOUT);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		LOGGER.trace("close : {} records are not shipped.", journal.getPendingRecords());
+	}
+
+}
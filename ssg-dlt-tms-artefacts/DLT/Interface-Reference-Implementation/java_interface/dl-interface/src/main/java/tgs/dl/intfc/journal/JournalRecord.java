@@ -0,0 +1,50 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.journal;
+
+/***
+ * Record of the write journal, a serialized DLT Payload and its sequence
+ */
+public class JournalRecord {
+	private final long sequence;
+	private final String payload;
+
+	public JournalRecord(long sequence, String payload) {
+		this.sequence = sequence;
+		this.payload = payload;
+	}
+
+	/**
+	 * @return the sequence, increasing by one with each record
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @return the payload
+	 */
+	public String getPayload() {
+		return payload;
+	}
+
+	@Override
+	public String toString() {
+		return "JournalRecord [sequence=" + sequence + "]";
+	}
+}
@@ -0,0 +1,242 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/***
+ * Memory-mapped file of journal records
+ * 
+ * The file is created at its full size and filled from the start. Each record
+ * is written as length, checksum, sequence and payload, the length is written
+ * last so a record that was not completely written reads as the end of the
+ * segment. The checksum covers the sequence and the payload, a record that
+ * does not match it also ends the segment when it is opened again.
+ * 
+ * One thread appends, other threads may read the records below the write
+ * position at the same time.
+ */
+class JournalSegment {
+
+	private static final Logger LOGGER = LogManager.getLogger(JournalSegment.class);
+	static final String FILE_SUFFIX = ".journal";
+	static final int HEADER_SIZE = 16;
+	private static final int CHECKSUM_OFFSET = 4;
+	private static final int SEQUENCE_OFFSET = 8;
+
+	private final Path path;
+	private final long baseSequence;
+	private final MappedByteBuffer buffer;
+	private volatile int writePosition;
+	private volatile long lastSequence;
+
+	private JournalSegment(Path path, long baseSequence, MappedByteBuffer buffer) {
+		this.path = path;
+		this.baseSequence = baseSequence;
+		this.buffer = buffer;
+		this.lastSequence = baseSequence - 1;
+	}
+
+	/***
+	 * Creates an empty segment
+	 * 
+	 * @param directory
+	 * @param baseSequence : sequence of the first record
+	 * @param size         : size of the file in bytes
+	 * @return JournalSegment
+	 * @throws IOException
+	 */
+	static JournalSegment create(Path directory, long baseSequence, int size) throws IOException {
+		Path path = directory.resolve(getFileName(baseSequence));
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			return new JournalSegment(path, baseSequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+		}
+	}
+
+	/***
+	 * Opens a segment and finds its last complete record
+	 * 
+	 * @param path
+	 * @return JournalSegment
+	 * @throws IOException : if the file name is not a segment name
+	 */
+	static JournalSegment open(Path path) throws IOException {
+		long baseSequence = getBaseSequence(path);
+		JournalSegment segment;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			segment = new JournalSegment(path, baseSequence,
+					channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+		}
+		segment.recover();
+		return segment;
+	}
+
+	/***
+	 * Moves the write position past the records that are complete and match
+	 * their checksum
+	 */
+	private void recover() {
+		int position = 0;
+		long sequence = baseSequence;
+		while (position + HEADER_SIZE <= buffer.capacity()) {
+			int length = buffer.getInt(position);
+			if (length <= 0) {
+				break;
+			}
+			if (length > buffer.capacity() - position - HEADER_SIZE
+					|| buffer.getLong(position + SEQUENCE_OFFSET) != sequence
+					|| buffer.getInt(position + CHECKSUM_OFFSET) != getChecksum(position, length)) {
+				LOGGER.warn("recover : {} : incomplete record {} at {} is dropped.", path, sequence, position);
+				break;
+			}
+			position += HEADER_SIZE + length;
+			sequence++;
+		}
+		writePosition = position;
+		lastSequence = sequence - 1;
+	}
+
+	/***
+	 * Appends a record
+	 * 
+	 * @param sequence : lastSequence + 1
+	 * @param payload
+	 * @return false if the segment does not have enough space left
+	 */
+	boolean append(long sequence, byte[] payload) {
+		int position = writePosition;
+		if (payload.length > buffer.capacity() - position - HEADER_SIZE) {
+			return false;
+		}
+
+		ByteBuffer record = buffer.duplicate();
+		record.position(position + SEQUENCE_OFFSET);
+		record.putLong(sequence);
+		record.put(payload);
+		buffer.putInt(position + CHECKSUM_OFFSET, getChecksum(position, payload.length));
+		buffer.putInt(position, payload.length);
+
+		lastSequence = sequence;
+		writePosition = position + HEADER_SIZE + payload.length;
+		return true;
+	}
+
+	/***
+	 * Reads the record at a position
+	 * 
+	 * @param position : 0 or the position after another record
+	 * @return JournalRecord, null if there is no record at the position yet
+	 */
+	JournalRecord read(int position) {
+		if (position >= writePosition) {
+			return null;
+		}
+		int length = buffer.getInt(position);
+		byte[] payload = new byte[length];
+		ByteBuffer record = buffer.duplicate();
+		record.position(position + HEADER_SIZE);
+		record.get(payload);
+		return new JournalRecord(buffer.getLong(position + SEQUENCE_OFFSET),
+				new String(payload, StandardCharsets.UTF_8));
+	}
+
+	/***
+	 * @param position : position of a record
+	 * @return position after the record
+	 */
+	int next(int position) {
+		return position + HEADER_SIZE + buffer.getInt(position);
+	}
+
+	/***
+	 * Writes the records to the disk
+	 */
+	void force() {
+		buffer.force();
+	}
+
+	/***
+	 * Deletes the file, the segment must not be used afterwards
+	 * 
+	 * @return true if the file is deleted
+	 */
+	boolean delete() {
+		try {
+			return Files.deleteIfExists(path);
+		} catch (IOException e) {
+			// mapped files cannot be deleted on some platforms until they are unmapped
+			LOGGER.warn("delete : {} : {}", path, e.getMessage());
+			return false;
+		}
+	}
+
+	private int getChecksum(int position, int length) {
+		ByteBuffer record = buffer.duplicate();
+		record.position(position + SEQUENCE_OFFSET);
+		record.limit(position + HEADER_SIZE + length);
+		CRC32 crc = new CRC32();
+		crc.update(record);
+		return (int) crc.getValue();
+	}
+
+	static String getFileName(long baseSequence) {
+		return String.format("%020d", baseSequence) + FILE_SUFFIX;
+	}
+
+	static long getBaseSequence(Path path) throws IOException {
+		String fileName = path.getFileName().toString();
+		try {
+			return Long.parseLong(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()));
+		} catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+			throw new IOException("Not a journal segment: " + path, e);
+		}
+	}
+
+	Path getPath() {
+		return path;
+	}
+
+	long getBaseSequence() {
+		return baseSequence;
+	}
+
+	long getLastSequence() {
+		return lastSequence;
+	}
+
+	int getWritePosition() {
+		return writePosition;
+	}
+
+	boolean isEmpty() {
+		return writePosition == 0;
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.journal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import tgs.dl.intfc.config.model.JournalProperties;
+import tgs.dl.intfc.metrics.MetricNames;
+import tgs.dl.intfc.metrics.Metrics;
+import tgs.dl.intfc.metrics.MetricsRegistry;
+import tgs.dl.intfc.model.WriteResult;
+import tgs.dl.intfc.spi.MessageQueue;
+
+/***
+ * Background thread that sends the journal records to the message queue
+ * 
+ * Records are sent in batches in the order of the journal. Messages of a batch
+ * that fail are sent again with an increasing backoff until they are
+ * accepted, then the batch is acknowledged. Messages the queue rejects as a
+ * sender fault fail on every send, they are written to the dead letter file
+ * of the journal instead and acknowledged. Delivery is at least once, a
+ * record can be sent again after a crash or when a send fails after the queue
+ * accepted it.
+ */
+class JournalShipper implements Runnable {
+
+	private static final Logger LOGGER = LogManager.getLogger(JournalShipper.class);
+	private static final long INITIAL_RETRY_BACKOFF = 100;
+
+	private final WriteJournal journal;
+	private final MessageQueue messageQueue;
+	private final String queueUrl;
+	private final int batchSize;
+	private final long shipInterval;
+	private final long maxRetryBackoff;
+	private final Thread thread;
+	private volatile boolean isRunning = true;
+
+	JournalShipper(WriteJournal journal, MessageQueue messageQueue, String queueUrl, JournalProperties properties) {
+		this.journal = journal;
+		this.messageQueue = messageQueue;
+		this.queueUrl = queueUrl;
+		this.batchSize = Math.max(properties.getShipBatchSize(), 1);
+		this.shipInterval = Math.max(properties.getShipInterval(), 1);
+		this.maxRetryBackoff = Math.max(properties.getMaxRetryBackoff(), INITIAL_RETRY_BACKOFF);
+		this.thread = new Thread(this, "dl-journal-shipper");
+		this.thread.setDaemon(true);
+	}
+
+	void start() {
+		MetricsRegistry.getMetrics().gauge(MetricNames.JOURNAL_PENDING, journal::getPendingRecords);
+		thread.start();
+	}
+
+	/***
+	 * Stops after the batch that is being sent, records that are not
+	 * acknowledged are sent when the journal is opened again
+	 * 
+	 * @param timeoutMillis : wait for the batch, the thread is interrupted after
+	 *                      it
+	 * @throws InterruptedException
+	 */
+	void stop(long timeoutMillis) throws InterruptedException {
+		isRunning = false;
+		thread.join(timeoutMillis);
+		if (thread.isAlive()) {
+			thread.interrupt();
+			thread.join(timeoutMillis);
+		}
+	}
+
+	@Override
+	public void run() {
+		while (isRunning) {
+			try {
+				if (!journal.awaitRecords(shipInterval)) {
+					continue;
+				}
+
+				List<JournalRecord> records = journal.read(batchSize);
+				if (records.isEmpty()) {
+					// the reader moved on to an empty segment
+					continue;
+				}
+				if (ship(records)) {
+					journal.acknowledge(records.get(records.size() - 1).getSequence());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (Exception e) {
+				LOGGER.error("run : ", e);
+			}
+		}
+		LOGGER.trace("run : stopped at sequence {}.", journal.getAcknowledgedSequence());
+	}
+
+	/***
+	 * Sends the records until the message queue accepts all of them
+	 * 
+	 * @param records
+	 * @return false if the shipper is stopped before
+	 * @throws InterruptedException
+	 * @throws IOException : if a dead letter cannot be written
+	 */
+	private boolean ship(List<JournalRecord> records) throws InterruptedException, IOException {
+		Metrics metrics = MetricsRegistry.getMetrics();
+		List<JournalRecord> pending = records;
+		long backoff = INITIAL_RETRY_BACKOFF;
+		while (true) {
+			long start = System.nanoTime();
+			List<JournalRecord> failed = send(pending);
+			metrics.recordTimeSince(MetricNames.JOURNAL_SHIP, start, MetricNames.TAG_RESULT,
+					MetricNames.result(failed.isEmpty()));
+			if (failed.isEmpty()) {
+				return true;
+			}
+			if (!isRunning) {
+				return false;
+			}
+
+			LOGGER.warn("ship : {} of {} messages failed, retry in {} ms.", failed.size(), pending.size(), backoff);
+			metrics.increment(MetricNames.JOURNAL_RETRIES);
+			Thread.sleep(backoff);
+			backoff = Math.min(backoff * 2, maxRetryBackoff);
+			pending = failed;
+		}
+	}
+
+	/***
+	 * Sends the records as a batch
+	 * 
+	 * @param records
+	 * @return records that are not accepted and can be sent again
+	 * @throws IOException : if a dead letter cannot be written
+	 */
+	private List<JournalRecord> send(List<JournalRecord> records) throws IOException {
+		List<String> messageBodies = new ArrayList<>(records.size());
+		for (JournalRecord record : records) {
+			messageBodies.add(record.getPayload());
+		}
+
+		List<WriteResult> results;
+		try {
+			results = messageQueue.sendMessageBatch(queueUrl, messageBodies);
+		} catch (Exception e) {
+			LOGGER.error("send : ", e);
+			return records;
+		}
+
+		List<JournalRecord> failed = new ArrayList<>();
+		for (WriteResult result : results) {
+			if (result.isSuccess()) {
+				continue;
+			}
+			JournalRecord record = records.get(result.getIndex());
+			LOGGER.error("send : record {} : {}", record.getSequence(), result.getMessage());
+			if (result.isSenderFault()) {
+				journal.writeDeadLetter(record, result.getMessage());
+				MetricsRegistry.getMetrics().increment(MetricNames.JOURNAL_DEAD_LETTERS);
+			} else {
+				failed.add(record);
+			}
+		}
+		return failed;
+	}
+
+}
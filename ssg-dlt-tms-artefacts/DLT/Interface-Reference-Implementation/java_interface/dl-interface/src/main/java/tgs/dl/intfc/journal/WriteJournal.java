@@ -0,0 +1,370 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import tgs.dl.intfc.config.model.JournalProperties;
+
+/***
+ * Local journal of the DLT writes
+ * 
+ * Records are appended to memory-mapped segments with increasing sequences and
+ * read back in order by a single consumer, the shipper. The consumer
+ * acknowledges the records once they are delivered, the sequence of the last
+ * acknowledged record is kept in a checkpoint file and segments whose records
+ * are all acknowledged are deleted.
+ * 
+ * When the journal is opened again, reading starts after the checkpoint, so
+ * records that were read but not acknowledged before a crash are read again.
+ * A new segment is started on every open, records are never appended to a
+ * segment of an earlier run.
+ * 
+ * Records the message queue rejects for good are written to the dead letter
+ * file of the directory, one line per record, and acknowledged with the rest.
+ */
+public class WriteJournal implements Closeable {
+
+	private static final Logger LOGGER = LogManager.getLogger(WriteJournal.class);
+	private static final String CHECKPOINT_FILE = "checkpoint";
+	private static final String CHECKPOINT_TEMP_FILE = "checkpoint.tmp";
+	public static final String DEAD_LETTER_FILE = "dead-letters.log";
+	private static final int CHECKPOINT_SIZE = 12;
+
+	private final Path directory;
+	private final int segmentSize;
+	private final int maxSegments;
+	private final boolean isSyncOnWrite;
+
+	// segments in order of sequence, the last one is appended to
+	private final Deque<JournalSegment> segments = new ArrayDeque<>();
+	private volatile long lastSequence;
+	private volatile long acknowledgedSequence;
+	private boolean isClosed;
+
+	// read cursor of the consumer
+	private JournalSegment readSegment;
+	private int readPosition;
+
+	/***
+	 * Opens the journal in the directory of the properties, the directory is
+	 * created if it does not exist
+	 * 
+	 * @param properties
+	 * @throws IOException
+	 */
+	public WriteJournal(JournalProperties properties) throws IOException {
+		this.directory = Paths.get(properties.getDirectory());
+		this.segmentSize = properties.getSegmentSize();
+		this.maxSegments = Math.max(properties.getMaxSegments(), 2);
+		this.isSyncOnWrite = properties.isSyncOnWrite();
+
+		Files.createDirectories(directory);
+		recover();
+	}
+
+	/***
+	 * Opens the segments of an earlier run, deletes the ones that are
+	 * acknowledged and starts a new segment
+	 * 
+	 * @throws IOException
+	 */
+	private void recover() throws IOException {
+		acknowledgedSequence = readCheckpoint();
+		lastSequence = acknowledgedSequence;
+
+		List<Path> paths = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + JournalSegment.FILE_SUFFIX)) {
+			stream.forEach(paths::add);
+		}
+		paths.sort(null);
+
+		for (Path path : paths) {
+			JournalSegment segment = JournalSegment.open(path);
+			if (segment.isEmpty() || segment.getLastSequence() <= acknowledgedSequence) {
+				segment.delete();
+				continue;
+			}
+			if (segment.getBaseSequence() != lastSequence + 1 && !segments.isEmpty()) {
+				LOGGER.warn("recover : records {} to {} are missing.", lastSequence + 1,
+						segment.getBaseSequence() - 1);
+			}
+			segments.add(segment);
+			lastSequence = segment.getLastSequence();
+		}
+
+		if (!segments.isEmpty()) {
+			LOGGER.info("recover : {} records to ship after sequence {}.", lastSequence - acknowledgedSequence,
+					acknowledgedSequence);
+		}
+
+		// skip the acknowledged records of the first segment
+		readSegment = segments.peekFirst();
+		readPosition = 0;
+		if (readSegment != null) {
+			for (long sequence = readSegment.getBaseSequence(); sequence <= acknowledgedSequence; sequence++) {
+				readPosition = readSegment.next(readPosition);
+			}
+		}
+
+		segments.add(JournalSegment.create(directory, lastSequence + 1, segmentSize));
+		if (readSegment == null) {
+			readSegment = segments.peekFirst();
+		}
+	}
+
+	/***
+	 * Appends a serialized DLT Payload
+	 * 
+	 * @param payload
+	 * @return sequence of the record
+	 * @throws IOException : if the journal is closed or full, or the payload
+	 *                     does not fit into a segment
+	 */
+	public synchronized long append(String payload) throws IOException {
+		if (isClosed) {
+			throw new IOException("Journal is closed.");
+		}
+
+		byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+		long sequence = lastSequence + 1;
+		JournalSegment segment = segments.peekLast();
+		if (!segment.append(sequence, bytes)) {
+			if (bytes.length > segmentSize - JournalSegment.HEADER_SIZE) {
+				throw new IOException("Record of " + bytes.length + " bytes exceeds the journal segment size.");
+			}
+			if (segments.size() >= maxSegments) {
+				throw new IOException("Journal is full, " + getPendingRecords() + " records are not shipped yet.");
+			}
+			segment = JournalSegment.create(directory, sequence, segmentSize);
+			segments.add(segment);
+			segment.append(sequence, bytes);
+		}
+		if (isSyncOnWrite) {
+			segment.force();
+		}
+
+		lastSequence = sequence;
+		notifyAll();
+		return sequence;
+	}
+
+	/***
+	 * Reads the next records of the consumer
+	 * 
+	 * @param maxRecords
+	 * @return records after the ones read before, empty if there are none
+	 */
+	public List<JournalRecord> read(int maxRecords) {
+		List<JournalRecord> records = new ArrayList<>(maxRecords);
+		while (records.size() < maxRecords) {
+			JournalRecord record = readSegment.read(readPosition);
+			if (record != null) {
+				records.add(record);
+				readPosition = readSegment.next(readPosition);
+				continue;
+			}
+
+			JournalSegment nextSegment = getNextSegment(readSegment);
+			if (nextSegment == null) {
+				break;
+			}
+			if (readPosition < readSegment.getWritePosition()) {
+				// records appended before the segment was full
+				continue;
+			}
+			readSegment = nextSegment;
+			readPosition = 0;
+		}
+		return records;
+	}
+
+	/***
+	 * Waits until there are records that are not read yet
+	 * 
+	 * @param timeoutMillis
+	 * @return true if there are records to read
+	 * @throws InterruptedException
+	 */
+	public synchronized boolean awaitRecords(long timeoutMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		long remaining = timeoutMillis;
+		while (!hasUnreadRecords() && !isClosed && remaining > 0) {
+			wait(remaining);
+			remaining = deadline - System.currentTimeMillis();
+		}
+		return hasUnreadRecords();
+	}
+
+	private boolean hasUnreadRecords() {
+		return readPosition < readSegment.getWritePosition() || readSegment != segments.peekLast();
+	}
+
+	/***
+	 * Acknowledges the records up to a sequence, they are not read again after
+	 * the journal is opened again, and deletes the segments that are
+	 * acknowledged
+	 * 
+	 * @param sequence
+	 * @throws IOException : if the checkpoint cannot be written
+	 */
+	public void acknowledge(long sequence) throws IOException {
+		if (sequence <= acknowledgedSequence) {
+			return;
+		}
+		writeCheckpoint(sequence);
+		acknowledgedSequence = sequence;
+
+		List<JournalSegment> acknowledgedSegments = new ArrayList<>();
+		synchronized (this) {
+			while (segments.size() > 1 && segments.peekFirst() != readSegment
+					&& segments.peekFirst().getLastSequence() <= sequence) {
+				acknowledgedSegments.add(segments.pollFirst());
+			}
+		}
+		for (JournalSegment segment : acknowledgedSegments) {
+			segment.delete();
+			LOGGER.trace("acknowledge : {} is deleted.", segment.getPath());
+		}
+	}
+
+	/***
+	 * Writes a record that is never delivered to the dead letter file, as a line
+	 * of the sequence, the reason and the payload separated by tabs
+	 * 
+	 * @param record
+	 * @param reason
+	 * @throws IOException
+	 */
+	public synchronized void writeDeadLetter(JournalRecord record, String reason) throws IOException {
+		String line = record.getSequence() + "\t" + String.valueOf(reason).replaceAll("\\s+", " ") + "\t"
+				+ record.getPayload() + System.lineSeparator();
+		Files.write(directory.resolve(DEAD_LETTER_FILE), line.getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	private synchronized JournalSegment getNextSegment(JournalSegment segment) {
+		boolean isNext = false;
+		for (JournalSegment nextSegment : segments) {
+			if (isNext) {
+				return nextSegment;
+			}
+			isNext = nextSegment == segment;
+		}
+		return null;
+	}
+
+	/***
+	 * @return number of records that are not acknowledged
+	 */
+	public long getPendingRecords() {
+		return lastSequence - acknowledgedSequence;
+	}
+
+	/***
+	 * @return sequence of the last appended record
+	 */
+	public long getLastSequence() {
+		return lastSequence;
+	}
+
+	/***
+	 * @return sequence of the last acknowledged record
+	 */
+	public long getAcknowledgedSequence() {
+		return acknowledgedSequence;
+	}
+
+	/***
+	 * Rejects further appends and writes the segments to the disk
+	 */
+	@Override
+	public synchronized void close() {
+		if (isClosed) {
+			return;
+		}
+		isClosed = true;
+		for (JournalSegment segment : segments) {
+			segment.force();
+		}
+		notifyAll();
+		LOGGER.trace("close : {} records are not shipped.", getPendingRecords());
+	}
+
+	/***
+	 * Reads the checkpoint, 0 if there is none or it does not match its checksum
+	 * 
+	 * @return sequence of the last acknowledged record
+	 * @throws IOException
+	 */
+	private long readCheckpoint() throws IOException {
+		Path path = directory.resolve(CHECKPOINT_FILE);
+		if (!Files.exists(path)) {
+			return 0;
+		}
+		ByteBuffer checkpoint = ByteBuffer.wrap(Files.readAllBytes(path));
+		if (checkpoint.remaining() == CHECKPOINT_SIZE) {
+			long sequence = checkpoint.getLong(0);
+			if (checkpoint.getInt(Long.BYTES) == getChecksum(sequence)) {
+				return sequence;
+			}
+		}
+		LOGGER.warn("readCheckpoint : {} is not valid, all records are shipped again.", path);
+		return 0;
+	}
+
+	/***
+	 * Replaces the checkpoint, the new file is written next to it and moved over
+	 * it so that a crash leaves either the old or the new checkpoint
+	 * 
+	 * @param sequence : sequence of the last acknowledged record
+	 * @throws IOException
+	 */
+	private void writeCheckpoint(long sequence) throws IOException {
+		ByteBuffer checkpoint = ByteBuffer.allocate(CHECKPOINT_SIZE);
+		checkpoint.putLong(sequence).putInt(getChecksum(sequence));
+		Path tempPath = directory.resolve(CHECKPOINT_TEMP_FILE);
+		Files.write(tempPath, checkpoint.array());
+		Files.move(tempPath, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static int getChecksum(long sequence) {
+		CRC32 crc = new CRC32();
+		crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+		return (int) crc.getValue();
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.key.mgmt;
+
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import tgs.dl.intfc.key.mgmt.model.Key;
+import tgs.dl.intfc.key.mgmt.model.KeyConfig;
+import tgs.dl.intfc.key.mgmt.model.TrainingPartner;
+import tgs.dl.intfc.utils.DateUtil;
+
+/***
+ * Bounded in-memory cache of key records
+ * 
+ * Entries expire at the given time and the least recently used entry is
+ * evicted once the cache is full. Plain keys are zeroed when an entry is
+ * evicted, expired or replaced. Key records are copied in and out, so callers
+ * may clear the plain key they are given.
+ * 
+ * Reads do not take a lock shared with other keys, the time of the last access
+ * is kept on the entry and eviction looks for the eldest one. Concurrent puts
+ * may briefly leave the cache above maxEntries.
+ */
+public class KeyCache {
+	private static final Logger LOGGER = LogManager.getLogger(KeyCache.class);
+
+	private final int maxEntries;
+	private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+	private final Object evictionLock = new Object();
+
+	public KeyCache(int maxEntries) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries should be greater than 0.");
+		}
+		this.maxEntries = maxEntries;
+	}
+
+	/***
+	 * Provides a copy of the cached key record
+	 * 
+	 * @param cacheKey
+	 * @return KeyConfig, null if not cached or expired
+	 */
+	public KeyConfig get(String cacheKey) {
+		Entry entry = entries.get(cacheKey);
+		if (entry == null) {
+			return null;
+		}
+
+		ZonedDateTime now = DateUtil.getLocalZoneDateTimeByZoneId(DateUtil.ZONE_ID_UTC);
+		if (entry.expiresAt.isBefore(now)) {
+			LOGGER.trace("get : expired : {}", cacheKey);
+			remove(cacheKey, entry);
+			return null;
+		}
+		entry.lastAccess = System.nanoTime();
+		// null if the entry is evicted or replaced meanwhile
+		return entry.copy();
+	}
+
+	/***
+	 * Caches a copy of the key record
+	 * 
+	 * @param cacheKey
+	 * @param keyConfig: key record, its plain key is copied
+	 * @param expiresAt: time the entry stops being served
+	 */
+	public void put(String cacheKey, KeyConfig keyConfig, ZonedDateTime expiresAt) {
+		if (keyConfig == null || keyConfig.getKey() == null || keyConfig.getKey().getPlainKey() == null
+				|| expiresAt == null) {
+			return;
+		}
+
+		Entry previous = entries.put(cacheKey, new Entry(copyOf(keyConfig), expiresAt));
+		if (previous != null) {
+			previous.clear();
+		}
+		if (entries.size() > maxEntries) {
+			evict();
+		}
+	}
+
+	/***
+	 * Removes the cached key record
+	 * 
+	 * @param cacheKey
+	 */
+	public void invalidate(String cacheKey) {
+		Entry entry = entries.remove(cacheKey);
+		if (entry != null) {
+			entry.clear();
+		}
+	}
+
+	/***
+	 * Removes all cached key records
+	 */
+	public void clear() {
+		for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+			remove(entry.getKey(), entry.getValue());
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void evict() {
+		synchronized (evictionLock) {
+			while (entries.size() > maxEntries) {
+				Map.Entry<String, Entry> eldest = null;
+				for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+					if (eldest == null || entry.getValue().lastAccess - eldest.getValue().lastAccess < 0) {
+						eldest = entry;
+					}
+				}
+				if (eldest == null) {
+					return;
+				}
+				LOGGER.trace("evict : evicted : {}", eldest.getKey());
+				remove(eldest.getKey(), eldest.getValue());
+			}
+		}
+	}
+
+	private void remove(String cacheKey, Entry entry) {
+		// an entry that is replaced meanwhile is cleared by put
+		if (entries.remove(cacheKey, entry)) {
+			entry.clear();
+		}
+	}
+
+	private static KeyConfig copyOf(KeyConfig keyConfig) {
+		TrainingPartner tp = keyConfig.getTrainingPartner();
+		Key key = keyConfig.getKey();
+
+		TrainingPartner tpCopy = tp == null ? null : new TrainingPartner(tp.getUen(), tp.getCode());
+		Key keyCopy = new Key(key.getPlainKey() == null ? null : key.getPlainKey().clone(), key.getEncryptedKey(),
+				key.getNumberOfBytes(), key.getValidUpTo());
+		return new KeyConfig(tpCopy, keyCopy);
+	}
+
+	private static class Entry {
+		private final KeyConfig keyConfig;
+		private final ZonedDateTime expiresAt;
+		private volatile long lastAccess = System.nanoTime();
+		private boolean isCleared = false;
+
+		private Entry(KeyConfig keyConfig, ZonedDateTime expiresAt) {
+			this.keyConfig = keyConfig;
+			this.expiresAt = expiresAt;
+		}
+
+		private synchronized KeyConfig copy() {
+			return isCleared ? null : copyOf(keyConfig);
+		}
+
+		private synchronized void clear() {
+			isCleared = true;
+			char[] plainKey = keyConfig.getKey().getPlainKey();
+			if (plainKey != null) {
+				Arrays.fill(plainKey, '\0');
+			}
+		}
+	}
+
+}
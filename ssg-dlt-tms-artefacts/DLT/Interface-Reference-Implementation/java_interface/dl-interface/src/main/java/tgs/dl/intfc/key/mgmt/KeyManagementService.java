@@ -26,7 +26,6 @@ import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import tgs.dl.intfc.constants.Constants;
@@ -34,26 +33,50 @@ import tgs.dl.intfc.key.mgmt.model.Key;
 import tgs.dl.intfc.key.mgmt.model.KeyConfig;
 import tgs.dl.intfc.key.mgmt.model.OrgKeyRecord;
 import tgs.dl.intfc.key.mgmt.model.TrainingPartner;
-import tgs.dl.intfc.mongodb.CollectionService;
+import tgs.dl.intfc.metrics.MetricNames;
+import tgs.dl.intfc.metrics.MetricsRegistry;
+import tgs.dl.intfc.spi.KeyManagementClient;
+import tgs.dl.intfc.spi.KeyRecordStore;
 import tgs.dl.intfc.utils.APIUtil;
 import tgs.dl.intfc.utils.DateUtil;
 import tgs.dl.intfc.utils.JsonMapper;
 import tgs.dl.intfc.utils.model.APIResponse;
 
-public class KeyManagementService {
+public class KeyManagementService implements KeyProvider {
 	private static final Logger LOGGER = LogManager.getLogger(KeyManagementService.class);
 	private static final APIUtil API_UTIL = new APIUtil();
-	private CollectionService collectionService;
+	// serializes key creation and renewal per training partner, striped so the number of locks stays fixed
+	private static final int TP_LOCK_STRIPES = 64;
+	private static final Object[] TP_LOCKS = new Object[TP_LOCK_STRIPES];
+	static {
+		for (int i = 0; i < TP_LOCK_STRIPES; i++) {
+			TP_LOCKS[i] = new Object();
+		}
+	}
+	// encryption key records by training partner code, served until validUpTo
+	private static final KeyCache KEY_CACHE = new KeyCache(Constants.KEY_STORAGE.getKeyCacheSize());
+	// decryption key records by training partner code and encrypted key, current
+	// and rotated keys alike, served for decryptKeyCacheTtl seconds
+	private static final KeyCache DECRYPT_KEY_CACHE = new KeyCache(Constants.KEY_STORAGE.getDecryptKeyCacheSize());
+	private KeyRecordStore collectionService;
 	private SecretStorageService secretsStorageService;
+	private KeyManagementClient keyManagementClient = API_UTIL;
 
 	public KeyManagementService() throws Exception {
-		collectionService = OrgKeyCollection.getCollectionService();
+		collectionService = OrgKeyCollection.getKeyRecordRepository();
 		secretsStorageService = new SecretStorageService();
 	}
 
-	public KeyManagementService(CollectionService collectionService, SecretStorageService secretsStorageService) {
+	public KeyManagementService(KeyRecordStore collectionService, SecretStorageService secretsStorageService) {
+		this.collectionService = collectionService;
+		this.secretsStorageService = secretsStorageService;
+	}
+
+	public KeyManagementService(KeyRecordStore collectionService, SecretStorageService secretsStorageService,
+			KeyManagementClient keyManagementClient) {
 		this.collectionService = collectionService;
 		this.secretsStorageService = secretsStorageService;
+		this.keyManagementClient = keyManagementClient;
 	}
 
 	/***
@@ -63,6 +86,7 @@ public class KeyManagementService {
 	 * @return KeyConfig: object that has the organisation's key record
 	 * @throws Exception
 	 */
+	@Override
 	public KeyConfig getKeyConfig(TrainingPartner tp) throws Exception {
 
 		if (tp == null) {
@@ -72,13 +96,46 @@ public class KeyManagementService {
 			throw e;
 		}
 
+		String tpCode = String.valueOf(tp.getCode());
+		KeyConfig cachedConfig = KEY_CACHE.get(tpCode);
+		if (cachedConfig != null) {
+			LOGGER.trace("getKeyConfig : key record is cached.");
+			recordCacheResult(MetricNames.ENCRYPT, true);
+			return cachedConfig;
+		}
+
+		synchronized (getTPLock(tpCode)) {
+			cachedConfig = KEY_CACHE.get(tpCode);
+			recordCacheResult(MetricNames.ENCRYPT, cachedConfig != null);
+			if (cachedConfig != null) {
+				return cachedConfig;
+			}
+
+			KeyConfig keyConfig = getKeyConfigRecord(tp);
+			if (StringUtils.isNotBlank(keyConfig.getKey().getValidUpTo())) {
+				KEY_CACHE.put(tpCode, keyConfig, DateUtil.convertToISOZoneDateTime(keyConfig.getKey().getValidUpTo()));
+			}
+			return keyConfig;
+		}
+	}
+
+	/***
+	 * Provides the key record of the organisation, creating or renewing it if
+	 * required. Callers must hold the lock of the training partner.
+	 * 
+	 * @param tp: training partner
+	 * @return KeyConfig: object that has the organisation's key record
+	 * @throws Exception
+	 */
+	private KeyConfig getKeyConfigRecord(TrainingPartner tp) throws Exception {
 		// get key config by org reference id
-		String result = collectionService.getByFieldValue(OrgKeyCollection.ORG_REFERENCE_FIELD, tp.getCode());
+		long start = System.nanoTime();
+		OrgKeyRecord orgKey = collectionService.findByTpCode(tp.getCode());
+		recordBackendTime(MetricNames.MONGODB, start);
 
-		if (StringUtils.isNotBlank(result)) {
+		if (orgKey != null) {
 			LOGGER.trace("getKeyConfig : key record exists.");
 
-			OrgKeyRecord orgKey = new JsonMapper().deserializeFromJson(result, OrgKeyRecord.class);
 			KeyConfig keyConfig = mapToKeyConfig(orgKey);
 
 			// if record exists, check validity of key
@@ -140,6 +197,7 @@ public class KeyManagementService {
 	 * @return KeyConfig: object that has the organisation's key record
 	 * @throws Exception
 	 */
+	@Override
 	public KeyConfig getDecryptedKey(TrainingPartner tp, String encryptedKey) throws Exception {
 		LOGGER.trace("getDecryptedKey : starts");
 
@@ -150,19 +208,51 @@ public class KeyManagementService {
 			throw e;
 		}
 
-		LOGGER.trace("getDecryptedKey : getByFieldValue ");
+		String cacheKey = tp.getCode() + ":" + encryptedKey;
+		KeyConfig cachedConfig = DECRYPT_KEY_CACHE.get(cacheKey);
+		if (cachedConfig != null) {
+			LOGGER.trace("getDecryptedKey : Key Record is cached.");
+			recordCacheResult(MetricNames.DECRYPT, true);
+			return cachedConfig;
+		}
 
-		String result = collectionService.getByFieldValue(OrgKeyCollection.ORG_REFERENCE_FIELD, tp.getCode());
+		synchronized (getTPLock(String.valueOf(tp.getCode()))) {
+			cachedConfig = DECRYPT_KEY_CACHE.get(cacheKey);
+			recordCacheResult(MetricNames.DECRYPT, cachedConfig != null);
+			if (cachedConfig != null) {
+				return cachedConfig;
+			}
 
-		LOGGER.trace("getDecryptedKey : result : {} ", result);
+			KeyConfig keyConfig = getDecryptedKeyRecord(tp, encryptedKey);
+			ZonedDateTime expiresAt = DateUtil.getLocalZoneDateTimeByZoneId(DateUtil.ZONE_ID_UTC)
+					.plusSeconds(Constants.KEY_STORAGE.getDecryptKeyCacheTtl());
+			DECRYPT_KEY_CACHE.put(cacheKey, keyConfig, expiresAt);
+			return keyConfig;
+		}
+	}
+
+	/***
+	 * Provides the key record used for decryption from the database when it
+	 * matches the encrypted key, otherwise from the Key Management API
+	 * 
+	 * @param tp:           training partner
+	 * @param encryptedKey: key used for payload encryption
+	 * @return KeyConfig: object that has the organisation's key record
+	 * @throws Exception
+	 */
+	private KeyConfig getDecryptedKeyRecord(TrainingPartner tp, String encryptedKey) throws Exception {
+		LOGGER.trace("getDecryptedKey : findByTpCode ");
+
+		long start = System.nanoTime();
+		OrgKeyRecord orgKey = collectionService.findByTpCode(tp.getCode());
+		recordBackendTime(MetricNames.MONGODB, start);
 
 		KeyConfig keyConfig = null;
-		if (StringUtils.isNotBlank(result)) {
-			OrgKeyRecord orgKey = new JsonMapper().deserializeFromJson(result, OrgKeyRecord.class);
+		if (orgKey != null) {
 			keyConfig = mapToKeyConfig(orgKey);
 		}
 
-		LOGGER.trace("getDecryptedKey : validate keyConfig {}" + encryptedKey);
+		LOGGER.trace("getDecryptedKey : validate keyConfig");
 		if (keyConfig != null && keyConfig.getKey().getEncryptedKey().equals(encryptedKey)) {
 			LOGGER.trace("getDecryptedKey : Key Record exists.");
 			return keyConfig;
@@ -198,7 +288,9 @@ public class KeyManagementService {
 		requestConfig.getTrainingPartner().setUen(null);
 		String request = new JsonMapper().serializeToJson(requestConfig);
 
-		APIResponse apiResponse = API_UTIL.apiPostRequest(requestURL, headerParameters, request);
+		long start = System.nanoTime();
+		APIResponse apiResponse = keyManagementClient.apiPostRequest(requestURL, headerParameters, request);
+		recordBackendTime(MetricNames.KEY_API, start);
 
 		if (apiResponse.getStatus() == HttpStatus.SC_OK) {
 			String response = apiResponse.getResult(); 
@@ -239,8 +331,10 @@ public class KeyManagementService {
 	 */
 	private boolean refreshKeyRecord(KeyConfig newConfig, boolean isUpdate){
 
+		long start = System.nanoTime();
 		boolean hasUpdatedSecretStorage = secretsStorageService
 				.updateKeyToSecretStorage(newConfig.getTrainingPartner().getCode(), newConfig.getKey().getPlainKey());
+		recordBackendTime(MetricNames.SECRETS_MANAGER, start);
 		boolean hasUpdatedDB = updateKeyRecordToDB(newConfig, isUpdate);
 		return (hasUpdatedSecretStorage && hasUpdatedDB);
 	}
@@ -252,23 +346,21 @@ public class KeyManagementService {
 	 * @param isUpdate:  true if operation is for update, false if operation is for
 	 *                   create
 	 * @return true if update/create is successful
-	 * @throws JsonProcessingException
 	 */
 	private boolean updateKeyRecordToDB(KeyConfig newConfig, boolean isUpdate) {
+		long start = System.nanoTime();
 		try {
 			OrgKeyRecord orgKeyRecord = mapToOrgKeyRecord(newConfig);
 
 			if (isUpdate) {
-				String jsonString = collectionService.updateByFieldValue(OrgKeyCollection.ORG_REFERENCE_FIELD,
-						orgKeyRecord.getTpCode(), new JsonMapper().serializeToJson(orgKeyRecord));
-				return (jsonString != null);
+				return collectionService.replace(orgKeyRecord);
 			} else {
-				return collectionService.create(new JsonMapper().serializeToJson(orgKeyRecord));
+				return collectionService.create(orgKeyRecord);
 			}
-		} catch (JsonProcessingException e) {
-			LOGGER.error("updateKeyRecordToDB : ", e);
 		} catch (Exception e) {
 			LOGGER.error("updateKeyRecordToDB : ", e);
+		} finally {
+			recordBackendTime(MetricNames.MONGODB, start);
 		}
 		return false;
 	}
@@ -296,7 +388,9 @@ public class KeyManagementService {
 	private KeyConfig mapToKeyConfig(OrgKeyRecord orgKey) throws NumberFormatException, Exception {
 		TrainingPartner tp = new TrainingPartner(orgKey.getTpUen(), orgKey.getTpCode());
 
+		long start = System.nanoTime();
 		char[] plainKey = secretsStorageService.getKeyFromSecretStorage(orgKey.getTpCode());
+		recordBackendTime(MetricNames.SECRETS_MANAGER, start);
 
 		if (plainKey == null) {
 			String msg = "Error in getKeyFromSecretStorage : Plain Key does not exist from Secrets Storage of Reference = "
@@ -311,4 +405,18 @@ public class KeyManagementService {
 		return new KeyConfig(tp, key);
 	}
 
+	private static Object getTPLock(String tpCode) {
+		int hash = tpCode.hashCode();
+		return TP_LOCKS[(hash ^ (hash >>> 16)) & (TP_LOCK_STRIPES - 1)];
+	}
+
+	private static void recordCacheResult(String cache, boolean isHit) {
+		MetricsRegistry.getMetrics().increment(MetricNames.KEY_CACHE, MetricNames.TAG_CACHE, cache,
+				MetricNames.TAG_RESULT, isHit ? MetricNames.HIT : MetricNames.MISS);
+	}
+
+	private static void recordBackendTime(String backend, long start) {
+		MetricsRegistry.getMetrics().recordTimeSince(MetricNames.KEY_BACKEND, start, MetricNames.TAG_BACKEND, backend);
+	}
+
 }
@@ -0,0 +1,49 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.key.mgmt;
+
+import tgs.dl.intfc.key.mgmt.model.KeyConfig;
+import tgs.dl.intfc.key.mgmt.model.TrainingPartner;
+
+/***
+ * Source of the data keys of the training partners
+ * 
+ * The plain key of the returned KeyConfig is cleared by the caller after use,
+ * implementations must return a new array on every call.
+ */
+public interface KeyProvider {
+
+	/***
+	 * Provides the key record of the organisation used for encryption
+	 * 
+	 * @param tp: training partner
+	 * @return KeyConfig: object that has the organisation's key record
+	 * @throws Exception
+	 */
+	KeyConfig getKeyConfig(TrainingPartner tp) throws Exception;
+
+	/***
+	 * Provides the key record of the organisation used for decryption
+	 * 
+	 * @param tp:           training partner
+	 * @param encryptedKey: key used for payload encryption
+	 * @return KeyConfig: object that has the organisation's key record
+	 * @throws Exception
+	 */
+	KeyConfig getDecryptedKey(TrainingPartner tp, String encryptedKey) throws Exception;
+
+}
@@ -24,23 +24,35 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 
 import tgs.dl.intfc.constants.Constants;
-import tgs.dl.intfc.mongodb.CollectionService;
+import tgs.dl.intfc.mongodb.KeyRecordRepository;
 import tgs.dl.intfc.mongodb.MongoDBClient;
+import tgs.dl.intfc.mongodb.OrgKeyRecordCodec;
 
 public class OrgKeyCollection {
 	private static final Logger LOGGER = LogManager.getLogger(OrgKeyCollection.class);
-	protected static final String ORG_REFERENCE_FIELD = "tpCode";
-	protected static final String ENCRYPTED_KEY_FIELD = "encryptedKey";
+	protected static final String ORG_REFERENCE_FIELD = OrgKeyRecordCodec.TP_CODE_FIELD;
+	protected static final String ENCRYPTED_KEY_FIELD = OrgKeyRecordCodec.ENCRYPTED_KEY_FIELD;
 	
-	protected static CollectionService getCollectionService() {
-		try {
-			final MongoDatabase db = MongoDBClient.getMongoClient().getDatabase(Constants.KEY_STORAGE.getKeyDB());
-			final MongoCollection<Document> keyConfigCollection = db
-					.getCollection(Constants.KEY_STORAGE.getKeyCollection());
-			return new CollectionService(keyConfigCollection);
-		} catch (Exception e) {
-			LOGGER.error("getCollectionService : ", e);
-			throw(e);
+	// shared so that the index is created once
+	private static volatile KeyRecordRepository keyRecordRepository;
+	
+	protected static KeyRecordRepository getKeyRecordRepository() {
+		if (keyRecordRepository == null) {
+			synchronized (OrgKeyCollection.class) {
+				if (keyRecordRepository == null) {
+					try {
+						final MongoDatabase db = MongoDBClient.getMongoClient()
+								.getDatabase(Constants.KEY_STORAGE.getKeyDB());
+						final MongoCollection<Document> keyConfigCollection = db
+								.getCollection(Constants.KEY_STORAGE.getKeyCollection());
+						keyRecordRepository = new KeyRecordRepository(keyConfigCollection);
+					} catch (Exception e) {
+						LOGGER.error("getKeyRecordRepository : ", e);
+						throw(e);
+					}
+				}
+			}
 		}
+		return keyRecordRepository;
 	}
 }
@@ -23,15 +23,20 @@ import tgs.dl.intfc.aws.AWSClient;
 import tgs.dl.intfc.aws.SecretsMgrService;
 import tgs.dl.intfc.config.model.SecretKVPair;
 import tgs.dl.intfc.constants.Constants;
+import tgs.dl.intfc.spi.SecretStore;
 import tgs.dl.intfc.utils.JsonMapper;
 
 public class SecretStorageService {
 	private static final Logger LOGGER = LogManager.getLogger(KeyManagementService.class);
 
-	private SecretsMgrService secretsMgrService;
+	private SecretStore secretsMgrService;
 
 	public SecretStorageService() throws Exception {
-		secretsMgrService = new SecretsMgrService(new AWSClient().getSecretsMgrClient());
+		secretsMgrService = new SecretsMgrService(AWSClient.getInstance().getSecretsMgrClient());
+	}
+
+	public SecretStorageService(SecretStore secretsMgrService) {
+		this.secretsMgrService = secretsMgrService;
 	}
 
 	/***
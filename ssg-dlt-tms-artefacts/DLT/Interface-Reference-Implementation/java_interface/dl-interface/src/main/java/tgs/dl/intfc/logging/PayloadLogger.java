@@ -0,0 +1,119 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.logging;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import tgs.dl.intfc.config.model.LoggingProperties;
+import tgs.dl.intfc.constants.Constants;
+
+/***
+ * Logs request and response payloads of the hot path at trace level
+ * 
+ * Each category has its own logger, tgs.dl.intfc.payload.{category}, so that
+ * the level is set per category in log4j2.properties. Payloads are sampled
+ * with the sample rate of the category, and are redacted and truncated to
+ * maxPayloadLength only if they are logged. Nothing is allocated while trace
+ * is disabled.
+ */
+public class PayloadLogger {
+	public static final String LOGGER_PREFIX = "tgs.dl.intfc.payload.";
+
+	// categories
+	public static final String WRITE = "write";
+	public static final String READ = "read";
+
+	private final Logger logger;
+	private final String category;
+	private final LoggingProperties properties;
+	private volatile PayloadPolicy policy;
+
+	/***
+	 * @param category   : payload category
+	 * @param properties : logging properties, null to use the external
+	 *                   configuration
+	 */
+	public PayloadLogger(String category, LoggingProperties properties) {
+		this.logger = LogManager.getLogger(LOGGER_PREFIX + category);
+		this.category = category;
+		this.properties = properties;
+	}
+
+	/***
+	 * @param category : payload category
+	 * @return PayloadLogger of the category with the external configuration
+	 */
+	public static PayloadLogger getLogger(String category) {
+		return new PayloadLogger(category, null);
+	}
+
+	/***
+	 * @return boolean : true if payloads of the category are logged
+	 */
+	public boolean isEnabled() {
+		return logger.isTraceEnabled();
+	}
+
+	/***
+	 * Logs a sample of the payloads
+	 * 
+	 * @param message : message with a {} for the payload
+	 * @param payload : JSON text or object whose toString is JSON
+	 */
+	public void trace(String message, Object payload) {
+		if (logger.isTraceEnabled()) {
+			PayloadPolicy payloadPolicy = getPolicy();
+			if (payloadPolicy.sample()) {
+				logger.trace(message, new PayloadMessage(payload, payloadPolicy));
+			}
+		}
+	}
+
+	/***
+	 * Logs a sample of the payloads
+	 * 
+	 * @param message : message with a {} for the payload and one for the value
+	 * @param payload : JSON text or object whose toString is JSON
+	 * @param value   : value that is logged as is
+	 */
+	public void trace(String message, Object payload, Object value) {
+		if (logger.isTraceEnabled()) {
+			PayloadPolicy payloadPolicy = getPolicy();
+			if (payloadPolicy.sample()) {
+				logger.trace(message, new PayloadMessage(payload, payloadPolicy), value);
+			}
+		}
+	}
+
+	/***
+	 * Reads the external configuration on first use, so that it is not loaded
+	 * while trace is disabled
+	 */
+	private PayloadPolicy getPolicy() {
+		PayloadPolicy payloadPolicy = policy;
+		if (payloadPolicy == null) {
+			LoggingProperties loggingProperties = properties != null ? properties : Constants.LOGGING_PROPERTIES;
+			payloadPolicy = new PayloadPolicy(category,
+					loggingProperties != null ? loggingProperties : new LoggingProperties());
+			policy = payloadPolicy;
+		}
+		return payloadPolicy;
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import tgs.dl.intfc.config.model.LoggingProperties;
+
+/***
+ * Sampling, truncation and redaction of the payloads of a category
+ */
+final class PayloadPolicy {
+	private final int sampleRate;
+	private final int maxLength;
+	private final PayloadRedactor redactor;
+
+	PayloadPolicy(String category, LoggingProperties properties) {
+		this.sampleRate = properties.getSampleRate(category);
+		this.maxLength = properties.getMaxPayloadLength();
+		this.redactor = new PayloadRedactor(properties.getRedactedFields());
+	}
+
+	/***
+	 * Samples one in sampleRate payloads, without shared state between the
+	 * request threads
+	 * 
+	 * @return boolean : true if the payload is to be logged
+	 */
+	boolean sample() {
+		return sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+	}
+
+	/***
+	 * @param payload
+	 * @return String of the redacted and truncated payload
+	 */
+	String format(Object payload) {
+		if (payload == null) {
+			return "null";
+		}
+		CharSequence text = payload instanceof CharSequence ? (CharSequence) payload : payload.toString();
+		return redactor.redact(text, maxLength);
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/***
+ * Masks the values of sensitive fields in JSON text and truncates it
+ * 
+ * The text is scanned without parsing it, so that malformed or truncated JSON
+ * is still redacted. Field names are matched in the document and in JSON that
+ * is embedded as a string value of the document, e.g. the formatted request in
+ * the arguments of a chaincode payload. Values are masked whatever their type.
+ * Instances are immutable and thread-safe.
+ */
+public class PayloadRedactor {
+	public static final String MASK = "\"***\"";
+	private static final String ESCAPED_QUOTE = "\\\"";
+	private static final String ESCAPED_MASK = "\\\"***\\\"";
+
+	private final String[] fieldNames;
+
+	/***
+	 * @param fieldNames : names of the fields whose values are masked
+	 */
+	public PayloadRedactor(List<String> fieldNames) {
+		List<String> names = new ArrayList<>();
+		if (fieldNames != null) {
+			for (String fieldName : fieldNames) {
+				if (fieldName != null && !fieldName.isEmpty()) {
+					names.add(fieldName);
+				}
+			}
+		}
+		this.fieldNames = names.toArray(new String[0]);
+	}
+
+	/***
+	 * Masks the values of the fields and truncates the text
+	 * 
+	 * The scan stops once maxLength characters are written, so the cost is
+	 * bounded by maxLength and the length of the masked values.
+	 * 
+	 * @param text      : JSON text
+	 * @param maxLength : maximum number of characters to keep, 0 or less to keep
+	 *                  all
+	 * @return String of the redacted text
+	 */
+	public String redact(CharSequence text, int maxLength) {
+		int length = text.length();
+		int limit = maxLength > 0 ? maxLength : Integer.MAX_VALUE;
+		StringBuilder builder = new StringBuilder(Math.min(length, limit) + 32);
+
+		int i = 0;
+		while (i < length && builder.length() < limit) {
+			char c = text.charAt(i);
+			if (c == '"' && fieldNames.length > 0) {
+				boolean isEscaped = i > 0 && text.charAt(i - 1) == '\\';
+				int valueStart = getValueStart(text, i + 1, isEscaped);
+				if (valueStart > 0) {
+					builder.append(text, i, valueStart).append(isEscaped ? ESCAPED_MASK : MASK);
+					i = getValueEnd(text, valueStart, isEscaped);
+					continue;
+				}
+			}
+			builder.append(c);
+			i++;
+		}
+
+		if (i < length) {
+			builder.append("...(").append(length - i).append(" more characters)");
+		}
+		return builder.toString();
+	}
+
+	/***
+	 * Matches a redacted field name at the position
+	 * 
+	 * @return int : position of the value of the field, -1 if no field matches
+	 */
+	private int getValueStart(CharSequence text, int position, boolean isEscaped) {
+		for (String fieldName : fieldNames) {
+			if (!regionMatches(text, position, fieldName)) {
+				continue;
+			}
+
+			int i = position + fieldName.length();
+			String quote = isEscaped ? ESCAPED_QUOTE : "\"";
+			if (!regionMatches(text, i, quote)) {
+				continue;
+			}
+			i = skipWhitespace(text, i + quote.length());
+			if (i >= text.length() || text.charAt(i) != ':') {
+				continue;
+			}
+			i = skipWhitespace(text, i + 1);
+			if (i < text.length()) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/***
+	 * Finds the end of the value at the position
+	 * 
+	 * @return int : position after the value
+	 */
+	private static int getValueEnd(CharSequence text, int position, boolean isEscaped) {
+		int length = text.length();
+		char c = text.charAt(position);
+
+		if (!isEscaped && c == '"') {
+			for (int i = position + 1; i < length; i++) {
+				char next = text.charAt(i);
+				if (next == '\\') {
+					i++;
+				} else if (next == '"') {
+					return i + 1;
+				}
+			}
+			return length;
+		}
+
+		if (isEscaped && regionMatches(text, position, ESCAPED_QUOTE)) {
+			// a quote of the embedded value is escaped twice
+			for (int i = position + 2; i < length; i++) {
+				if (regionMatches(text, i, "\\\\\\\"") || regionMatches(text, i, "\\\\\\\\")) {
+					i += 3;
+				} else if (regionMatches(text, i, ESCAPED_QUOTE)) {
+					return i + 2;
+				}
+			}
+			return length;
+		}
+
+		if (c == '[' || c == '{') {
+			int depth = 0;
+			for (int i = position; i < length; i++) {
+				char next = text.charAt(i);
+				if (next == '[' || next == '{') {
+					depth++;
+				} else if ((next == ']' || next == '}') && --depth == 0) {
+					return i + 1;
+				}
+			}
+			return length;
+		}
+
+		int i = position;
+		while (i < length && ",}]\\ \t\r\n".indexOf(text.charAt(i)) < 0) {
+			i++;
+		}
+		return i;
+	}
+
+	private static int skipWhitespace(CharSequence text, int position) {
+		int i = position;
+		while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean regionMatches(CharSequence text, int position, String region) {
+		if (position + region.length() > text.length()) {
+			return false;
+		}
+		for (int i = 0; i < region.length(); i++) {
+			if (text.charAt(position + i) != region.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.metrics;
+
+/***
+ * Names and tags of the metrics recorded by the interface
+ * 
+ * Names are dot separated, metrics backends convert them to their own naming
+ * convention, e.g. dl.sqs.send becomes dl_sqs_send_seconds in Prometheus.
+ */
+public class MetricNames {
+
+	// timers
+	public static final String GATEWAY_WRITE = "dl.gateway.write";
+	public static final String GATEWAY_READ = "dl.gateway.read";
+	public static final String SCHEMA_VALIDATION = "dl.schema.validation";
+	public static final String FORMAT_REQUEST = "dl.format.request";
+	public static final String FORMAT_RESPONSE = "dl.format.response";
+	public static final String KEY_LOOKUP = "dl.key.lookup";
+	public static final String KEY_BACKEND = "dl.key.backend";
+	public static final String CIPHER = "dl.cipher";
+	public static final String SERIALIZATION = "dl.serialization";
+	public static final String SQS_SEND = "dl.sqs.send";
+	public static final String LAMBDA_INVOKE = "dl.lambda.invoke";
+	public static final String JOURNAL_APPEND = "dl.journal.append";
+	public static final String JOURNAL_SHIP = "dl.journal.ship";
+
+	// counters
+	public static final String KEY_CACHE = "dl.key.cache";
+	public static final String AWS_RETRIES = "dl.aws.retries";
+	public static final String JOURNAL_RETRIES = "dl.journal.retries";
+	public static final String JOURNAL_DEAD_LETTERS = "dl.journal.deadLetters";
+
+	// sizes
+	public static final String PAYLOAD_BYTES = "dl.payload.bytes";
+	public static final String WRITE_BATCH_SIZE = "dl.write.batch.size";
+
+	// gauges
+	public static final String JOURNAL_PENDING = "dl.journal.pending";
+
+	// tags
+	public static final String TAG_RESULT = "result";
+	public static final String TAG_OPERATION = "operation";
+	public static final String TAG_MODE = "mode";
+	public static final String TAG_CACHE = "cache";
+	public static final String TAG_BACKEND = "backend";
+	public static final String TAG_SERVICE = "service";
+	public static final String TAG_STAGE = "stage";
+
+	// tag values
+	public static final String SUCCESS = "success";
+	public static final String ERROR = "error";
+	public static final String HIT = "hit";
+	public static final String MISS = "miss";
+	public static final String WRITE = "write";
+	public static final String READ = "read";
+	public static final String ENCRYPT = "encrypt";
+	public static final String DECRYPT = "decrypt";
+	public static final String SINGLE = "single";
+	public static final String BATCH = "batch";
+	public static final String ASYNC = "async";
+	public static final String MONGODB = "mongodb";
+	public static final String SECRETS_MANAGER = "secretsManager";
+	public static final String KEY_API = "keyApi";
+	public static final String SQS = "sqs";
+	public static final String LAMBDA = "lambda";
+	public static final String PLAIN = "plain";
+	public static final String ENCRYPTED = "encrypted";
+	public static final String MESSAGE = "message";
+	public static final String RESPONSE = "response";
+
+	/***
+	 * @param isSuccess
+	 * @return SUCCESS or ERROR
+	 */
+	public static String result(boolean isSuccess) {
+		return isSuccess ? SUCCESS : ERROR;
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/***
+ * Facade of the metrics backend
+ * 
+ * The interface records the duration of each stage of a request, counts events
+ * such as cache hits and retries, records sizes such as payload bytes, and
+ * reads gauges such as the records pending in the journal.
+ * Tags are given as name and value pairs and must have a small set of values.
+ * Implementations must be thread-safe, the default is NoOpMetrics, see
+ * MetricsRegistry to plug in another one.
+ */
+public interface Metrics {
+
+	/***
+	 * Records the duration of a stage
+	 * 
+	 * @param name  : metric name, see MetricNames
+	 * @param nanos : duration in nanoseconds
+	 * @param tags  : tag name and value pairs
+	 */
+	void recordTime(String name, long nanos, String... tags);
+
+	/***
+	 * Records the duration of a stage that started at startNanos
+	 * 
+	 * @param name       : metric name, see MetricNames
+	 * @param startNanos : System.nanoTime() at the start of the stage
+	 * @param tags       : tag name and value pairs
+	 */
+	default void recordTimeSince(String name, long startNanos, String... tags) {
+		recordTime(name, System.nanoTime() - startNanos, tags);
+	}
+
+	/***
+	 * Counts an event
+	 * 
+	 * @param name : metric name, see MetricNames
+	 * @param tags : tag name and value pairs
+	 */
+	void increment(String name, String... tags);
+
+	/***
+	 * Records a size, e.g. a number of bytes or records
+	 * 
+	 * @param name : metric name, see MetricNames
+	 * @param size
+	 * @param tags : tag name and value pairs
+	 */
+	void recordSize(String name, long size, String... tags);
+
+	/***
+	 * Registers a gauge, its value is read when the metrics are published. A
+	 * gauge registered again with the same name and tags replaces the value.
+	 * 
+	 * @param name  : metric name, see MetricNames
+	 * @param value : current value, must be cheap and thread-safe
+	 * @param tags  : tag name and value pairs
+	 */
+	void gauge(String name, DoubleSupplier value, String... tags);
+
+}
@@ -0,0 +1,48 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.metrics;
+
+/***
+ * Process wide holder of the Metrics
+ * 
+ * Instrumented classes look the Metrics up on every record, so an
+ * implementation set after they are loaded, e.g. by the application once its
+ * registry is ready, is used from then on.
+ */
+public final class MetricsRegistry {
+
+	private static volatile Metrics metrics = NoOpMetrics.INSTANCE;
+
+	private MetricsRegistry() {
+	}
+
+	/***
+	 * @return the Metrics in use, NoOpMetrics if none is set
+	 */
+	public static Metrics getMetrics() {
+		return metrics;
+	}
+
+	/***
+	 * @param newMetrics : Metrics to use, null to record nothing
+	 */
+	public static void setMetrics(Metrics newMetrics) {
+		metrics = newMetrics != null ? newMetrics : NoOpMetrics.INSTANCE;
+	}
+
+}
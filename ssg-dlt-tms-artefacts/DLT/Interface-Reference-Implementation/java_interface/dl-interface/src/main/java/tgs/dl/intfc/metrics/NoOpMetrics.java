@@ -0,0 +1,48 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/***
+ * Metrics that records nothing, used until another implementation is set
+ */
+public final class NoOpMetrics implements Metrics {
+
+	public static final NoOpMetrics INSTANCE = new NoOpMetrics();
+
+	private NoOpMetrics() {
+	}
+
+	@Override
+	public void recordTime(String name, long nanos, String... tags) {
+	}
+
+	@Override
+	public void increment(String name, String... tags) {
+	}
+
+	@Override
+	public void recordSize(String name, long size, String... tags) {
+	}
+
+	@Override
+	public void gauge(String name, DoubleSupplier value, String... tags) {
+	}
+
+}
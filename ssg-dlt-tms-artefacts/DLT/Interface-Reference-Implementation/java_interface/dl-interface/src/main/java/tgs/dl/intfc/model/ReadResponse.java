@@ -0,0 +1,78 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/***
+ * Result of a read, the decrypted records in data and the remaining fields of
+ * the chaincode result as properties
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReadResponse {
+
+	private Map<String, JsonNode> properties = new LinkedHashMap<>();
+	private List<RequestData> data;
+
+	public ReadResponse() {
+		super();
+	}
+
+	/**
+	 * @return the properties
+	 */
+	@JsonAnyGetter
+	public Map<String, JsonNode> getProperties() {
+		return properties;
+	}
+
+	/**
+	 * @param name  the name of the property to set
+	 * @param value the value of the property to set
+	 */
+	@JsonAnySetter
+	public void setProperty(String name, JsonNode value) {
+		this.properties.put(name, value);
+	}
+
+	/**
+	 * @return the data
+	 */
+	public List<RequestData> getData() {
+		return data;
+	}
+
+	/**
+	 * @param data the data to set
+	 */
+	public void setData(List<RequestData> data) {
+		this.data = data;
+	}
+
+	@Override
+	public String toString() {
+		return "ReadResponse [properties=" + properties + ", data=" + data + "]";
+	}
+
+}
@@ -27,6 +27,7 @@ public class RequestData{
 	JsonNode payload;
 	JsonNode publicPayload;
 	JsonNode dltData;
+	String error;
 	
 	public RequestData() {
 		super();
@@ -94,10 +95,24 @@ public class RequestData{
 		this.payload = payload;
 	}
 
+	/**
+	 * @return the error, set when the record could not be decrypted
+	 */
+	public String getError() {
+		return error;
+	}
+
+	/**
+	 * @param error the error to set
+	 */
+	public void setError(String error) {
+		this.error = error;
+	}
+
 	@Override
 	public String toString() {
 		return "RequestData [header=" + header + ", payload=" + payload + ", publicPayload=" + publicPayload
-				+ ", dltData=" + dltData + "]";
+				+ ", dltData=" + dltData + ", error=" + error + "]";
 	}
 	
 }
\ No newline at end of file
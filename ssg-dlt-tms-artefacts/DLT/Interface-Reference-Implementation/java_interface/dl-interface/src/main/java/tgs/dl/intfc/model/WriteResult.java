@@ -0,0 +1,114 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.model;
+
+public class WriteResult {
+	private int index;
+	private boolean success;
+	private String messageId;
+	private String message;
+	private boolean senderFault;
+
+	public WriteResult() {
+		super();
+	}
+
+	/**
+	 * @param index position of the event in the batch
+	 */
+	public WriteResult(int index) {
+		super();
+		this.index = index;
+	}
+
+	/**
+	 * @return the index
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * @param index the index to set
+	 */
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	/**
+	 * @return the success
+	 */
+	public boolean isSuccess() {
+		return success;
+	}
+
+	/**
+	 * @param success the success to set
+	 */
+	public void setSuccess(boolean success) {
+		this.success = success;
+	}
+
+	/**
+	 * @return the messageId
+	 */
+	public String getMessageId() {
+		return messageId;
+	}
+
+	/**
+	 * @param messageId the messageId to set
+	 */
+	public void setMessageId(String messageId) {
+		this.messageId = messageId;
+	}
+
+	/**
+	 * @return the message
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @param message the message to set
+	 */
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	/**
+	 * @return true if the message is rejected and fails again when it is resent
+	 */
+	public boolean isSenderFault() {
+		return senderFault;
+	}
+
+	/**
+	 * @param senderFault the senderFault to set
+	 */
+	public void setSenderFault(boolean senderFault) {
+		this.senderFault = senderFault;
+	}
+
+	@Override
+	public String toString() {
+		return "WriteResult [index=" + index + ", success=" + success + ", messageId=" + messageId + ", message="
+				+ message + ", senderFault=" + senderFault + "]";
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.mongodb;
+
+import static com.mongodb.client.model.Filters.eq;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import com.mongodb.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+
+import tgs.dl.intfc.key.mgmt.model.OrgKeyRecord;
+import tgs.dl.intfc.spi.KeyRecordStore;
+
+/***
+ * Key records of the organisations in a MongoDB collection
+ * 
+ * Records are decoded into OrgKeyRecord by OrgKeyRecordCodec, reading only the
+ * fields of OrgKeyRecord. The index on the training partner code is created
+ * when the repository is created, creating an existing index has no effect.
+ */
+public class KeyRecordRepository implements KeyRecordStore {
+	private static final Logger LOGGER = LogManager.getLogger(KeyRecordRepository.class);
+
+	public static final String TP_CODE_INDEX = "tpCode_1";
+
+	private static final CodecRegistry CODEC_REGISTRY = CodecRegistries.fromRegistries(
+			CodecRegistries.fromCodecs(new OrgKeyRecordCodec()), MongoClient.getDefaultCodecRegistry());
+	private static final Bson PROJECTION = Projections.fields(Projections.excludeId(),
+			Projections.include(OrgKeyRecordCodec.TP_UEN_FIELD, OrgKeyRecordCodec.TP_CODE_FIELD,
+					OrgKeyRecordCodec.ENCRYPTED_KEY_FIELD, OrgKeyRecordCodec.NUMBER_OF_BYTES_FIELD,
+					OrgKeyRecordCodec.VALID_UP_TO_FIELD));
+
+	private final MongoCollection<OrgKeyRecord> collection;
+
+	public KeyRecordRepository(MongoCollection<Document> collection) {
+		this.collection = collection.withDocumentClass(OrgKeyRecord.class).withCodecRegistry(CODEC_REGISTRY);
+		createIndex();
+	}
+
+	@Override
+	public OrgKeyRecord findByTpCode(String tpCode) {
+		try {
+			return collection.find(eq(OrgKeyRecordCodec.TP_CODE_FIELD, tpCode)).projection(PROJECTION).first();
+		} catch (Exception e) {
+			LOGGER.error("findByTpCode : ", e);
+		}
+		return null;
+	}
+
+	@Override
+	public boolean replace(OrgKeyRecord keyRecord) {
+		try {
+			Bson filter = eq(OrgKeyRecordCodec.TP_CODE_FIELD, keyRecord.getTpCode());
+			return collection.replaceOne(filter, keyRecord).getMatchedCount() > 0;
+		} catch (Exception e) {
+			LOGGER.error("replace : ", e);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean create(OrgKeyRecord keyRecord) {
+		try {
+			collection.insertOne(keyRecord);
+			return true;
+		} catch (Exception e) {
+			LOGGER.error("create : ", e);
+		}
+		return false;
+	}
+
+	/***
+	 * Creates the index on the training partner code, records are still found
+	 * without the index if it cannot be created
+	 */
+	private void createIndex() {
+		try {
+			collection.createIndex(Indexes.ascending(OrgKeyRecordCodec.TP_CODE_FIELD),
+					new IndexOptions().name(TP_CODE_INDEX).background(true));
+		} catch (Exception e) {
+			LOGGER.error("createIndex : ", e);
+		}
+	}
+
+}
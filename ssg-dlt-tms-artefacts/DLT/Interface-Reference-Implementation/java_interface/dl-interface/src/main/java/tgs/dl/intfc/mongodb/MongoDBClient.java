@@ -20,25 +20,47 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.mongodb.MongoClient;
+import com.mongodb.MongoClientOptions;
 import com.mongodb.MongoClientURI;
 import com.mongodb.MongoException;
 
+import tgs.dl.intfc.config.model.KeyStorage;
 import tgs.dl.intfc.constants.Constants;
 
 public class MongoDBClient {
 	private static final Logger LOGGER = LogManager.getLogger(MongoDBClient.class);
 
-	private static MongoClient mongoClient;
+	// a single client is shared, it is thread-safe and pools its connections
+	private static volatile MongoClient mongoClient;
 
 	public static MongoClient getMongoClient() {
 		if (mongoClient == null) {
-			try {
-				mongoClient = new MongoClient(new MongoClientURI(Constants.KEY_STORAGE.getUri()));
-			} catch (MongoException e) {
-				LOGGER.error("getMongoClient : ", e);
-				throw (e);
+			synchronized (MongoDBClient.class) {
+				if (mongoClient == null) {
+					try {
+						mongoClient = new MongoClient(new MongoClientURI(Constants.KEY_STORAGE.getUri(),
+								getClientOptions(Constants.KEY_STORAGE)));
+					} catch (MongoException e) {
+						LOGGER.error("getMongoClient : ", e);
+						throw (e);
+					}
+				}
 			}
 		}
 		return mongoClient;
 	}
+
+	/***
+	 * Connection pool settings of the key storage, options of the uri take
+	 * precedence
+	 * 
+	 * @param keyStorage
+	 * @return MongoClientOptions.Builder
+	 */
+	public static MongoClientOptions.Builder getClientOptions(KeyStorage keyStorage) {
+		return MongoClientOptions.builder().connectionsPerHost(keyStorage.getMaxConnections())
+				.minConnectionsPerHost(keyStorage.getMinConnections()).maxWaitTime(keyStorage.getMaxWaitTime())
+				.connectTimeout(keyStorage.getConnectTimeout()).socketTimeout(keyStorage.getSocketTimeout())
+				.maxConnectionIdleTime(keyStorage.getMaxConnectionIdleTime());
+	}
 }
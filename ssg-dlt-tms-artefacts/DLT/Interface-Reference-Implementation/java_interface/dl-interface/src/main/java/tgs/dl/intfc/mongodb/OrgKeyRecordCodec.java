@@ -0,0 +1,103 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.mongodb;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import tgs.dl.intfc.key.mgmt.model.OrgKeyRecord;
+
+/***
+ * Reads and writes key records as BSON documents, without a JSON round trip
+ * 
+ * The field names are those of the documents written by earlier versions.
+ * Fields that are not part of OrgKeyRecord, e.g. _id, and non string values
+ * are skipped.
+ */
+public class OrgKeyRecordCodec implements Codec<OrgKeyRecord> {
+	public static final String TP_UEN_FIELD = "tpUen";
+	public static final String TP_CODE_FIELD = "tpCode";
+	public static final String ENCRYPTED_KEY_FIELD = "encryptedKey";
+	public static final String NUMBER_OF_BYTES_FIELD = "numberOfBytes";
+	public static final String VALID_UP_TO_FIELD = "validUpTo";
+
+	@Override
+	public void encode(BsonWriter writer, OrgKeyRecord keyRecord, EncoderContext encoderContext) {
+		writer.writeStartDocument();
+		writeString(writer, TP_UEN_FIELD, keyRecord.getTpUen());
+		writeString(writer, TP_CODE_FIELD, keyRecord.getTpCode());
+		writeString(writer, ENCRYPTED_KEY_FIELD, keyRecord.getEncryptedKey());
+		writeString(writer, NUMBER_OF_BYTES_FIELD, keyRecord.getNumberOfBytes());
+		writeString(writer, VALID_UP_TO_FIELD, keyRecord.getValidUpTo());
+		writer.writeEndDocument();
+	}
+
+	@Override
+	public OrgKeyRecord decode(BsonReader reader, DecoderContext decoderContext) {
+		OrgKeyRecord keyRecord = new OrgKeyRecord();
+
+		reader.readStartDocument();
+		while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+			String name = reader.readName();
+			if (reader.getCurrentBsonType() != BsonType.STRING) {
+				reader.skipValue();
+				continue;
+			}
+
+			switch (name) {
+			case TP_UEN_FIELD:
+				keyRecord.setTpUEN(reader.readString());
+				break;
+			case TP_CODE_FIELD:
+				keyRecord.setTpCode(reader.readString());
+				break;
+			case ENCRYPTED_KEY_FIELD:
+				keyRecord.setEncryptedKey(reader.readString());
+				break;
+			case NUMBER_OF_BYTES_FIELD:
+				keyRecord.setNumberOfBytes(reader.readString());
+				break;
+			case VALID_UP_TO_FIELD:
+				keyRecord.setValidUpTo(reader.readString());
+				break;
+			default:
+				reader.skipValue();
+			}
+		}
+		reader.readEndDocument();
+		return keyRecord;
+	}
+
+	@Override
+	public Class<OrgKeyRecord> getEncoderClass() {
+		return OrgKeyRecord.class;
+	}
+
+	private static void writeString(BsonWriter writer, String name, String value) {
+		if (value == null) {
+			writer.writeNull(name);
+		} else {
+			writer.writeString(name, value);
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.spi;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/***
+ * Invocation of the chaincode function of the DLT reads, implemented by
+ * LambdaService
+ */
+public interface ChaincodeInvoker {
+
+	/***
+	 * @param lambdaFunction : Function Name
+	 * @param payload        : Payload
+	 * @return result of the call
+	 */
+	default String invokeLambda(String lambdaFunction, String payload) {
+		ByteBuffer byteBuf = invokeLambdaPayload(lambdaFunction, payload);
+		return byteBuf != null ? StandardCharsets.UTF_8.decode(byteBuf).toString() : null;
+	}
+
+	/***
+	 * @param lambdaFunction : Function Name
+	 * @param payload        : Payload
+	 * @return undecoded result of the call
+	 */
+	ByteBuffer invokeLambdaPayload(String lambdaFunction, String payload);
+
+	/***
+	 * Invokes the function without blocking the caller
+	 * 
+	 * @param lambdaFunction : Function Name
+	 * @param payload        : Payload
+	 * @return CompletableFuture : completes with the result of the call
+	 */
+	default CompletableFuture<String> invokeLambdaAsync(String lambdaFunction, String payload) {
+		return invokeLambdaPayloadAsync(lambdaFunction, payload).thenApply(
+				byteBuf -> byteBuf != null ? StandardCharsets.UTF_8.decode(byteBuf).toString() : null);
+	}
+
+	/***
+	 * Invokes the function without blocking the caller
+	 * 
+	 * @param lambdaFunction : Function Name
+	 * @param payload        : Payload
+	 * @return CompletableFuture : completes with the undecoded result of the call
+	 */
+	CompletableFuture<ByteBuffer> invokeLambdaPayloadAsync(String lambdaFunction, String payload);
+
+}
@@ -0,0 +1,41 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.spi;
+
+import java.util.Map;
+
+import tgs.dl.intfc.utils.model.APIResponse;
+
+/***
+ * HTTP client of the Key Management API, implemented by APIUtil
+ */
+public interface KeyManagementClient {
+
+	/***
+	 * Posts a Json request
+	 * 
+	 * @param requestURL
+	 * @param headerParameters : additional headers
+	 * @param jsonString       : request body
+	 * @return API Response with the status and body, for any status
+	 * @throws Exception : if the request cannot be sent
+	 */
+	APIResponse apiPostRequest(String requestURL, Map<String, String> headerParameters, String jsonString)
+			throws Exception;
+
+}
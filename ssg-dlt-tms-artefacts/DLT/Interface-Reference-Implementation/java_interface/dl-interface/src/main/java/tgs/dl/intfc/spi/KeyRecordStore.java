@@ -0,0 +1,51 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.spi;
+
+import tgs.dl.intfc.key.mgmt.model.OrgKeyRecord;
+
+/***
+ * Collection of the key records of the organisations, implemented by
+ * KeyRecordRepository
+ * 
+ * There is one record per training partner code. Failures are logged and
+ * reported as false or null, not thrown.
+ */
+public interface KeyRecordStore {
+
+	/***
+	 * @param tpCode : training partner code
+	 * @return OrgKeyRecord of the training partner, null if none
+	 */
+	OrgKeyRecord findByTpCode(String tpCode);
+
+	/***
+	 * Replaces the record of the training partner of keyRecord
+	 * 
+	 * @param keyRecord : new record
+	 * @return true if a record is replaced
+	 */
+	boolean replace(OrgKeyRecord keyRecord);
+
+	/***
+	 * @param keyRecord : new record
+	 * @return true if the record is created
+	 */
+	boolean create(OrgKeyRecord keyRecord);
+
+}
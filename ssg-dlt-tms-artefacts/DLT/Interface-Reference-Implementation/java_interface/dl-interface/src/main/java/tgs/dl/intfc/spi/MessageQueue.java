@@ -0,0 +1,60 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.spi;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import tgs.dl.intfc.model.WriteResult;
+
+/***
+ * Message queue of the DLT writes, implemented by SQSService
+ */
+public interface MessageQueue {
+
+	/***
+	 * Sends a message
+	 * 
+	 * @param queueUrl
+	 * @param messageBody
+	 * @return boolean : true if the message is accepted
+	 * @throws Exception
+	 */
+	boolean sendMessage(String queueUrl, String messageBody) throws Exception;
+
+	/***
+	 * Sends a message without blocking the caller
+	 * 
+	 * @param queueUrl
+	 * @param messageBody
+	 * @return CompletableFuture : completes with true if the message is accepted
+	 */
+	CompletableFuture<Boolean> sendMessageAsync(String queueUrl, String messageBody);
+
+	/***
+	 * Sends messages in batches
+	 * 
+	 * @param queueUrl
+	 * @param messageBodies
+	 * @return List of WriteResult : one result per message, in the order of
+	 *         messageBodies
+	 * @throws Exception
+	 */
+	List<WriteResult> sendMessageBatch(String queueUrl, List<String> messageBodies) throws Exception;
+
+}
@@ -0,0 +1,49 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.spi;
+
+import tgs.dl.intfc.config.model.SecretKVPair;
+
+/***
+ * Storage of the plain data keys, implemented by SecretsMgrService
+ * 
+ * Failures are logged and reported as false or null, not thrown.
+ */
+public interface SecretStore {
+
+	/***
+	 * @param secretName
+	 * @param secretKey  : serialized SecretKVPair
+	 * @return true if the secret is created
+	 */
+	boolean createSecret(String secretName, String secretKey);
+
+	/***
+	 * @param secretName
+	 * @param secretKey  : serialized SecretKVPair
+	 * @return true if the secret is updated
+	 */
+	boolean updateSecret(String secretName, String secretKey);
+
+	/***
+	 * @param secretName
+	 * @return SecretKVPair, null if it does not exist or cannot be read
+	 */
+	SecretKVPair getSecret(String secretName);
+
+}
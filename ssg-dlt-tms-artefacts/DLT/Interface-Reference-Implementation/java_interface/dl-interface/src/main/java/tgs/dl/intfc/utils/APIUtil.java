@@ -20,54 +20,59 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import tgs.dl.intfc.config.model.KeyMgmtAPI;
+import tgs.dl.intfc.constants.Constants;
+import tgs.dl.intfc.spi.KeyManagementClient;
 import tgs.dl.intfc.utils.model.APIResponse;
 
-public class APIUtil {
+/***
+ * HTTP calls to the Key Management API
+ * 
+ * All calls share one pooled, keep-alive HTTP client, pool size and timeouts
+ * are set from keyMgmtAPI in the external config.
+ */
+public class APIUtil implements KeyManagementClient {
 
 	private static final Logger LOGGER = LogManager.getLogger(APIUtil.class);
 
+	private static final KeyMgmtAPI API_PROPERTIES = Constants.KEY_MGMT_API != null ? Constants.KEY_MGMT_API
+			: new KeyMgmtAPI();
+	private static final PoolingHttpClientConnectionManager CONNECTION_MANAGER = getConnectionManager();
+	private static final CloseableHttpClient HTTP_CLIENT = getHttpClient();
+
 	public APIResponse apiGetRequest(String requestURL, Map<String, String> parameters) throws Exception {
-		CloseableHttpClient client = null;
 		try {
-			client = HttpClients.createDefault();
 			requestURL = requestURL + "?" + getParamsString(parameters);
 			HttpGet request = new HttpGet(requestURL);
 
-			CloseableHttpResponse response = client.execute(request);
-			APIResponse apiResponse = new APIResponse();
-			apiResponse.setStatus(response.getStatusLine().getStatusCode());
-
-			HttpEntity responseEntity = response.getEntity();
-			if (responseEntity != null) {
-				apiResponse.setResult(EntityUtils.toString(responseEntity));
-				EntityUtils.consume(responseEntity);
-			}
-			return apiResponse;
+			return execute(request);
 		} catch (Exception e) {
 			LOGGER.error("apiRequest : Exception : ", e);
 			throw (e);
-		} finally {
-			if (client != null)
-				client.close();
 		}
 	}
 
 	public APIResponse apiPostRequest(String requestURL, String jsonString) throws Exception {
-		CloseableHttpClient client = null;
 		try {
-			client = HttpClients.createDefault();
 			HttpPost httpPost = new HttpPost(requestURL);
 			httpPost.setHeader("Accept", "application/json");
 			httpPost.setHeader("Content-type", "application/json");
@@ -75,29 +80,16 @@ public class APIUtil {
 			StringEntity entity = new StringEntity(jsonString);
 			httpPost.setEntity(entity);
 			
-			CloseableHttpResponse response = client.execute(httpPost);
-			APIResponse apiResponse = new APIResponse();
-			apiResponse.setStatus(response.getStatusLine().getStatusCode());
-			HttpEntity responseEntity = response.getEntity();
-
-			if (responseEntity != null) {
-				apiResponse.setResult(EntityUtils.toString(responseEntity));
-				EntityUtils.consume(responseEntity);
-			}
-			return apiResponse;
+			return execute(httpPost);
 		} catch (Exception e) {
 			LOGGER.error("apiRequest : Exception : ", e);
 			throw (e);
-		} finally {
-			if (client != null)
-				client.close();
 		}
 	}
 	
+	@Override
 	public APIResponse apiPostRequest(String requestURL, Map<String, String> headerParameters, String jsonString) throws Exception {
-		CloseableHttpClient client = null;
 		try {
-			client = HttpClients.createDefault();
 			HttpPost httpPost = new HttpPost(requestURL);
 			
 			httpPost.setHeader("Accept", "application/json");
@@ -108,25 +100,74 @@ public class APIUtil {
 			StringEntity entity = new StringEntity(jsonString);
 			httpPost.setEntity(entity);
 			
-			CloseableHttpResponse response = client.execute(httpPost);
+			return execute(httpPost);
+		} catch (Exception e) {
+			LOGGER.error("apiRequest : Exception : ", e);
+			throw (e);
+		}
+	}
+
+	/***
+	 * Statistics of the shared connection pool
+	 * 
+	 * @return leased, pending, available and max connections
+	 */
+	public static PoolStats getPoolStats() {
+		return CONNECTION_MANAGER.getTotalStats();
+	}
+
+	/***
+	 * Executes the request on the shared client, the response is fully read so
+	 * the connection goes back to the pool
+	 * 
+	 * @param request
+	 * @return API Response
+	 * @throws Exception
+	 */
+	private static APIResponse execute(HttpUriRequest request) throws Exception {
+		try (CloseableHttpResponse response = HTTP_CLIENT.execute(request)) {
 			APIResponse apiResponse = new APIResponse();
 			apiResponse.setStatus(response.getStatusLine().getStatusCode());
-			HttpEntity responseEntity = response.getEntity();
 
+			HttpEntity responseEntity = response.getEntity();
 			if (responseEntity != null) {
 				apiResponse.setResult(EntityUtils.toString(responseEntity));
 				EntityUtils.consume(responseEntity);
 			}
+			LOGGER.trace("execute : pool : {}", CONNECTION_MANAGER.getTotalStats());
 			return apiResponse;
-		} catch (Exception e) {
-			LOGGER.error("apiRequest : Exception : ", e);
-			throw (e);
-		} finally {
-			if (client != null)
-				client.close();
 		}
 	}
 
+	private static PoolingHttpClientConnectionManager getConnectionManager() {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(API_PROPERTIES.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(API_PROPERTIES.getMaxConnectionsPerRoute());
+		connectionManager.setValidateAfterInactivity(2000);
+		return connectionManager;
+	}
+
+	private static CloseableHttpClient getHttpClient() {
+		RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(API_PROPERTIES.getConnectTimeout())
+				.setConnectionRequestTimeout(API_PROPERTIES.getConnectionRequestTimeout())
+				.setSocketTimeout(API_PROPERTIES.getSocketTimeout()).build();
+
+		return HttpClients.custom().setConnectionManager(CONNECTION_MANAGER).setDefaultRequestConfig(requestConfig)
+				.setKeepAliveStrategy(getKeepAliveStrategy()).evictExpiredConnections()
+				.evictIdleConnections(API_PROPERTIES.getIdleTimeout(), TimeUnit.MILLISECONDS).build();
+	}
+
+	/***
+	 * Keeps connections alive for as long as the server allows, or keepAlive
+	 * when the server does not say
+	 */
+	private static ConnectionKeepAliveStrategy getKeepAliveStrategy() {
+		return (response, context) -> {
+			long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return duration > 0 ? duration : API_PROPERTIES.getKeepAlive();
+		};
+	}
+
 	private static String getParamsString(Map<String, String> params) throws UnsupportedEncodingException {
 		StringBuilder result = new StringBuilder();
 
@@ -0,0 +1,80 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package tgs.dl.intfc.utils;
+
+import org.bouncycastle.crypto.BufferedBlockCipher;
+import org.bouncycastle.crypto.engines.AESEngine;
+import org.bouncycastle.crypto.modes.AEADBlockCipher;
+import org.bouncycastle.crypto.modes.CBCBlockCipher;
+import org.bouncycastle.crypto.modes.GCMBlockCipher;
+import org.bouncycastle.crypto.paddings.PKCS7Padding;
+import org.bouncycastle.crypto.paddings.PaddedBufferedBlockCipher;
+import org.bouncycastle.crypto.params.AEADParameters;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+
+import tgs.dl.intfc.constants.CipherAlgorithm;
+
+/***
+ * CipherEngine on the BouncyCastle lightweight API, a pure Java AES
+ */
+public class BCCipherEngine implements CipherEngine {
+
+	private final CipherAlgorithm algorithm;
+
+	public BCCipherEngine() {
+		this(CipherAlgorithm.AES_CBC);
+	}
+
+	public BCCipherEngine(CipherAlgorithm algorithm) {
+		this.algorithm = algorithm;
+	}
+
+	@Override
+	public CipherAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	@Override
+	public int encrypt(byte[] key, byte[] iv, byte[] input, int inputOffset, int inputLength, byte[] output)
+			throws Exception {
+		return process(true, key, iv, input, inputOffset, inputLength, output);
+	}
+
+	@Override
+	public int decrypt(byte[] key, byte[] iv, byte[] input, int inputOffset, int inputLength, byte[] output)
+			throws Exception {
+		return process(false, key, iv, input, inputOffset, inputLength, output);
+	}
+
+	private int process(boolean isEncrypt, byte[] key, byte[] iv, byte[] input, int inputOffset, int inputLength,
+			byte[] output) throws Exception {
+		int length;
+		if (algorithm == CipherAlgorithm.AES_GCM) {
+			AEADBlockCipher cipher = new GCMBlockCipher(new AESEngine());
+			cipher.init(isEncrypt, new AEADParameters(new KeyParameter(key), CipherAlgorithm.GCM_TAG_LENGTH, iv));
+			length = cipher.processBytes(input, inputOffset, inputLength, output, 0);
+			length += cipher.doFinal(output, length);
+		} else {
+			BufferedBlockCipher cipher = new PaddedBufferedBlockCipher(new CBCBlockCipher(new AESEngine()),
+					new PKCS7Padding());
+			cipher.init(isEncrypt, new ParametersWithIV(new KeyParameter(key), iv, 0, iv.length));
+			length = cipher.processBytes(input, inputOffset, inputLength, output, 0);
+			length += cipher.doFinal(output, length);
+		}
+		return length;
+	}
+}
@@ -0,0 +1,135 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package tgs.dl.intfc.utils;
+
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import tgs.dl.intfc.constants.CipherAlgorithm;
+
+/***
+ * AES of a CipherAlgorithm over raw bytes, CBC with PKCS#7 padding or GCM with
+ * the tag appended to the encrypted bytes
+ * 
+ * Implementations produce byte-identical output for the same key, iv and
+ * message, so records written with one can be read with the other.
+ */
+public interface CipherEngine {
+
+	String BC = "BC";
+	String JCE = "JCE";
+
+	/***
+	 * @return the algorithm of the engine
+	 */
+	CipherAlgorithm getAlgorithm();
+
+	/***
+	 * Encrypts a range of bytes into the output
+	 * 
+	 * @param key         : AES key
+	 * @param iv          : iv of the ivLength of the algorithm
+	 * @param input       : plain bytes
+	 * @param inputOffset
+	 * @param inputLength
+	 * @param output      : at least the output size of the algorithm for inputLength
+	 * @return number of bytes written to output
+	 * @throws Exception
+	 */
+	int encrypt(byte[] key, byte[] iv, byte[] input, int inputOffset, int inputLength, byte[] output)
+			throws Exception;
+
+	/***
+	 * Decrypts a range of bytes into the output
+	 * 
+	 * @param key         : AES key
+	 * @param iv          : iv of the ivLength of the algorithm
+	 * @param input       : encrypted bytes
+	 * @param inputOffset
+	 * @param inputLength
+	 * @param output      : at least the output size of the algorithm for inputLength
+	 * @return number of bytes written to output
+	 * @throws Exception : for GCM also if the message is not authentic
+	 */
+	int decrypt(byte[] key, byte[] iv, byte[] input, int inputOffset, int inputLength, byte[] output)
+			throws Exception;
+
+	/***
+	 * Encrypts a message
+	 * 
+	 * @param key     : AES key
+	 * @param iv      : iv of the ivLength of the algorithm
+	 * @param message : plain bytes
+	 * @return encrypted bytes
+	 * @throws Exception
+	 */
+	default byte[] encrypt(byte[] key, byte[] iv, byte[] message) throws Exception {
+		byte[] output = new byte[getAlgorithm().getOutputSize(true, message.length)];
+		int length = encrypt(key, iv, message, 0, message.length, output);
+		return length == output.length ? output : Arrays.copyOf(output, length);
+	}
+
+	/***
+	 * Decrypts a message
+	 * 
+	 * @param key              : AES key
+	 * @param iv               : iv of the ivLength of the algorithm
+	 * @param encryptedMessage : encrypted bytes
+	 * @return plain bytes
+	 * @throws Exception : for GCM also if the message is not authentic
+	 */
+	default byte[] decrypt(byte[] key, byte[] iv, byte[] encryptedMessage) throws Exception {
+		byte[] output = new byte[getAlgorithm().getOutputSize(false, encryptedMessage.length)];
+		int length = decrypt(key, iv, encryptedMessage, 0, encryptedMessage.length, output);
+		if (length == output.length) {
+			return output;
+		}
+		byte[] result = Arrays.copyOf(output, length);
+		Arrays.fill(output, (byte) 0);
+		return result;
+	}
+
+	/***
+	 * Provides the AES/CBC engine of the given name
+	 * 
+	 * @param name : BC or JCE
+	 * @return CipherEngine
+	 */
+	static CipherEngine getInstance(String name) {
+		return getInstance(name, CipherAlgorithm.AES_CBC);
+	}
+
+	/***
+	 * Provides the engine of the given name for the algorithm, JCE if the name is
+	 * unknown
+	 * 
+	 * @param name      : BC or JCE
+	 * @param algorithm
+	 * @return CipherEngine
+	 */
+	static CipherEngine getInstance(String name, CipherAlgorithm algorithm) {
+		if (BC.equalsIgnoreCase(name)) {
+			return new BCCipherEngine(algorithm);
+		}
+		if (!JCE.equalsIgnoreCase(name)) {
+			Logger logger = LogManager.getLogger(CipherEngine.class);
+			logger.warn("Unknown cipher engine {}, using {}.", name, JCE);
+		}
+		return new JCECipherEngine(algorithm);
+	}
+}
@@ -17,31 +17,47 @@
 package tgs.dl.intfc.utils;
 
 import java.nio.charset.StandardCharsets;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.bouncycastle.crypto.engines.AESEngine;
-import org.bouncycastle.crypto.modes.CBCBlockCipher;
-import org.bouncycastle.crypto.paddings.BlockCipherPadding;
-import org.bouncycastle.crypto.paddings.PKCS7Padding;
-import org.bouncycastle.crypto.paddings.PaddedBufferedBlockCipher;
-import org.bouncycastle.crypto.params.KeyParameter;
-import org.bouncycastle.crypto.params.ParametersWithIV;
+
+import tgs.dl.intfc.constants.CipherAlgorithm;
+import tgs.dl.intfc.constants.Constants;
 
 public class EncryptionUtil{
 	private static final Logger LOGGER = LogManager.getLogger(EncryptionUtil.class);
-	final SecureRandom random = createSecureRandom();
+	private static final IVGenerator IV_GENERATOR = IVGenerator.getInstance();
+	private static final Map<CipherAlgorithm, CipherEngine> CIPHER_ENGINES = new EnumMap<>(CipherAlgorithm.class);
+
+	static {
+		for (CipherAlgorithm algorithm : CipherAlgorithm.values()) {
+			CIPHER_ENGINES.put(algorithm,
+					CipherEngine.getInstance(Constants.GATEWAY_PROPERTIES.getCipherEngine(), algorithm));
+		}
+	}
 
 	/**
 	 * Generates a random iv
 	 * @return byte array of generated random iv
 	 */
 	public byte[] generateRandomIV() {
-		return random.generateSeed(16);
+		return IV_GENERATOR.generateIV();
+	}
+	
+	/**
+	 * Generates a random iv for the algorithm
+	 * @param algorithm
+	 * @return byte array of generated random iv
+	 */
+	public byte[] generateRandomIV(CipherAlgorithm algorithm) {
+		byte[] iv = new byte[algorithm.getIvLength()];
+		IV_GENERATOR.nextBytes(iv);
+		return iv;
 	}
 	
 	/**
@@ -53,29 +69,27 @@ public class EncryptionUtil{
 	 * @throws Exception
 	 */
 	public String encryptMessage(char[] dataKey, String message, byte[] iv) throws Exception  {
+		return encryptMessage(CipherAlgorithm.AES_CBC, dataKey, message, iv);
+	}
+	
+	/**
+	 * Encrypts a message with the algorithm
+	 * @param algorithm: algorithm of the record
+	 * @param dataKey: key used for cipher
+	 * @param message: message to encrypt
+	 * @param iv: random iv of the ivLength of the algorithm
+	 * @return String of encrypted message
+	 * @throws Exception
+	 */
+	public String encryptMessage(CipherAlgorithm algorithm, char[] dataKey, String message, byte[] iv) throws Exception  {
 		
 		byte[] keys = null;
-		KeyParameter keyParam = null;
-		ParametersWithIV keyParamWithIV = null;
 		try {
-			
-		    AESEngine engine = new AESEngine();
-		    CBCBlockCipher blockCipher = new CBCBlockCipher(engine);
-		    BlockCipherPadding padding = new PKCS7Padding();
-		    PaddedBufferedBlockCipher cipher = new PaddedBufferedBlockCipher(blockCipher, padding); 
-		    
 		    //convert key to bytes
-		    keys = EncodeUtil.convertToBytes(random, dataKey);
-		    
-		    //set cipher parameters
-		    keyParam = new KeyParameter(keys);
-		    keyParamWithIV = new ParametersWithIV(keyParam, iv, 0, iv.length);
-		    cipher.init(true, keyParamWithIV);
+		    keys = EncodeUtil.convertToBytes(IV_GENERATOR.getRandom(), dataKey);
 		    
 		    byte[] messageBytes = message.getBytes(StandardCharsets.UTF_8);
-		    byte[] outputBytes = new byte[cipher.getOutputSize(messageBytes.length)];
-		    int length = cipher.processBytes(message.getBytes(),0,messageBytes.length, outputBytes, 0);
-		    cipher.doFinal(outputBytes, length); 
+		    byte[] outputBytes = CIPHER_ENGINES.get(algorithm).encrypt(keys, iv, messageBytes);
 		    
 		    return Base64.getEncoder().encodeToString(outputBytes);
 		}catch(Exception e) {
@@ -83,8 +97,6 @@ public class EncryptionUtil{
 			throw (e);
 		}finally {
 			//clear keys
-			if(keyParam != null) keyParam = null;
-			if(keyParamWithIV != null) keyParamWithIV = null;
 			if(dataKey != null && keys != null) clearKeys(dataKey, keys);
 		}
 	}
@@ -98,37 +110,93 @@ public class EncryptionUtil{
 	 * @throws Exception
 	 */
 	public String decryptMessage(char[] dataKey, String encryptedMessage, byte[] iv) throws Exception {
+		return decryptMessage(CipherAlgorithm.AES_CBC, dataKey, encryptedMessage, iv);
+	}
+	
+	/**
+	 * Decrypts a message with the algorithm
+	 * @param algorithm: algorithm of the record
+	 * @param dataKey: key used for cipher
+	 * @param message: message to decrypt
+	 * @param iv: iv of the record
+	 * @return String of decrypted message
+	 * @throws Exception : for GCM also if the message is not authentic
+	 */
+	public String decryptMessage(CipherAlgorithm algorithm, char[] dataKey, String encryptedMessage, byte[] iv) throws Exception {
 		byte[] keys = null;
-		KeyParameter keyParam = null;
-		ParametersWithIV keyParamWithIV = null;
 		try {
-			
-			AESEngine engine = new AESEngine();
-		    CBCBlockCipher blockCipher = new CBCBlockCipher(engine); 
-		    BlockCipherPadding padding = new PKCS7Padding();
-		    PaddedBufferedBlockCipher cipher = new PaddedBufferedBlockCipher(blockCipher, padding); 
-		    
 		    //convert key to bytes
-		    keys = EncodeUtil.convertToBytes(random, dataKey);
-		    
-		    //set cipher parameters
-		    keyParam = new KeyParameter(keys);
-		    keyParamWithIV = new ParametersWithIV(keyParam, iv, 0, iv.length);
-		    cipher.init(false, keyParamWithIV);
+		    keys = EncodeUtil.convertToBytes(IV_GENERATOR.getRandom(), dataKey);
 		    
 		    byte[] outputBytes = Base64.getDecoder().decode(encryptedMessage);
-		    byte[] comparisonBytes = new byte[cipher.getOutputSize(outputBytes.length)];
-		    int length = cipher.processBytes(outputBytes, 0, outputBytes.length, comparisonBytes, 0);
-		    cipher.doFinal(comparisonBytes, length);
+		    byte[] comparisonBytes = CIPHER_ENGINES.get(algorithm).decrypt(keys, iv, outputBytes);
 		    
-		    return new String(comparisonBytes).trim();
+		    String decrypted = new String(comparisonBytes, StandardCharsets.UTF_8);
+		    // CBC records written before the engines were introduced may carry trailing blanks
+		    return algorithm == CipherAlgorithm.AES_CBC ? decrypted.trim() : decrypted;
 		}catch(Exception e) {
 			LOGGER.error("decryptMessage : ", e);
 			throw(e);
 		}finally {
 			//clear keys
-			if(keyParam != null) keyParam = null;
-			if(keyParamWithIV != null) keyParamWithIV = null;
+			if(dataKey != null && keys != null) clearKeys(dataKey, keys);
+		}
+	}
+	
+	/**
+	 * Encrypts a range of bytes with the algorithm
+	 * @param algorithm: algorithm of the record
+	 * @param dataKey: key used for cipher
+	 * @param message: UTF-8 bytes of the message
+	 * @param offset: start of the message
+	 * @param length: length of the message
+	 * @param iv: random iv of the ivLength of the algorithm
+	 * @return byte array of encrypted message
+	 * @throws Exception
+	 */
+	public byte[] encryptBytes(CipherAlgorithm algorithm, char[] dataKey, byte[] message, int offset, int length,
+			byte[] iv) throws Exception {
+		byte[] keys = null;
+		try {
+			//convert key to bytes
+			keys = EncodeUtil.convertToBytes(IV_GENERATOR.getRandom(), dataKey);
+			
+			byte[] outputBytes = new byte[algorithm.getOutputSize(true, length)];
+			int outputLength = CIPHER_ENGINES.get(algorithm).encrypt(keys, iv, message, offset, length, outputBytes);
+			return outputLength == outputBytes.length ? outputBytes : Arrays.copyOf(outputBytes, outputLength);
+		}catch(Exception e) {
+			LOGGER.error("encryptBytes : ", e);
+			throw (e);
+		}finally {
+			//clear keys
+			if(dataKey != null && keys != null) clearKeys(dataKey, keys);
+		}
+	}
+	
+	/**
+	 * Decrypts a message with the algorithm into the output
+	 * @param algorithm: algorithm of the record
+	 * @param dataKey: key used for cipher
+	 * @param encryptedMessage: bytes of the encrypted message
+	 * @param iv: iv of the record
+	 * @param output: at least the output size of the algorithm for the message
+	 * @return number of bytes of the decrypted message written to output
+	 * @throws Exception : for GCM also if the message is not authentic
+	 */
+	public int decryptBytes(CipherAlgorithm algorithm, char[] dataKey, byte[] encryptedMessage, byte[] iv,
+			byte[] output) throws Exception {
+		byte[] keys = null;
+		try {
+			//convert key to bytes
+			keys = EncodeUtil.convertToBytes(IV_GENERATOR.getRandom(), dataKey);
+			
+			return CIPHER_ENGINES.get(algorithm).decrypt(keys, iv, encryptedMessage, 0, encryptedMessage.length,
+					output);
+		}catch(Exception e) {
+			LOGGER.error("decryptBytes : ", e);
+			throw (e);
+		}finally {
+			//clear keys
 			if(dataKey != null && keys != null) clearKeys(dataKey, keys);
 		}
 	}
@@ -138,7 +206,7 @@ public class EncryptionUtil{
 	 * @param chars array
 	 */
 	public void clearKeys(char[] chars) {
-		Arrays.fill(chars, (char)(random.nextInt(26) + 'a'));
+		Arrays.fill(chars, (char)(IV_GENERATOR.getRandom().nextInt(26) + 'a'));
 	}
 	
 	
@@ -148,21 +216,9 @@ public class EncryptionUtil{
 	 * @param bytes array
 	 */
 	private void clearKeys(char[] chars, byte[] bytes) {
+		SecureRandom random = IV_GENERATOR.getRandom();
 		Arrays.fill(chars, (char)(random.nextInt(26) + 'a'));
 		random.nextBytes(bytes);
 	}
 	
-	/***
-	 * Instantiate Secure Random
-	 * @return
-	 */
-	private static SecureRandom createSecureRandom() {
-		try {
-			return SecureRandom.getInstanceStrong();
-		} catch (NoSuchAlgorithmException nae) {
-			LOGGER.warn("Couldn't create strong secure random generator; reason: {}.", nae.getMessage());
-			return new SecureRandom();
-		}
-	}
-	
 }
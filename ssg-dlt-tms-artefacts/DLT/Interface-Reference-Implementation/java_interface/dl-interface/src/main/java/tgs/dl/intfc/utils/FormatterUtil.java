@@ -17,24 +17,39 @@
 package tgs.dl.intfc.utils;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Base64;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.bouncycastle.jcajce.provider.digest.SHA3;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import tgs.dl.intfc.constants.CipherAlgorithm;
+import tgs.dl.intfc.constants.Constants;
 import tgs.dl.intfc.constants.RequestDataConstants;
 import tgs.dl.intfc.key.mgmt.KeyManagementService;
+import tgs.dl.intfc.key.mgmt.KeyProvider;
 import tgs.dl.intfc.key.mgmt.model.KeyConfig;
 import tgs.dl.intfc.key.mgmt.model.TrainingPartner;
+import tgs.dl.intfc.metrics.MetricNames;
+import tgs.dl.intfc.metrics.Metrics;
+import tgs.dl.intfc.metrics.MetricsRegistry;
+import tgs.dl.intfc.model.ReadResponse;
 import tgs.dl.intfc.model.RequestData;
 
 /***
@@ -45,6 +60,41 @@ import tgs.dl.intfc.model.RequestData;
 public class FormatterUtil {
 
 	private static final Logger LOGGER = LogManager.getLogger(FormatterUtil.class);
+	private static final EncryptionUtil ENCRYPTION_UTIL = new EncryptionUtil();
+	private static final HashUtil HASH_UTIL = HashUtil.getInstance();
+	private static final CipherAlgorithm WRITE_ALGORITHM = getWriteAlgorithm();
+	private static final ObjectWriter PAYLOAD_WRITER = JsonMapper.getWriter(JsonNode.class);
+	private static final ObjectReader PAYLOAD_READER = JsonMapper.getReader(JsonNode.class);
+	private static final int BUFFER_SIZE = 8 * 1024;
+	private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+	private static final ThreadLocal<ReusableByteArrayOutputStream> PAYLOAD_BUFFER = ThreadLocal
+			.withInitial(() -> new ReusableByteArrayOutputStream(BUFFER_SIZE, MAX_RETAINED_BUFFER_SIZE));
+	private static final ThreadLocal<ReusableByteArrayOutputStream> PLAIN_BUFFER = ThreadLocal
+			.withInitial(() -> new ReusableByteArrayOutputStream(BUFFER_SIZE, MAX_RETAINED_BUFFER_SIZE));
+	private static final ReadResponseDecoder READ_RESPONSE_DECODER = new ReadResponseDecoder();
+	private static final int DECRYPT_PARALLELISM = Constants.GATEWAY_PROPERTIES.getDecryptParallelism();
+	private static final ExecutorService DECRYPT_POOL = DECRYPT_PARALLELISM > 1
+			? Executors.newFixedThreadPool(DECRYPT_PARALLELISM, runnable -> {
+				Thread thread = new Thread(runnable, "dl-decrypt-worker");
+				thread.setDaemon(true);
+				return thread;
+			})
+			: null;
+
+	// null to look the keys up with a new KeyManagementService on every record
+	private final KeyProvider keyProvider;
+
+	public FormatterUtil() {
+		this(null);
+	}
+
+	/***
+	 * @param keyProvider : source of the data keys, null to use the
+	 *                    KeyManagementService
+	 */
+	public FormatterUtil(KeyProvider keyProvider) {
+		this.keyProvider = keyProvider;
+	}
 
 	/***
 	 * Formats the request object for the transaction data
@@ -55,13 +105,27 @@ public class FormatterUtil {
 	 * @throws Exception
 	 */
 	public String formatRequestData(RequestData request, boolean isEncrypt) throws Exception {
+		return new JsonMapper().serializeToJson(formatRequest(request, isEncrypt));
+	}
+
+	/***
+	 * Formats the request object for the transaction data, the request is
+	 * formatted in place
+	 * 
+	 * @param request
+	 * @param isEncrypt : true if data has to be encrypted
+	 * @return RequestData of formatted data
+	 * @throws Exception
+	 */
+	public RequestData formatRequest(RequestData request, boolean isEncrypt) throws Exception {
+		long start = System.nanoTime();
 		try {
 			JsonNode headerNode = request.getHeader();
 			String primaryKey = headerNode.get(RequestDataConstants.PRIMARY_KEY).asText();
 
 			// hash primary keys
 			if (StringUtils.isNotBlank(primaryKey)) {
-				primaryKey = getSHA3384(primaryKey);
+				primaryKey = HASH_UTIL.getSHA3384(primaryKey);
 
 				// reconstruct header
 				((ObjectNode) headerNode).put(RequestDataConstants.PRIMARY_KEY, primaryKey);
@@ -73,87 +137,125 @@ public class FormatterUtil {
 				request = encryptPayload(request);
 			}
 
-			return new JsonMapper().serializeToJson(request);
+			return request;
 		} catch (IOException e) {
 			LOGGER.error("formatRequestData : ", e);
 			throw (e);
+		} finally {
+			MetricsRegistry.getMetrics().recordTimeSince(MetricNames.FORMAT_REQUEST, start, MetricNames.TAG_OPERATION,
+					isEncrypt ? MetricNames.WRITE : MetricNames.READ);
 		}
 	}
 
 	/***
 	 * Formats the response of Read data
 	 * 
-	 * @param formattedResponse : null if input has invalid format
+	 * @param response : serialized Lambda payload
 	 * @return String of formatted response
 	 * @throws Exception
 	 */
 	public String formatReadResponseData(String response) throws Exception {
-		try {
-			JsonMapper mapper = new JsonMapper();
-
-			response = response.replaceAll("\\\\", "");
-			response = response.substring(1, response.length() - 1);
-
-			JsonNode responseNode = mapper.readTree(response);
-			JsonNode resultNode = responseNode.get("result");
-			JsonNode dataArrNode = resultNode.get("data");
-
-			if (dataArrNode.isArray()) {
-				String[] requestDataArr = new String[dataArrNode.size()];
-
-				int cnt = 0;
-				for (JsonNode dataNode : dataArrNode) {
-
-					RequestData request = new JsonMapper().deserializeFromJson(dataNode.toString(), RequestData.class);
+		ReadResponse readResponse = formatReadResponse(ByteBuffer.wrap(response.getBytes(StandardCharsets.UTF_8)));
+		return new JsonMapper().serializeToJson(readResponse);
+	}
 
-					// decrypt payload
-					request = decryptPayload(request);
+	/***
+	 * Formats the response of Read data, decrypting the records in parallel when
+	 * decryptParallelism is more than 1. Records keep their original order, a
+	 * record that fails to decrypt is returned without payload and with the error
+	 * instead of failing the page.
+	 * 
+	 * @param payload : Lambda payload
+	 * @return ReadResponse with the decrypted records
+	 * @throws Exception : if the response has an invalid format, or decryption
+	 *                   fails and decryptParallelism is 1
+	 */
+	public ReadResponse formatReadResponse(ByteBuffer payload) throws Exception {
+		List<RequestData> requests = new ArrayList<>();
+		ReadResponse readResponse = formatReadResponse(payload, requests::add);
+		readResponse.setData(requests);
+		return readResponse;
+	}
 
-					String serializedData = mapper.serializeToJson(request);
-					requestDataArr[cnt] = serializedData;
+	/***
+	 * Formats the response of Read data, handing each decrypted record over in
+	 * the original order as soon as it is ready. At most twice decryptParallelism
+	 * records are held while waiting to be handed over.
+	 * 
+	 * @param payload        : Lambda payload
+	 * @param recordConsumer : receives the decrypted records
+	 * @return ReadResponse without data
+	 * @throws Exception : if the response has an invalid format, or decryption
+	 *                   fails and decryptParallelism is 1
+	 */
+	public ReadResponse formatReadResponse(ByteBuffer payload, Consumer<RequestData> recordConsumer)
+			throws Exception {
+		long start = System.nanoTime();
+		boolean isSuccess = false;
+		try {
+			ReadResponse readResponse;
+			if (DECRYPT_POOL == null) {
+				readResponse = READ_RESPONSE_DECODER.decode(payload, request -> {
+					try {
+						recordConsumer.accept(decryptPayload(request));
+					} catch (RuntimeException e) {
+						throw (e);
+					} catch (Exception e) {
+						throw new CompletionException(e);
+					}
+				});
+				isSuccess = true;
+				return readResponse;
+			}
 
-					cnt++;
+			// records are decrypted while the rest of the response is parsed
+			int maxPending = DECRYPT_PARALLELISM * 2;
+			Deque<CompletableFuture<RequestData>> pending = new ArrayDeque<>(maxPending + 1);
+			readResponse = READ_RESPONSE_DECODER.decode(payload, request -> {
+				pending.add(CompletableFuture.supplyAsync(() -> decryptRecord(request), DECRYPT_POOL));
+				if (pending.size() > maxPending) {
+					recordConsumer.accept(pending.poll().join());
 				}
+			});
 
-				ObjectNode resultNodeObj = (ObjectNode) resultNode;
-				resultNodeObj.remove("data");
-				resultNodeObj.put("data", Arrays.toString(requestDataArr));
-				return resultNodeObj.toString().replace("\\", "");
+			while (!pending.isEmpty()) {
+				recordConsumer.accept(pending.poll().join());
 			}
-
-			String msg = "Error in Data Format.";
-			Exception e = new Exception(msg);
-			LOGGER.error("formatReadResponseData : ", e);
-			throw e;
-
+			isSuccess = true;
+			return readResponse;
+		} catch (CompletionException e) {
+			LOGGER.error("formatReadResponseData : ", e.getCause());
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw (e);
 		} catch (IOException e) {
 			LOGGER.error("formatReadResponseData : ", e);
 			throw (e);
+		} finally {
+			MetricsRegistry.getMetrics().recordTimeSince(MetricNames.FORMAT_RESPONSE, start, MetricNames.TAG_RESULT,
+					MetricNames.result(isSuccess));
 		}
 	}
 
 	/***
-	 * Hashes a given string
+	 * Decrypts a record, capturing the error in the record if it fails
 	 * 
-	 * @param originalString
-	 * @return String of Hash value orginal string
-	 * @throws UnsupportedEncodingException
+	 * @param request : encrypted record
+	 * @return RequestData of decrypted record
 	 */
-	private String getSHA3384(String originalString) throws UnsupportedEncodingException {
-
-		SHA3.DigestSHA3 sha3 = new SHA3.DigestSHA3(384);
+	private RequestData decryptRecord(RequestData request) {
 		try {
-			sha3.update(originalString.getBytes(StandardCharsets.UTF_8.toString()));
-			return org.bouncycastle.util.encoders.Hex.toHexString(sha3.digest());
-		} catch (UnsupportedEncodingException e) {
-			LOGGER.error("getSHA3384 : ", e);
-			throw (e);
+			return decryptPayload(request);
+		} catch (Exception e) {
+			LOGGER.error("decryptRecord : ", e);
+			request.setPayload(null);
+			request.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+			return request;
 		}
 	}
 
 	private RequestData encryptPayload(RequestData request) throws Exception {
-		EncryptionUtil encryptUtil = new EncryptionUtil();
-
 		KeyConfig keyConfig = null;
 		try {
 			JsonNode headerNode = request.getHeader();
@@ -163,23 +265,43 @@ public class FormatterUtil {
 			String tpUen = headerNode.get(RequestDataConstants.TP_UEN).asText();
 			String tpCode = headerNode.get(RequestDataConstants.TP_CODE).asText();
 			TrainingPartner tp = new TrainingPartner(tpUen, tpCode);
-			keyConfig = new KeyManagementService().getKeyConfig(tp);
-
-			// format payload
-			String payload = request.getPayload().toString();
-			JsonMapper mapper = new JsonMapper();
-			JsonNode jsonMessage = mapper.deserializeFromJson(payload, JsonNode.class);
-			payload = mapper.serializeToJson(jsonMessage);
-
-			// encrypt payload
-			byte[] iv = encryptUtil.generateRandomIV();
-			String encrypted = encryptUtil.encryptMessage(keyConfig.getKey().getPlainKey(), payload, iv);
+			Metrics metrics = MetricsRegistry.getMetrics();
+			long start = System.nanoTime();
+			keyConfig = getKeyProvider().getKeyConfig(tp);
+			metrics.recordTimeSince(MetricNames.KEY_LOOKUP, start, MetricNames.TAG_OPERATION, MetricNames.ENCRYPT);
+
+			// format payload as UTF-8 into the buffer of the thread
+			byte[] iv = ENCRYPTION_UTIL.generateRandomIV(WRITE_ALGORITHM);
+			byte[] encrypted;
+			ReusableByteArrayOutputStream payloadBuffer = PAYLOAD_BUFFER.get();
+			try {
+				start = System.nanoTime();
+				PAYLOAD_WRITER.writeValue(payloadBuffer, request.getPayload());
+				metrics.recordTimeSince(MetricNames.SERIALIZATION, start, MetricNames.TAG_STAGE, MetricNames.PLAIN);
+				metrics.recordSize(MetricNames.PAYLOAD_BYTES, payloadBuffer.size(), MetricNames.TAG_STAGE,
+						MetricNames.PLAIN);
+
+				// encrypt payload
+				start = System.nanoTime();
+				encrypted = ENCRYPTION_UTIL.encryptBytes(WRITE_ALGORITHM, keyConfig.getKey().getPlainKey(),
+						payloadBuffer.getBuffer(), 0, payloadBuffer.size(), iv);
+				metrics.recordTimeSince(MetricNames.CIPHER, start, MetricNames.TAG_OPERATION, MetricNames.ENCRYPT);
+				metrics.recordSize(MetricNames.PAYLOAD_BYTES, encrypted.length, MetricNames.TAG_STAGE,
+						MetricNames.ENCRYPTED);
+			} finally {
+				payloadBuffer.clear();
+			}
 
-			// reconstruct payload
+			// reconstruct payload, CBC records keep the unversioned envelope
+			// binary values are written as Base64 when the request is serialized
 			ObjectNode newPayload = JsonNodeFactory.instance.objectNode();
 			request.setPayload(newPayload);
+			if (WRITE_ALGORITHM != CipherAlgorithm.AES_CBC) {
+				newPayload.put(RequestDataConstants.VERSION, RequestDataConstants.ENVELOPE_VERSION);
+				newPayload.put(RequestDataConstants.ALGORITHM, WRITE_ALGORITHM.getAlgorithmName());
+			}
 			newPayload.put(RequestDataConstants.DATA_KEY, keyConfig.getKey().getEncryptedKey());
-			newPayload.put(RequestDataConstants.IV, Base64.getEncoder().encodeToString(iv));
+			newPayload.put(RequestDataConstants.IV, iv);
 			newPayload.put(RequestDataConstants.RECORD, encrypted);
 			request.setPayload(newPayload);
 
@@ -189,15 +311,13 @@ public class FormatterUtil {
 			throw (e);
 		} finally {
 			if (keyConfig != null && keyConfig.getKey().getPlainKey() != null) {
-				encryptUtil.clearKeys(keyConfig.getKey().getPlainKey());
+				ENCRYPTION_UTIL.clearKeys(keyConfig.getKey().getPlainKey());
 				keyConfig = null;
 			}
 		}
 	}
 
 	private RequestData decryptPayload(RequestData request) throws Exception {
-		EncryptionUtil encryptUtil = new EncryptionUtil();
-
 		KeyConfig keyConfig = null;
 		try {
 
@@ -209,17 +329,29 @@ public class FormatterUtil {
 			String tpUen = headerNode.get(RequestDataConstants.TP_UEN).asText();
 			String tpCode = headerNode.get(RequestDataConstants.TP_CODE).asText();
 			TrainingPartner tp = new TrainingPartner(tpUen, tpCode);
-			keyConfig = new KeyManagementService().getDecryptedKey(tp, dataKey);
-
-			// decrypt payload
-			String iv = payloadNode.get(RequestDataConstants.IV).asText();
-			String record = payloadNode.get(RequestDataConstants.RECORD).asText();
-			String decrypted = encryptUtil.decryptMessage(keyConfig.getKey().getPlainKey(), record,
-					Base64.getDecoder().decode(iv));
-
-			// reconstruct payload
-			JsonMapper mapper = new JsonMapper();
-			JsonNode newPayload = mapper.readTree(decrypted);
+			Metrics metrics = MetricsRegistry.getMetrics();
+			long start = System.nanoTime();
+			keyConfig = getKeyProvider().getDecryptedKey(tp, dataKey);
+			metrics.recordTimeSince(MetricNames.KEY_LOOKUP, start, MetricNames.TAG_OPERATION, MetricNames.DECRYPT);
+
+			// decrypt payload into the buffer of the thread
+			CipherAlgorithm algorithm = getAlgorithm(payloadNode);
+			byte[] iv = payloadNode.get(RequestDataConstants.IV).binaryValue();
+			byte[] record = payloadNode.get(RequestDataConstants.RECORD).binaryValue();
+			JsonNode newPayload;
+			ReusableByteArrayOutputStream plainBuffer = PLAIN_BUFFER.get();
+			int length = 0;
+			try {
+				byte[] plain = plainBuffer.ensureCapacity(algorithm.getOutputSize(false, record.length));
+				start = System.nanoTime();
+				length = ENCRYPTION_UTIL.decryptBytes(algorithm, keyConfig.getKey().getPlainKey(), record, iv, plain);
+				metrics.recordTimeSince(MetricNames.CIPHER, start, MetricNames.TAG_OPERATION, MetricNames.DECRYPT);
+
+				// reconstruct payload
+				newPayload = PAYLOAD_READER.readValue(plain, 0, length);
+			} finally {
+				plainBuffer.clear(length);
+			}
 			request.setPayload(newPayload);
 			return request;
 
@@ -228,10 +360,49 @@ public class FormatterUtil {
 			throw (e);
 		} finally {
 			if (keyConfig != null && keyConfig.getKey().getPlainKey() != null) {
-				encryptUtil.clearKeys(keyConfig.getKey().getPlainKey());
+				ENCRYPTION_UTIL.clearKeys(keyConfig.getKey().getPlainKey());
 				keyConfig = null;
 			}
 		}
 	}
 
+	private KeyProvider getKeyProvider() throws Exception {
+		return keyProvider != null ? keyProvider : new KeyManagementService();
+	}
+
+	/***
+	 * Reads the algorithm of an encrypted payload, records without version are
+	 * AES/CBC
+	 * 
+	 * @param payloadNode : encrypted payload
+	 * @return CipherAlgorithm
+	 * @throws IOException : if the version or the algorithm is not supported
+	 */
+	private static CipherAlgorithm getAlgorithm(JsonNode payloadNode) throws IOException {
+		int version = payloadNode.path(RequestDataConstants.VERSION).asInt(RequestDataConstants.ENVELOPE_VERSION_CBC);
+		if (version == RequestDataConstants.ENVELOPE_VERSION_CBC) {
+			return CipherAlgorithm.AES_CBC;
+		}
+		if (version == RequestDataConstants.ENVELOPE_VERSION) {
+			return CipherAlgorithm.fromAlgorithmName(payloadNode.path(RequestDataConstants.ALGORITHM).asText());
+		}
+		throw new IOException("Unsupported payload version: " + version);
+	}
+
+	/***
+	 * Reads the algorithm of new records from the gateway properties, AES/CBC if
+	 * it is not supported
+	 * 
+	 * @return CipherAlgorithm
+	 */
+	private static CipherAlgorithm getWriteAlgorithm() {
+		String algorithmName = Constants.GATEWAY_PROPERTIES.getWriteAlgorithm();
+		try {
+			return CipherAlgorithm.fromAlgorithmName(algorithmName);
+		} catch (IOException e) {
+			LOGGER.warn("getWriteAlgorithm : {}, using {}.", e.getMessage(), CipherAlgorithm.AES_CBC.getAlgorithmName());
+			return CipherAlgorithm.AES_CBC;
+		}
+	}
+
 }
@@ -0,0 +1,133 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package tgs.dl.intfc.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+import org.bouncycastle.util.encoders.Hex;
+
+import tgs.dl.intfc.constants.Constants;
+
+/***
+ * SHA3-384 hashing of primary keys
+ * 
+ * Each thread reuses its own digester. Hex digests are memoized in a bounded
+ * LRU map of hashCacheSize entries when it is more than 0, with hit and miss
+ * counters.
+ */
+public class HashUtil {
+
+	private static final HashUtil INSTANCE = new HashUtil(Constants.GATEWAY_PROPERTIES.getHashCacheSize());
+
+	private final ThreadLocal<SHA3.DigestSHA3> digesters = ThreadLocal.withInitial(() -> new SHA3.DigestSHA3(384));
+	private final int maxEntries;
+	private final Map<String, String> memo;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public static HashUtil getInstance() {
+		return INSTANCE;
+	}
+
+	/***
+	 * @param maxEntries : size of the memo, 0 to hash every time
+	 */
+	public HashUtil(int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.memo = maxEntries <= 0 ? null : new LinkedHashMap<String, String>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > HashUtil.this.maxEntries;
+			}
+		};
+	}
+
+	/***
+	 * Hashes a string with SHA3-384
+	 * 
+	 * @param originalString
+	 * @return String of Hash value orginal string in hex
+	 */
+	public String getSHA3384(String originalString) {
+		if (memo == null) {
+			return digest(originalString);
+		}
+
+		String hash;
+		synchronized (memo) {
+			hash = memo.get(originalString);
+		}
+		if (hash != null) {
+			hits.increment();
+			return hash;
+		}
+
+		misses.increment();
+		hash = digest(originalString);
+		synchronized (memo) {
+			memo.put(originalString, hash);
+		}
+		return hash;
+	}
+
+	private String digest(String originalString) {
+		SHA3.DigestSHA3 sha3 = digesters.get();
+		// digest() resets the digester for the next use
+		return Hex.toHexString(sha3.digest(originalString.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/***
+	 * Removes all memoized digests and resets the counters
+	 */
+	public void clear() {
+		if (memo != null) {
+			synchronized (memo) {
+				memo.clear();
+			}
+		}
+		hits.reset();
+		misses.reset();
+	}
+
+	/**
+	 * @return the number of digests served from the memo
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of digests computed while the memo was in use
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public int size() {
+		if (memo == null) {
+			return 0;
+		}
+		synchronized (memo) {
+			return memo.size();
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.utils;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.prng.EntropySource;
+import org.bouncycastle.crypto.prng.SP800SecureRandomBuilder;
+
+/***
+ * Generates IVs and random bytes without blocking on the entropy pool
+ * 
+ * Each thread has its own SP 800-90A Hash DRBG (SHA-256), so threads do not
+ * contend on a shared generator. The DRBGs are seeded from a non-blocking
+ * system source and are replaced with freshly seeded ones after
+ * RESEED_INTERVAL requests.
+ */
+public class IVGenerator {
+
+	private static final Logger LOGGER = LogManager.getLogger(IVGenerator.class);
+	private static final IVGenerator INSTANCE = new IVGenerator();
+
+	public static final int IV_LENGTH = 16;
+	static final int RESEED_INTERVAL = 1 << 16;
+	private static final int SECURITY_STRENGTH = 256;
+
+	private final SecureRandom seedSource = createSeedSource();
+	private final ThreadLocal<ThreadGenerator> generators = ThreadLocal.withInitial(ThreadGenerator::new);
+
+	public static IVGenerator getInstance() {
+		return INSTANCE;
+	}
+
+	/***
+	 * Generates a random iv
+	 * 
+	 * @return byte array of generated random iv
+	 */
+	public byte[] generateIV() {
+		byte[] iv = new byte[IV_LENGTH];
+		nextBytes(iv);
+		return iv;
+	}
+
+	/***
+	 * Fills the array with random bytes
+	 * 
+	 * @param bytes
+	 */
+	public void nextBytes(byte[] bytes) {
+		getRandom().nextBytes(bytes);
+	}
+
+	/***
+	 * Provides the generator of the calling thread, reseeded when it is due. The
+	 * generator must not be shared with other threads.
+	 * 
+	 * @return SecureRandom of the calling thread
+	 */
+	public SecureRandom getRandom() {
+		ThreadGenerator generator = generators.get();
+		if (++generator.requests > RESEED_INTERVAL) {
+			generator.reseed();
+		}
+		return generator.random;
+	}
+
+	private SecureRandom createDRBG() {
+		EntropySource entropySource = new EntropySource() {
+			@Override
+			public boolean isPredictionResistant() {
+				return false;
+			}
+
+			@Override
+			public byte[] getEntropy() {
+				byte[] entropy = new byte[(SECURITY_STRENGTH + 7) / 8];
+				seedSource.nextBytes(entropy);
+				return entropy;
+			}
+
+			@Override
+			public int entropySize() {
+				return SECURITY_STRENGTH;
+			}
+		};
+
+		// personalise with the thread so that no two generators share a state
+		byte[] personalization = ByteBuffer.allocate(16).putLong(Thread.currentThread().getId())
+				.putLong(System.nanoTime()).array();
+		byte[] nonce = new byte[16];
+		seedSource.nextBytes(nonce);
+
+		return new SP800SecureRandomBuilder(bits -> entropySource)
+				.setPersonalizationString(personalization)
+				.setSecurityStrength(SECURITY_STRENGTH)
+				.setEntropyBitsRequired(SECURITY_STRENGTH)
+				.buildHash(new SHA256Digest(), nonce, false);
+	}
+
+	/***
+	 * Instantiate the seed source, the non-blocking native generator where
+	 * available
+	 * 
+	 * @return SecureRandom
+	 */
+	private static SecureRandom createSeedSource() {
+		try {
+			return SecureRandom.getInstance("NativePRNGNonBlocking");
+		} catch (NoSuchAlgorithmException nae) {
+			LOGGER.warn("Couldn't create non-blocking secure random generator; reason: {}.", nae.getMessage());
+			return new SecureRandom();
+		}
+	}
+
+	private class ThreadGenerator {
+		private SecureRandom random = createDRBG();
+		private int requests = 0;
+
+		private void reseed() {
+			random = createDRBG();
+			requests = 1;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package tgs.dl.intfc.utils;
+
+import java.security.GeneralSecurityException;
+import java.security.spec.AlgorithmParameterSpec;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import tgs.dl.intfc.constants.CipherAlgorithm;
+
+/***
+ * CipherEngine on the JCE provider of the JVM, which uses the AES instructions
+ * of the CPU where available. Each thread reuses its own Cipher instance.
+ */
+public class JCECipherEngine implements CipherEngine {
+
+	private static final String ALGORITHM = "AES";
+
+	private final CipherAlgorithm algorithm;
+	private final ThreadLocal<Cipher> ciphers;
+
+	public JCECipherEngine() {
+		this(CipherAlgorithm.AES_CBC);
+	}
+
+	public JCECipherEngine(CipherAlgorithm algorithm) {
+		this.algorithm = algorithm;
+		this.ciphers = ThreadLocal.withInitial(() -> {
+			try {
+				return Cipher.getInstance(algorithm.getAlgorithmName());
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException(algorithm.getAlgorithmName() + " is not available", e);
+			}
+		});
+	}
+
+	@Override
+	public CipherAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	@Override
+	public int encrypt(byte[] key, byte[] iv, byte[] input, int inputOffset, int inputLength, byte[] output)
+			throws Exception {
+		return process(Cipher.ENCRYPT_MODE, key, iv, input, inputOffset, inputLength, output);
+	}
+
+	@Override
+	public int decrypt(byte[] key, byte[] iv, byte[] input, int inputOffset, int inputLength, byte[] output)
+			throws Exception {
+		return process(Cipher.DECRYPT_MODE, key, iv, input, inputOffset, inputLength, output);
+	}
+
+	private int process(int mode, byte[] key, byte[] iv, byte[] input, int inputOffset, int inputLength,
+			byte[] output) throws GeneralSecurityException {
+		AlgorithmParameterSpec parameterSpec = algorithm == CipherAlgorithm.AES_GCM
+				? new GCMParameterSpec(CipherAlgorithm.GCM_TAG_LENGTH, iv)
+				: new IvParameterSpec(iv);
+
+		Cipher cipher = ciphers.get();
+		cipher.init(mode, new SecretKeySpec(key, ALGORITHM), parameterSpec);
+		return cipher.doFinal(input, inputOffset, inputLength, output, 0);
+	}
+}
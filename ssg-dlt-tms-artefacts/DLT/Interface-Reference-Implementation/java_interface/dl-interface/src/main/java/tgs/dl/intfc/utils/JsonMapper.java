@@ -17,39 +17,106 @@
 package tgs.dl.intfc.utils;
 
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
+import tgs.dl.intfc.config.model.SecretKVPair;
+import tgs.dl.intfc.key.mgmt.model.KeyConfig;
+import tgs.dl.intfc.key.mgmt.model.OrgKeyRecord;
+import tgs.dl.intfc.model.DLTPayload;
+import tgs.dl.intfc.model.RequestData;
+
+/***
+ * Json serialization backed by one shared ObjectMapper
+ * 
+ * Readers and writers are built once per type so that Jackson's introspection
+ * and serializer caches are reused by every JsonMapper. The shared mapper must
+ * not be reconfigured.
+ */
 public class JsonMapper {
 
+	private static final ObjectMapper SHARED_MAPPER = createObjectMapper();
+	private static final ConcurrentMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+	static {
+		// types of the read and write paths are resolved up front
+		Class<?>[] types = { RequestData.class, DLTPayload.class, OrgKeyRecord.class, KeyConfig.class,
+				SecretKVPair.class };
+		for (Class<?> type : types) {
+			getReader(type);
+			getWriter(type);
+		}
+	}
+
 	protected final ObjectMapper objectMapper;
 
 	public JsonMapper() {
-		this(new ObjectMapper());
-		objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-		objectMapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+		this(SHARED_MAPPER);
 	}
 
 	public JsonMapper(ObjectMapper objectMapper) {
 		this.objectMapper = objectMapper;
 	}
 
+	private static ObjectMapper createObjectMapper() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		objectMapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+		return objectMapper;
+	}
+
+	/***
+	 * Provides the shared reader of the given type
+	 * 
+	 * @param type
+	 * @return ObjectReader
+	 */
+	public static ObjectReader getReader(Class<?> type) {
+		return READERS.computeIfAbsent(type, SHARED_MAPPER::readerFor);
+	}
+
+	/***
+	 * Provides the shared writer of the given type
+	 * 
+	 * @param type
+	 * @return ObjectWriter
+	 */
+	public static ObjectWriter getWriter(Class<?> type) {
+		return WRITERS.computeIfAbsent(type, SHARED_MAPPER::writerFor);
+	}
+
 	public String serializeToJson(Object obj) throws JsonProcessingException {
-		return objectMapper.writeValueAsString(obj);
+		if (obj == null || objectMapper != SHARED_MAPPER) {
+			return objectMapper.writeValueAsString(obj);
+		}
+		return getWriter(obj.getClass()).writeValueAsString(obj);
 	}
 
 	public <T> T deserializeFromJson(String jsonText, Class<T> objectType) throws IOException {
-		return objectMapper.readValue(jsonText, objectType);
+		if (objectMapper != SHARED_MAPPER) {
+			return objectMapper.readValue(jsonText, objectType);
+		}
+		return getReader(objectType).readValue(jsonText);
 	}
 
 	public JsonNode readTree(String jsonText) throws IOException {
 		return objectMapper.readTree(jsonText);
 	}
 	
+	public <T> T convertValue(Object fromValue, TypeReference<T> toValueTypeRef) {
+		return objectMapper.convertValue(fromValue, toValueTypeRef);
+	}
+	
 	public String serializeToPrettyJson(Object obj) throws JsonProcessingException {
 		return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(obj);
 	}
@@ -0,0 +1,182 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import tgs.dl.intfc.model.ReadResponse;
+import tgs.dl.intfc.model.RequestData;
+
+/***
+ * Decodes the chaincode response of a read
+ * 
+ * The Lambda payload is parsed with a streaming parser. Values that hold Json
+ * as a string (the payload itself, result, data or a record) are parsed in
+ * place from the parser's text buffer, and each record is bound to RequestData
+ * as soon as it is read.
+ */
+public class ReadResponseDecoder {
+
+	private static final Logger LOGGER = LogManager.getLogger(ReadResponseDecoder.class);
+	private static final String RESULT_FIELD = "result";
+	private static final String DATA_FIELD = "data";
+	private static final String FORMAT_ERROR = "Error in Data Format.";
+
+	private static final ObjectReader RECORD_READER = JsonMapper.getReader(RequestData.class);
+	private static final ObjectReader NODE_READER = JsonMapper.getReader(JsonNode.class);
+	private static final JsonFactory JSON_FACTORY = RECORD_READER.getFactory();
+
+	/***
+	 * Decodes the response and collects its records
+	 * 
+	 * @param payload : Lambda payload
+	 * @return ReadResponse with the records in data
+	 * @throws IOException : if the response has an invalid format
+	 */
+	public ReadResponse decode(ByteBuffer payload) throws IOException {
+		List<RequestData> records = new ArrayList<>();
+		ReadResponse readResponse = decode(payload, records::add);
+		readResponse.setData(records);
+		return readResponse;
+	}
+
+	/***
+	 * Decodes the response, handing each record over as soon as it is read
+	 * 
+	 * @param payload        : Lambda payload
+	 * @param recordConsumer : receives the records in the order of the response
+	 * @return ReadResponse without data
+	 * @throws IOException : if the response has an invalid format
+	 */
+	public ReadResponse decode(ByteBuffer payload, Consumer<RequestData> recordConsumer) throws IOException {
+		try (JsonParser parser = JSON_FACTORY.createParser(new ByteBufferBackedInputStream(payload.duplicate()))) {
+			parser.nextToken();
+			return decodeResponse(parser, recordConsumer);
+		} catch (IOException e) {
+			LOGGER.error("decode : ", e);
+			throw (e);
+		}
+	}
+
+	private ReadResponse decodeResponse(JsonParser parser, Consumer<RequestData> recordConsumer) throws IOException {
+		if (parser.currentToken() == JsonToken.VALUE_STRING) {
+			try (JsonParser nestedParser = createNestedParser(parser)) {
+				return decodeResponse(nestedParser, recordConsumer);
+			}
+		}
+		checkToken(parser, JsonToken.START_OBJECT);
+
+		ReadResponse readResponse = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			parser.nextToken();
+
+			if (RESULT_FIELD.equals(fieldName)) {
+				readResponse = decodeResult(parser, recordConsumer);
+			} else {
+				parser.skipChildren();
+			}
+		}
+
+		if (readResponse == null) {
+			throw new IOException(FORMAT_ERROR);
+		}
+		return readResponse;
+	}
+
+	private ReadResponse decodeResult(JsonParser parser, Consumer<RequestData> recordConsumer) throws IOException {
+		if (parser.currentToken() == JsonToken.VALUE_STRING) {
+			try (JsonParser nestedParser = createNestedParser(parser)) {
+				return decodeResult(nestedParser, recordConsumer);
+			}
+		}
+		checkToken(parser, JsonToken.START_OBJECT);
+
+		ReadResponse readResponse = new ReadResponse();
+		boolean hasData = false;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			parser.nextToken();
+
+			if (DATA_FIELD.equals(fieldName)) {
+				decodeData(parser, recordConsumer);
+				hasData = true;
+			} else {
+				readResponse.setProperty(fieldName, NODE_READER.readValue(parser));
+			}
+		}
+
+		if (!hasData) {
+			throw new IOException(FORMAT_ERROR);
+		}
+		return readResponse;
+	}
+
+	private void decodeData(JsonParser parser, Consumer<RequestData> recordConsumer) throws IOException {
+		if (parser.currentToken() == JsonToken.VALUE_STRING) {
+			try (JsonParser nestedParser = createNestedParser(parser)) {
+				decodeData(nestedParser, recordConsumer);
+				return;
+			}
+		}
+		checkToken(parser, JsonToken.START_ARRAY);
+
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			if (parser.currentToken() == JsonToken.VALUE_STRING) {
+				try (JsonParser nestedParser = createNestedParser(parser)) {
+					recordConsumer.accept(RECORD_READER.readValue(nestedParser));
+				}
+			} else {
+				checkToken(parser, JsonToken.START_OBJECT);
+				recordConsumer.accept(RECORD_READER.readValue(parser));
+			}
+		}
+	}
+
+	/***
+	 * Creates a parser over the Json held by the current string value, the
+	 * nested parser reads the text buffer of the parser without copying it and
+	 * is positioned on its first token
+	 */
+	private static JsonParser createNestedParser(JsonParser parser) throws IOException {
+		JsonParser nestedParser = JSON_FACTORY.createParser(parser.getTextCharacters(), parser.getTextOffset(),
+				parser.getTextLength());
+		nestedParser.nextToken();
+		return nestedParser;
+	}
+
+	private static void checkToken(JsonParser parser, JsonToken expected) throws IOException {
+		if (parser.currentToken() != expected) {
+			throw new IOException(FORMAT_ERROR + " Expected " + expected + " but was " + parser.currentToken());
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package tgs.dl.intfc.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/***
+ * ByteArrayOutputStream whose buffer can be used in place and reused. Meant to
+ * be held per thread, the buffer is kept between uses unless it grew past
+ * maxRetainedSize.
+ */
+public class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+
+	private final int initialSize;
+	private final int maxRetainedSize;
+
+	public ReusableByteArrayOutputStream(int initialSize, int maxRetainedSize) {
+		super(initialSize);
+		this.initialSize = initialSize;
+		this.maxRetainedSize = maxRetainedSize;
+	}
+
+	/***
+	 * @return the buffer, the first size() bytes are valid
+	 */
+	public byte[] getBuffer() {
+		return buf;
+	}
+
+	/***
+	 * Makes the buffer at least the given size, without keeping its content
+	 * 
+	 * @param minCapacity
+	 * @return the buffer
+	 */
+	public byte[] ensureCapacity(int minCapacity) {
+		if (buf.length < minCapacity) {
+			Arrays.fill(buf, 0, count, (byte) 0);
+			buf = new byte[Math.max(minCapacity, buf.length * 2)];
+			count = 0;
+		}
+		return buf;
+	}
+
+	/***
+	 * Zeroes the written bytes and empties the stream, releasing the buffer if it
+	 * grew past maxRetainedSize
+	 */
+	public void clear() {
+		Arrays.fill(buf, 0, Math.min(count, buf.length), (byte) 0);
+		count = 0;
+		if (buf.length > maxRetainedSize) {
+			buf = new byte[initialSize];
+		}
+	}
+
+	/***
+	 * Zeroes the given number of bytes of the buffer and empties the stream, for
+	 * a buffer written through ensureCapacity
+	 * 
+	 * @param length
+	 */
+	public void clear(int length) {
+		count = Math.max(count, Math.min(length, buf.length));
+		clear();
+	}
+}
@@ -0,0 +1,123 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/***
+ * Registry of compiled JSON Schemas by schema location
+ * 
+ * Each schema file is read and compiled once, the compiled Schema is reused
+ * until the last modified time of the file changes.
+ */
+public class SchemaRegistry {
+
+	private static final Logger LOGGER = LogManager.getLogger(SchemaRegistry.class);
+	private static final SchemaRegistry INSTANCE = new SchemaRegistry();
+
+	private final ConcurrentMap<Path, CompiledSchema> schemas = new ConcurrentHashMap<>();
+
+	public static SchemaRegistry getInstance() {
+		return INSTANCE;
+	}
+
+	/***
+	 * Provides the compiled schema of the given location
+	 * 
+	 * @param schemaLocation : path of the schema file
+	 * @return compiled Schema
+	 * @throws IOException : if the schema file cannot be read
+	 */
+	public Schema getSchema(String schemaLocation) throws IOException {
+		Path path = Paths.get(schemaLocation).toAbsolutePath().normalize();
+		FileTime lastModified = Files.getLastModifiedTime(path);
+
+		CompiledSchema compiled = schemas.get(path);
+		if (compiled != null && compiled.lastModified.equals(lastModified)) {
+			return compiled.schema;
+		}
+
+		try {
+			return schemas.compute(path, (key, current) -> {
+				if (current != null && current.lastModified.equals(lastModified)) {
+					return current;
+				}
+				return compile(key, lastModified);
+			}).schema;
+		} catch (UncheckedIOException e) {
+			LOGGER.error("getSchema : ", e);
+			throw e.getCause();
+		}
+	}
+
+	/***
+	 * Removes the compiled schema of the given location
+	 * 
+	 * @param schemaLocation : path of the schema file
+	 */
+	public void invalidate(String schemaLocation) {
+		schemas.remove(Paths.get(schemaLocation).toAbsolutePath().normalize());
+	}
+
+	/***
+	 * Removes all compiled schemas
+	 */
+	public void clear() {
+		schemas.clear();
+	}
+
+	public int size() {
+		return schemas.size();
+	}
+
+	private static CompiledSchema compile(Path path, FileTime lastModified) {
+		LOGGER.trace("compile : {}", path);
+
+		try (InputStream inputStream = Files.newInputStream(path)) {
+			JSONObject jsonSchema = new JSONObject(new JSONTokener(inputStream));
+			return new CompiledSchema(SchemaLoader.load(jsonSchema), lastModified);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static class CompiledSchema {
+		private final Schema schema;
+		private final FileTime lastModified;
+
+		private CompiledSchema(Schema schema, FileTime lastModified) {
+			this.schema = schema;
+			this.lastModified = lastModified;
+		}
+	}
+
+}
@@ -17,28 +17,31 @@
 package tgs.dl.intfc.utils;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
-import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
 import org.json.JSONObject;
-import org.json.JSONTokener;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import tgs.dl.intfc.InvalidRequestException;
 import tgs.dl.intfc.constants.HeaderKeys;
 import tgs.dl.intfc.constants.ValidationConstants;
 import tgs.dl.intfc.constants.WriteHeaderKeys;
+import tgs.dl.intfc.logging.PayloadLogger;
 import tgs.dl.intfc.model.RequestData;
 
 public class SchemaValidationUtil {
 
 	private static final Logger LOGGER = LogManager.getLogger(SchemaValidationUtil.class);
+	private static final PayloadLogger WRITE_PAYLOADS = PayloadLogger.getLogger(PayloadLogger.WRITE);
+	private static final SchemaRegistry SCHEMA_REGISTRY = SchemaRegistry.getInstance();
 
 	/***
 	 * Validates the schema,
@@ -48,9 +51,20 @@ public class SchemaValidationUtil {
 	 * @throws Exception : if schema is not valid
 	 */
 	public RequestData validateWriteEventData(String eventData) throws Exception {
+		RequestData request = new JsonMapper().deserializeFromJson(eventData, RequestData.class);
+		return validateWriteEventData(request);
+	}
+
+	/***
+	 * Validates the schema of a parsed request,
+	 * 
+	 * @param request
+	 * @return RequestData
+	 * @throws Exception : if schema is not valid
+	 */
+	public RequestData validateWriteEventData(RequestData request) throws Exception {
 		boolean isSchemaValid = false;
 
-		RequestData request = new JsonMapper().deserializeFromJson(eventData, RequestData.class);
 		JsonNode headerNode = request.getHeader();
 
 		/**
@@ -59,7 +73,8 @@ public class SchemaValidationUtil {
 		 * public github url provided by SSG
 		 */
 		String schemaLocation = headerNode.get("schemaLocation").asText();
-		isSchemaValid = isSchemaValid(readFileContent(schemaLocation), eventData);
+		JSONObject jsonSubject = toJSONObject(request);
+		isSchemaValid = isSchemaValid(SCHEMA_REGISTRY.getSchema(schemaLocation), jsonSubject);
 
 		/**
 		 * return RequestData Object if schema is valid
@@ -84,7 +99,7 @@ public class SchemaValidationUtil {
 		else
 			payloadNode = request.getPayload().at("/" + eventType.toLowerCase());
 
-		System.out.println(payloadNode);
+		WRITE_PAYLOADS.trace("isWriteInputValid : payloadNode : {}", payloadNode);
 		JsonNode publicPayloadNode = request.getPublicPayload();
 
 		int errorCount = 0;
@@ -163,9 +178,19 @@ public class SchemaValidationUtil {
 	 * @throws Exception
 	 */
 	public RequestData validateReadEventData(String eventData) throws Exception {
-		int errorCount = 0;
-
 		RequestData request = new JsonMapper().deserializeFromJson(eventData, RequestData.class);
+		return validateReadEventData(request);
+	}
+
+	/***
+	 * Validates a parsed request of Read data
+	 * 
+	 * @param request
+	 * @return RequestData obj
+	 * @throws Exception
+	 */
+	public RequestData validateReadEventData(RequestData request) throws Exception {
+		int errorCount = 0;
 
 		/**
 		 * validate schema
@@ -189,7 +214,7 @@ public class SchemaValidationUtil {
 		}
 
 		String msg = "Invalid Schema";
-		IOException e = new IOException(msg);
+		IOException e = new InvalidRequestException(msg);
 		LOGGER.error("validateReadEventData : ", e);
 		throw e;
 
@@ -198,17 +223,14 @@ public class SchemaValidationUtil {
 	/***
 	 * Validate the schema of json string
 	 * 
-	 * @param schemaLocation
-	 * @param jsonString
+	 * @param schema : compiled schema
+	 * @param jsonSubject
 	 * @return boolean : status of the validation
 	 */
-	private boolean isSchemaValid(String schemaLocation, String jsonString) {
+	private boolean isSchemaValid(Schema schema, JSONObject jsonSubject) {
 		boolean isValid = false;
 
-		JSONObject jsonSchema = new JSONObject(new JSONTokener(schemaLocation));
-		JSONObject jsonSubject = new JSONObject(new JSONTokener(jsonString));
 		try {
-			Schema schema = SchemaLoader.load(jsonSchema);
 			schema.validate(jsonSubject);
 			isValid = true;
 		} catch (ValidationException e) {
@@ -219,21 +241,64 @@ public class SchemaValidationUtil {
 	}
 
 	/***
-	 * reads a file content
+	 * Converts a parsed request to the org.json tree of the schema validator,
+	 * fields of the request that are null are left out as in its Json
 	 * 
-	 * @param filePath
-	 * @return String of contents of the given file
+	 * @param request
+	 * @return JSONObject of the request
 	 */
-	private static String readFileContent(String filePath) {
-		String content = null;
+	private static JSONObject toJSONObject(RequestData request) {
+		JSONObject jsonObject = new JSONObject();
+		putIfNotNull(jsonObject, "header", request.getHeader());
+		putIfNotNull(jsonObject, "payload", request.getPayload());
+		putIfNotNull(jsonObject, "publicPayload", request.getPublicPayload());
+		putIfNotNull(jsonObject, "dltData", request.getDltData());
+		if (request.getError() != null) {
+			jsonObject.put("error", request.getError());
+		}
+		return jsonObject;
+	}
 
-		try {
-			content = new String(Files.readAllBytes(Paths.get(filePath)));
-		} catch (IOException e) {
-			LOGGER.error("readFileContent : ", e);
+	private static void putIfNotNull(JSONObject jsonObject, String key, JsonNode node) {
+		if (node != null) {
+			jsonObject.put(key, toJSON(node));
 		}
+	}
 
-		return content;
+	/***
+	 * Converts a Json node without serializing it, null values are kept as
+	 * JSONObject.NULL so the schema sees them
+	 * 
+	 * @param node
+	 * @return JSONObject, JSONArray, JSONObject.NULL or the scalar value
+	 */
+	private static Object toJSON(JsonNode node) {
+		if (node.isObject()) {
+			JSONObject jsonObject = new JSONObject();
+			Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				jsonObject.put(field.getKey(), toJSON(field.getValue()));
+			}
+			return jsonObject;
+		}
+		if (node.isArray()) {
+			JSONArray jsonArray = new JSONArray();
+			for (JsonNode element : node) {
+				jsonArray.put(toJSON(element));
+			}
+			return jsonArray;
+		}
+		if (node.isNull() || node.isMissingNode()) {
+			return JSONObject.NULL;
+		}
+		if (node.isNumber()) {
+			return node.numberValue();
+		}
+		if (node.isBoolean()) {
+			return node.booleanValue();
+		}
+		return node.asText();
 	}
 
 	/***
@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.Test;
 
@@ -28,6 +29,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 
 import tgs.dl.intfc.TransactionHandler;
 import tgs.dl.intfc.impl.TransactionHandlerImpl;
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.utils.JsonMapper;
 import tgs.dl.test.util.TestUtils;
 
 public class TransactionHandlerTest {
@@ -56,6 +59,26 @@ public class TransactionHandlerTest {
 		assertNotNull(exception.getMessage());
 	}
 	
+	@Test
+	public void writeTransactionRequestData() throws Exception {
+		String eventData = UTIL.generateDesiarilizedRequest(UTIL.readFile(SAMPLE_REQUEST));
+		RequestData request = new JsonMapper().deserializeFromJson(eventData, RequestData.class);
+		
+		assertDoesNotThrow(() -> {
+			transactionHandler.writeTransaction(request);
+		});
+	}
+	
+	@Test
+	public void writeTransactionNullRequestData() {
+		Exception exception = assertThrows(IOException.class, () -> {
+			RequestData request = null;
+			transactionHandler.writeTransaction(request);
+		});
+
+		assertNotNull(exception.getMessage());
+	}
+	
 	@Test
 	public void readTransaction() throws JsonProcessingException, Exception {
 		String sampleRequest = "unit_test/json/read_transaction_request.json";
@@ -64,4 +87,32 @@ public class TransactionHandlerTest {
 		
 		assertNotNull(readResponse);
 	}
+	
+	@Test
+	public void writeTransactionAsync() throws Exception {
+		String eventData = UTIL.generateDesiarilizedRequest(UTIL.readFile(SAMPLE_REQUEST));
+		
+		assertDoesNotThrow(() -> {
+			transactionHandler.writeTransactionAsync(eventData).get();
+		});
+	}
+	
+	@Test
+	public void writeTransactionAsyncCompletesExceptionally() {
+		Exception exception = assertThrows(ExecutionException.class, () -> {
+			String eventData = "";
+			transactionHandler.writeTransactionAsync(eventData).get();
+		});
+
+		assertNotNull(exception.getCause());
+	}
+	
+	@Test
+	public void readTransactionAsync() throws Exception {
+		String sampleRequest = "unit_test/json/read_transaction_request.json";
+		String eventData = UTIL.readFile(sampleRequest);
+		String readResponse = transactionHandler.readTransactionAsync(eventData).get();
+		
+		assertNotNull(readResponse);
+	}
 }
@@ -0,0 +1,35 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.aws;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class AWSClientTest {
+
+	@Test
+	public void testClosedRegistryRejectsClients() {
+		AWSClient awsClient = new AWSClient();
+		awsClient.close();
+
+		assertThrows(IllegalStateException.class, awsClient::getLambdaClient);
+		assertThrows(IllegalStateException.class, awsClient::getLambdaAsyncClient);
+		assertThrows(IllegalStateException.class, awsClient::getSQSClient);
+		assertThrows(IllegalStateException.class, awsClient::getSecretsMgrClient);
+	}
+}
@@ -17,15 +17,22 @@
 package tgs.dl.intfc.aws;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import tgs.dl.intfc.aws.AWSClient;
 import tgs.dl.intfc.aws.SQSService;
 import tgs.dl.intfc.constants.Constants;
+import tgs.dl.intfc.model.WriteResult;
 
 public class SQSServiceTest {
 	private SQSService sqsService;
@@ -54,4 +61,48 @@ public class SQSServiceTest {
 
 		assertNotNull(exception.getMessage());
 	}
+	
+	@Test
+	public void testSendMessageBatch() throws Exception {
+		List<String> messageBodies = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			messageBodies.add("{Sample Message " + i + "}");
+		}
+		
+		List<WriteResult> results = sqsService.sendMessageBatch(Constants.SQS_URL, messageBodies);
+		
+		assertEquals(messageBodies.size(), results.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, results.get(i).getIndex());
+		}
+	}
+	
+	@Test
+	public void testSendMessageBatchOversizedMessage() throws Exception {
+		char[] oversized = new char[256 * 1024 + 1];
+		Arrays.fill(oversized, 'x');
+		
+		List<WriteResult> results = sqsService.sendMessageBatch(Constants.SQS_URL,
+				Arrays.asList("{Sample Message}", new String(oversized)));
+		
+		assertEquals(2, results.size());
+		assertFalse(results.get(1).isSuccess());
+		assertNotNull(results.get(1).getMessage());
+	}
+	
+	@Test
+	public void testSendMessageBatchMissingURL() throws Exception {
+		List<String> messageBodies = new ArrayList<>();
+		for (int i = 0; i < 15; i++) {
+			messageBodies.add("{Sample Message " + i + "}");
+		}
+		
+		List<WriteResult> results = sqsService.sendMessageBatch("./", messageBodies);
+		
+		assertEquals(messageBodies.size(), results.size());
+		for (WriteResult result : results) {
+			assertFalse(result.isSuccess());
+			assertNotNull(result.getMessage());
+		}
+	}
 }
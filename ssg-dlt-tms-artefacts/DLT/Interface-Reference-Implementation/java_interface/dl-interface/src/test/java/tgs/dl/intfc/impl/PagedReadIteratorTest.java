@@ -0,0 +1,192 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import tgs.dl.intfc.model.ReadResponse;
+import tgs.dl.intfc.model.RequestData;
+
+public class PagedReadIteratorTest {
+	private static final int PAGE_SIZE = 10;
+
+	private final List<Integer> requestedPages = new ArrayList<>();
+	private final List<CompletableFuture<ByteBuffer>> results = new ArrayList<>();
+
+	private CompletableFuture<ByteBuffer> fetchPage(int pageNumber) {
+		requestedPages.add(pageNumber);
+		CompletableFuture<ByteBuffer> result = CompletableFuture
+				.completedFuture((ByteBuffer) ByteBuffer.allocate(4).putInt(pageNumber).flip());
+		results.add(result);
+		return result;
+	}
+
+	private static PagedReadIterator.PageDecoder decoder(int totalRecords) {
+		return page -> {
+			int pageNumber = page.getInt();
+			ReadResponse readResponse = new ReadResponse();
+			readResponse.setProperty("page", JsonNodeFactory.instance.textNode(String.valueOf(pageNumber)));
+			readResponse.setProperty("totalRecords", JsonNodeFactory.instance.textNode(String.valueOf(totalRecords)));
+			List<RequestData> data = new ArrayList<>();
+			for (int i = (pageNumber - 1) * PAGE_SIZE; i < Math.min(pageNumber * PAGE_SIZE, totalRecords); i++) {
+				data.add(new RequestData(JsonNodeFactory.instance.numberNode(i), null));
+			}
+			readResponse.setData(data);
+			return readResponse;
+		};
+	}
+
+	@Test
+	public void testReadsAllPagesInOrder() {
+		PagedReadIterator records = new PagedReadIterator(this::fetchPage, decoder(25), 1, PAGE_SIZE, 2);
+
+		int count = 0;
+		while (records.hasNext()) {
+			assertEquals(count++, records.next().getHeader().asInt());
+		}
+		assertEquals(25, count);
+		// last page is known from totalRecords, nothing is requested past it
+		assertEquals(3, requestedPages.size());
+	}
+
+	@Test
+	public void testPrefetchesNextPages() {
+		PagedReadIterator records = new PagedReadIterator(this::fetchPage, decoder(100), 2, PAGE_SIZE, 3);
+
+		assertEquals(PAGE_SIZE, records.next().getHeader().asInt());
+		// page being read and the 3 pages after it
+		assertEquals(4, requestedPages.size());
+		assertEquals(2, requestedPages.get(0).intValue());
+		assertEquals(5, requestedPages.get(3).intValue());
+	}
+
+	@Test
+	public void testStartsOnLastPage() {
+		// pages after the start page never complete
+		PagedReadIterator records = new PagedReadIterator(pageNumber -> {
+			requestedPages.add(pageNumber);
+			CompletableFuture<ByteBuffer> result = pageNumber == 3
+					? CompletableFuture.completedFuture((ByteBuffer) ByteBuffer.allocate(4).putInt(3).flip())
+					: new CompletableFuture<>();
+			results.add(result);
+			return result;
+		}, decoder(25), 3, PAGE_SIZE, 2);
+
+		int count = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+			int read = 0;
+			while (records.hasNext()) {
+				assertEquals(2 * PAGE_SIZE + read++, records.next().getHeader().asInt());
+			}
+			return read;
+		});
+		assertEquals(5, count);
+		// page 3 is the last page, the prefetched pages after it are discarded
+		assertEquals(3, requestedPages.size());
+		assertTrue(results.get(1).isCancelled());
+		assertTrue(results.get(2).isCancelled());
+	}
+
+	@Test
+	public void testStartsOnLastPageWithoutPageSize() {
+		PagedReadIterator records = new PagedReadIterator(this::fetchPage, decoder(25), 3, 0, 1);
+
+		int count = 0;
+		while (records.hasNext()) {
+			assertEquals(2 * PAGE_SIZE + count++, records.next().getHeader().asInt());
+		}
+		assertEquals(5, count);
+		// the short page 3 gives no page size, reading stops at the empty page 4
+		assertEquals(3, requestedPages.get(0).intValue());
+		assertEquals(4, requestedPages.get(1).intValue());
+	}
+
+	@Test
+	public void testPageSizeLargerThanPages() {
+		PagedReadIterator records = new PagedReadIterator(this::fetchPage, decoder(25), 1, 2 * PAGE_SIZE, 0);
+
+		int count = 0;
+		while (records.hasNext()) {
+			records.next();
+			count++;
+		}
+		// no records are lost if the page size does not match the DLT
+		assertEquals(25, count);
+	}
+
+	@Test
+	public void testStopsAtEmptyPage() {
+		PagedReadIterator records = new PagedReadIterator(this::fetchPage, page -> {
+			ReadResponse readResponse = decoder(15).decode(page);
+			readResponse.getProperties().remove("totalRecords");
+			return readResponse;
+		}, 1, PAGE_SIZE, 0);
+
+		int count = 0;
+		while (records.hasNext()) {
+			records.next();
+			count++;
+		}
+		assertEquals(15, count);
+		assertEquals(3, requestedPages.size());
+	}
+
+	@Test
+	public void testCloseDiscardsPrefetchedPages() {
+		PagedReadIterator records = new PagedReadIterator(pageNumber -> {
+			requestedPages.add(pageNumber);
+			CompletableFuture<ByteBuffer> result = pageNumber == 1
+					? CompletableFuture.completedFuture((ByteBuffer) ByteBuffer.allocate(4).putInt(1).flip())
+					: new CompletableFuture<>();
+			results.add(result);
+			return result;
+		}, decoder(100), 1, PAGE_SIZE, 2);
+
+		records.next();
+		records.close();
+
+		assertFalse(records.hasNext());
+		assertTrue(results.get(1).isCancelled());
+		assertTrue(results.get(2).isCancelled());
+	}
+
+	@Test
+	public void testFailedPage() {
+		PagedReadIterator records = new PagedReadIterator(this::fetchPage, page -> {
+			throw new IOException("Error in Data Format.");
+		}, 1, PAGE_SIZE, 1);
+
+		CompletionException e = assertThrows(CompletionException.class, records::hasNext);
+		assertTrue(e.getCause() instanceof IOException);
+		assertFalse(records.hasNext());
+	}
+}
@@ -0,0 +1,314 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import tgs.dl.intfc.aws.SQSService;
+import tgs.dl.intfc.config.model.JournalProperties;
+import tgs.dl.intfc.model.WriteResult;
+import tgs.dl.intfc.spi.MessageQueue;
+
+public class WriteJournalTest {
+	private static final String QUEUE_URL = "queue";
+
+	private Path directory;
+	private JournalProperties properties;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("dl-journal");
+		properties = new JournalProperties();
+		properties.setDirectory(directory.toString());
+		properties.setSegmentSize(256);
+		properties.setMaxSegments(8);
+		properties.setShipInterval(10);
+		properties.setMaxRetryBackoff(100);
+	}
+
+	@AfterEach
+	public void clear() throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Collections.reverseOrder()).collect(Collectors.toList())) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+
+	@Test
+	public void testReadsRecordsInOrder() throws Exception {
+		try (WriteJournal journal = new WriteJournal(properties)) {
+			for (int i = 1; i <= 20; i++) {
+				assertEquals(i, journal.append("message-" + i));
+			}
+
+			List<JournalRecord> records = new ArrayList<>();
+			while (journal.awaitRecords(0)) {
+				records.addAll(journal.read(3));
+			}
+			assertEquals(20, records.size());
+			for (int i = 0; i < records.size(); i++) {
+				assertEquals(i + 1, records.get(i).getSequence());
+				assertEquals("message-" + (i + 1), records.get(i).getPayload());
+			}
+		}
+	}
+
+	@Test
+	public void testRecoversRecordsThatAreNotAcknowledged() throws Exception {
+		try (WriteJournal journal = new WriteJournal(properties)) {
+			for (int i = 1; i <= 10; i++) {
+				journal.append("message-" + i);
+			}
+			journal.acknowledge(journal.read(4).get(3).getSequence());
+			// read but not acknowledged
+			journal.read(2);
+		}
+
+		try (WriteJournal journal = new WriteJournal(properties)) {
+			assertEquals(6, journal.getPendingRecords());
+			List<JournalRecord> records = journal.read(10);
+			assertEquals(6, records.size());
+			assertEquals(5, records.get(0).getSequence());
+			assertEquals(11, journal.append("message-11"));
+		}
+	}
+
+	@Test
+	public void testDropsIncompleteRecord() throws Exception {
+		try (WriteJournal journal = new WriteJournal(properties)) {
+			journal.append("message-1");
+			journal.append("message-2");
+		}
+
+		// corrupt the payload of the second record
+		Path segment = getSegments().get(0);
+		int position = JournalSegment.HEADER_SIZE + "message-1".length() + JournalSegment.HEADER_SIZE;
+		try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+			file.seek(position);
+			file.write('X');
+		}
+
+		try (WriteJournal journal = new WriteJournal(properties)) {
+			List<JournalRecord> records = journal.read(10);
+			assertEquals(1, records.size());
+			assertEquals("message-1", records.get(0).getPayload());
+		}
+	}
+
+	@Test
+	public void testDeletesAcknowledgedSegments() throws Exception {
+		try (WriteJournal journal = new WriteJournal(properties)) {
+			for (int i = 1; i <= 30; i++) {
+				journal.append("message-" + i);
+			}
+			assertTrue(getSegments().size() > 2);
+
+			journal.acknowledge(journal.read(30).get(29).getSequence());
+			assertEquals(1, getSegments().size());
+			assertEquals(0, journal.getPendingRecords());
+		}
+	}
+
+	@Test
+	public void testRejectsWritesWhenFull() throws Exception {
+		properties.setMaxSegments(2);
+		try (WriteJournal journal = new WriteJournal(properties)) {
+			assertThrows(IOException.class, () -> {
+				for (int i = 1; i <= 100; i++) {
+					journal.append("message-" + i);
+				}
+			});
+			assertThrows(IOException.class, () -> journal.append(String.join("", Collections.nCopies(300, "X"))));
+		}
+	}
+
+	@Test
+	public void testShipsWithRetries() throws Exception {
+		List<String> sent = Collections.synchronizedList(new ArrayList<>());
+		MessageQueue failingQueue = new MessageQueue() {
+			private int batches;
+
+			@Override
+			public boolean sendMessage(String queueUrl, String messageBody) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public CompletableFuture<Boolean> sendMessageAsync(String queueUrl, String messageBody) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public List<WriteResult> sendMessageBatch(String queueUrl, List<String> messageBodies) {
+				List<WriteResult> results = new ArrayList<>();
+				batches++;
+				for (int i = 0; i < messageBodies.size(); i++) {
+					WriteResult result = new WriteResult(i);
+					// the last message of every other batch fails
+					result.setSuccess(batches % 2 == 0 || i < messageBodies.size() - 1);
+					if (result.isSuccess()) {
+						sent.add(messageBodies.get(i));
+					}
+					results.add(result);
+				}
+				return results;
+			}
+		};
+
+		properties.setShipBatchSize(4);
+		try (JournalMessageQueue queue = new JournalMessageQueue(new WriteJournal(properties), failingQueue,
+				QUEUE_URL, properties)) {
+			for (int i = 1; i <= 10; i++) {
+				assertTrue(queue.sendMessage(QUEUE_URL, "message-" + i));
+			}
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (queue.getJournal().getPendingRecords() > 0 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, queue.getJournal().getPendingRecords());
+		}
+
+		assertEquals(10, sent.size());
+		for (int i = 1; i <= 10; i++) {
+			assertTrue(sent.contains("message-" + i));
+		}
+	}
+
+	@Test
+	public void testRejectsMessagesOverTheQueueLimit() throws Exception {
+		properties.setSegmentSize(512 * 1024);
+		try (JournalMessageQueue queue = new JournalMessageQueue(new WriteJournal(properties), new RecordingQueue(),
+				QUEUE_URL, properties)) {
+			String oversized = String.join("", Collections.nCopies(SQSService.MAX_MESSAGE_BYTES + 1, "X"));
+			assertThrows(IOException.class, () -> queue.sendMessage(QUEUE_URL, oversized));
+
+			List<WriteResult> results = queue.sendMessageBatch(QUEUE_URL, Arrays.asList("message-1", oversized));
+			assertTrue(results.get(0).isSuccess());
+			assertFalse(results.get(1).isSuccess());
+			assertEquals(1, queue.getJournal().getLastSequence());
+		}
+	}
+
+	@Test
+	public void testDeadLettersSenderFaults() throws Exception {
+		RecordingQueue rejectingQueue = new RecordingQueue() {
+			@Override
+			public List<WriteResult> sendMessageBatch(String queueUrl, List<String> messageBodies) {
+				List<WriteResult> results = super.sendMessageBatch(queueUrl, messageBodies);
+				for (WriteResult result : results) {
+					if (messageBodies.get(result.getIndex()).equals("message-3")) {
+						result.setSuccess(false);
+						result.setSenderFault(true);
+						result.setMessage("InvalidMessageContents : rejected");
+					}
+				}
+				return results;
+			}
+		};
+
+		properties.setShipBatchSize(4);
+		try (JournalMessageQueue queue = new JournalMessageQueue(new WriteJournal(properties), rejectingQueue,
+				QUEUE_URL, properties)) {
+			for (int i = 1; i <= 6; i++) {
+				assertTrue(queue.sendMessage(QUEUE_URL, "message-" + i));
+			}
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (queue.getJournal().getPendingRecords() > 0 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, queue.getJournal().getPendingRecords());
+		}
+
+		List<String> deadLetters = Files.readAllLines(directory.resolve(WriteJournal.DEAD_LETTER_FILE));
+		assertEquals(Collections.singletonList("3\tInvalidMessageContents : rejected\tmessage-3"), deadLetters);
+	}
+
+	@Test
+	public void testReadsNothingAfterRecovery() throws Exception {
+		try (WriteJournal journal = new WriteJournal(properties)) {
+			journal.append("message-1");
+			journal.acknowledge(journal.read(1).get(0).getSequence());
+		}
+
+		try (WriteJournal journal = new WriteJournal(properties)) {
+			assertTrue(journal.read(10).isEmpty());
+			assertEquals(2, journal.append("message-2"));
+			assertEquals("message-2", journal.read(10).get(0).getPayload());
+		}
+	}
+
+	/***
+	 * Accepts every message
+	 */
+	private static class RecordingQueue implements MessageQueue {
+		@Override
+		public boolean sendMessage(String queueUrl, String messageBody) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public CompletableFuture<Boolean> sendMessageAsync(String queueUrl, String messageBody) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<WriteResult> sendMessageBatch(String queueUrl, List<String> messageBodies) {
+			List<WriteResult> results = new ArrayList<>();
+			for (int i = 0; i < messageBodies.size(); i++) {
+				WriteResult result = new WriteResult(i);
+				result.setSuccess(true);
+				results.add(result);
+			}
+			return results;
+		}
+	}
+
+	private List<Path> getSegments() throws IOException {
+		List<Path> segments = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + JournalSegment.FILE_SUFFIX)) {
+			stream.forEach(segments::add);
+		}
+		Collections.sort(segments);
+		return segments;
+	}
+
+}
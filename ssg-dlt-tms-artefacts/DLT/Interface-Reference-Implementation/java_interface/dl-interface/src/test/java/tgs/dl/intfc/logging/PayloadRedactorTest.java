@@ -0,0 +1,90 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.config.model.LoggingProperties;
+
+public class PayloadRedactorTest {
+	private final PayloadRedactor redactor = new PayloadRedactor(
+			Arrays.asList("encryptedKey", "dataKey", "iv", "record"));
+
+	@Test
+	public void testMasksFieldValues() {
+		String text = "{\"primaryKey\":\"abc\",\"dataKey\" : \"a2V5\",\"iv\":[1,2,3],\"version\":2,"
+				+ "\"record\":{\"name\":\"x\"},\"encryptedKey\":null}";
+
+		assertEquals("{\"primaryKey\":\"abc\",\"dataKey\" : \"***\",\"iv\":\"***\",\"version\":2,"
+				+ "\"record\":\"***\",\"encryptedKey\":\"***\"}", redactor.redact(text, 0));
+	}
+
+	@Test
+	public void testMasksEscapedValues() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		String embedded = "{\"dataKey\":\"a2V5\",\"record\":\"c2Vj\\\"cmV0\",\"tag\":\"t\"}";
+		ObjectNode node = mapper.createObjectNode();
+		node.putArray("args").add(embedded);
+		String text = mapper.writeValueAsString(node);
+
+		String redacted = redactor.redact(text, 0);
+		assertFalse(redacted.contains("a2V5"));
+		assertFalse(redacted.contains("c2Vj"));
+		assertFalse(redacted.contains("cmV0"));
+		assertTrue(redacted.contains("tag"));
+		// the embedded JSON is still valid once unescaped
+		String unescaped = mapper.readTree(redacted).get("args").get(0).asText();
+		assertEquals("***", mapper.readTree(unescaped).get("record").asText());
+	}
+
+	@Test
+	public void testTruncates() {
+		String text = "{\"primaryKey\":\"0123456789\"}";
+
+		assertEquals("{\"primaryKey\":\"01...(10 more characters)", redactor.redact(text, 17));
+		assertEquals(text, redactor.redact(text, text.length()));
+	}
+
+	@Test
+	public void testSamplesPayloads() {
+		LoggingProperties properties = new LoggingProperties();
+		properties.setSampleRate(1);
+		properties.getSampleRates().put(PayloadLogger.READ, 100);
+
+		PayloadPolicy writePolicy = new PayloadPolicy(PayloadLogger.WRITE, properties);
+		PayloadPolicy readPolicy = new PayloadPolicy(PayloadLogger.READ, properties);
+		int sampled = 0;
+		for (int i = 0; i < 10000; i++) {
+			assertTrue(writePolicy.sample());
+			if (readPolicy.sample()) {
+				sampled++;
+			}
+		}
+		assertTrue(sampled > 0 && sampled < 1000);
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.constants.RequestDataConstants;
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.intfc.utils.FormatterUtil;
+
+public class MetricsRegistryTest {
+
+	private final List<String> records = new ArrayList<>();
+
+	private final Metrics recordingMetrics = new Metrics() {
+
+		@Override
+		public void recordTime(String name, long nanos, String... tags) {
+			assertTrue(nanos >= 0);
+			records.add(name + Arrays.toString(tags));
+		}
+
+		@Override
+		public void increment(String name, String... tags) {
+			records.add(name + Arrays.toString(tags));
+		}
+
+		@Override
+		public void recordSize(String name, long size, String... tags) {
+			records.add(name + Arrays.toString(tags) + size);
+		}
+
+		@Override
+		public void gauge(String name, DoubleSupplier value, String... tags) {
+			records.add(name + Arrays.toString(tags) + value.getAsDouble());
+		}
+	};
+
+	@AfterEach
+	public void clear() {
+		MetricsRegistry.setMetrics(null);
+	}
+
+	@Test
+	public void testNoOpByDefault() {
+		assertSame(NoOpMetrics.INSTANCE, MetricsRegistry.getMetrics());
+	}
+
+	@Test
+	public void testSetMetrics() {
+		MetricsRegistry.setMetrics(recordingMetrics);
+		MetricsRegistry.getMetrics().increment(MetricNames.KEY_CACHE, MetricNames.TAG_RESULT, MetricNames.HIT);
+		assertEquals(Arrays.asList("dl.key.cache[result, hit]"), records);
+
+		MetricsRegistry.setMetrics(null);
+		MetricsRegistry.getMetrics().increment(MetricNames.KEY_CACHE, MetricNames.TAG_RESULT, MetricNames.HIT);
+		assertEquals(1, records.size());
+	}
+
+	@Test
+	public void testFormatRequestIsTimed() throws Exception {
+		MetricsRegistry.setMetrics(recordingMetrics);
+
+		ObjectNode header = JsonNodeFactory.instance.objectNode();
+		header.put(RequestDataConstants.PRIMARY_KEY, "TGS-0026008-ES");
+		new FormatterUtil().formatRequest(new RequestData(header, null), false);
+
+		assertEquals(Arrays.asList("dl.format.request[operation, read]"), records);
+	}
+
+}
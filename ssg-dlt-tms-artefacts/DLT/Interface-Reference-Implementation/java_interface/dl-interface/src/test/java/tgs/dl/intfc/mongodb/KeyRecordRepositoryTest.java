@@ -0,0 +1,102 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package tgs.dl.intfc.mongodb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+
+import tgs.dl.intfc.key.mgmt.model.OrgKeyRecord;
+
+public class KeyRecordRepositoryTest {
+
+	private KeyRecordRepository repository;
+	private MongoCollection<Document> collection;
+	MongoDatabase db = null;
+
+	@BeforeEach
+	public void setup() {
+		this.db = MongoDBClient.getMongoClient().getDatabase("testDB");
+		collection = db.getCollection("testCollection");
+		repository = new KeyRecordRepository(collection);
+	}
+
+	@AfterEach
+	public void clear() {
+		db.drop();
+	}
+
+	@Test
+	public void testCreate() {
+		assertTrue(repository.create(createRecord("REF0003", "key1")));
+
+		OrgKeyRecord result = repository.findByTpCode("REF0003");
+		assertEquals("UEN0003", result.getTpUen());
+		assertEquals("REF0003", result.getTpCode());
+		assertEquals("key1", result.getEncryptedKey());
+		assertEquals("32", result.getNumberOfBytes());
+		assertEquals("2030-01-01T00:00:00Z", result.getValidUpTo());
+	}
+
+	@Test
+	public void testFindByTpCodeNotFound() {
+		assertNull(repository.findByTpCode("REF0003"));
+	}
+
+	@Test
+	public void testFindByTpCodeSkipsOtherFields() {
+		// documents written as Json by earlier versions
+		collection.insertOne(Document.parse("{\"tpUen\":\"UEN0003\",\"tpCode\":\"REF0003\",\"encryptedKey\":\"key1\","
+				+ "\"numberOfBytes\":\"32\",\"validUpTo\":\"2030-01-01T00:00:00Z\",\"comment\":{\"text\":\"x\"}}"));
+
+		OrgKeyRecord result = repository.findByTpCode("REF0003");
+		assertEquals("key1", result.getEncryptedKey());
+	}
+
+	@Test
+	public void testReplace() {
+		repository.create(createRecord("REF0003", "key1"));
+
+		assertTrue(repository.replace(createRecord("REF0003", "key2")));
+		assertEquals("key2", repository.findByTpCode("REF0003").getEncryptedKey());
+		assertFalse(repository.replace(createRecord("REF0004", "key2")));
+	}
+
+	@Test
+	public void testCreatesIndex() {
+		boolean hasIndex = false;
+		for (Document index : collection.listIndexes()) {
+			hasIndex |= KeyRecordRepository.TP_CODE_INDEX.equals(index.getString("name"));
+		}
+		assertTrue(hasIndex);
+	}
+
+	private static OrgKeyRecord createRecord(String tpCode, String encryptedKey) {
+		return new OrgKeyRecord("UEN0003", tpCode, encryptedKey, "32", "2030-01-01T00:00:00Z");
+	}
+
+}
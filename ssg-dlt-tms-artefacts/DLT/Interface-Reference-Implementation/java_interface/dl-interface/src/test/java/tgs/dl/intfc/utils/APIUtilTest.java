@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import org.apache.http.HttpStatus;
+import org.apache.http.pool.PoolStats;
 import org.junit.jupiter.api.Test;
 
 import tgs.dl.intfc.constants.Constants;
@@ -36,4 +37,15 @@ public class APIUtilTest {
 		assertNotNull(apiResponse);
 		assertEquals(HttpStatus.SC_OK, apiResponse.getStatus());
 	}
+	
+	@Test
+	public void testConnectionReleasedToPool() throws Exception {
+		String jsonString = "{\"trainingPartner\": {\"uen\": \"6f5ae64e-e2cc-4bc5-8c04-876abeff252e\",\"code\": \"1920304A-A\"}}";
+		API_UTIL.apiPostRequest(Constants.KEY_MGMT_API.getGetEncryptDataKeyEndpoint(), jsonString);
+		API_UTIL.apiPostRequest(Constants.KEY_MGMT_API.getGetEncryptDataKeyEndpoint(), jsonString);
+		
+		PoolStats stats = APIUtil.getPoolStats();
+		assertEquals(0, stats.getLeased());
+		assertEquals(Constants.KEY_MGMT_API.getMaxConnections(), stats.getMax());
+	}
 }
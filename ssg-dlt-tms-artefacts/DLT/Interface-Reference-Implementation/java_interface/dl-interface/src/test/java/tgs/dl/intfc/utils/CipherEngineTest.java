@@ -0,0 +1,112 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import tgs.dl.intfc.constants.CipherAlgorithm;
+
+public class CipherEngineTest {
+	private final CipherEngine BC_ENGINE = CipherEngine.getInstance(CipherEngine.BC);
+	private final CipherEngine JCE_ENGINE = CipherEngine.getInstance(CipherEngine.JCE);
+	private final CipherEngine BC_GCM_ENGINE = CipherEngine.getInstance(CipherEngine.BC, CipherAlgorithm.AES_GCM);
+	private final CipherEngine JCE_GCM_ENGINE = CipherEngine.getInstance(CipherEngine.JCE, CipherAlgorithm.AES_GCM);
+
+	private final byte[] KEY = Base64.getDecoder().decode("QksJRJ19dKtJ1nnkPrGGnxncHJfw3GWLAJwy/Wj5M/I=");
+	private final byte[] IV = Base64.getDecoder().decode("Tz9q0PG630ueaH5Txf1mWQ==");
+
+	@Test
+	public void testGetInstance() {
+		assertTrue(BC_ENGINE instanceof BCCipherEngine);
+		assertTrue(JCE_ENGINE instanceof JCECipherEngine);
+		assertTrue(CipherEngine.getInstance(null) instanceof JCECipherEngine);
+	}
+
+	@Test
+	public void testKnownCipherText() throws Exception {
+		// cipher text of the BouncyCastle implementation before the engines were introduced
+		String expected = "c+vhYcyWiEDMKGAUaP94fNtAmKDc/sknwXMRtgWLpBk=";
+		byte[] message = "{\"sample\": \"test\"}".getBytes(StandardCharsets.UTF_8);
+
+		assertEquals(expected, Base64.getEncoder().encodeToString(BC_ENGINE.encrypt(KEY, IV, message)));
+		assertEquals(expected, Base64.getEncoder().encodeToString(JCE_ENGINE.encrypt(KEY, IV, message)));
+	}
+
+	@Test
+	public void testEnginesAreInterchangeable() throws Exception {
+		Random random = new Random(42);
+		for (int length = 0; length <= 100; length++) {
+			byte[] message = new byte[length];
+			random.nextBytes(message);
+
+			byte[] bcEncrypted = BC_ENGINE.encrypt(KEY, IV, message);
+			byte[] jceEncrypted = JCE_ENGINE.encrypt(KEY, IV, message);
+			assertArrayEquals(bcEncrypted, jceEncrypted);
+
+			assertArrayEquals(message, BC_ENGINE.decrypt(KEY, IV, jceEncrypted));
+			assertArrayEquals(message, JCE_ENGINE.decrypt(KEY, IV, bcEncrypted));
+		}
+	}
+
+	@Test
+	public void testGCMEnginesAreInterchangeable() throws Exception {
+		Random random = new Random(42);
+		for (int length = 0; length <= 100; length++) {
+			byte[] message = new byte[length];
+			random.nextBytes(message);
+			// GCM must not reuse an iv with the same key
+			byte[] iv = new byte[CipherAlgorithm.AES_GCM.getIvLength()];
+			random.nextBytes(iv);
+
+			byte[] bcEncrypted = BC_GCM_ENGINE.encrypt(KEY, iv, message);
+			byte[] jceEncrypted = JCE_GCM_ENGINE.encrypt(KEY, iv, message);
+			assertArrayEquals(bcEncrypted, jceEncrypted);
+			assertEquals(length + CipherAlgorithm.GCM_TAG_LENGTH / 8, jceEncrypted.length);
+
+			assertArrayEquals(message, BC_GCM_ENGINE.decrypt(KEY, iv, jceEncrypted));
+			assertArrayEquals(message, JCE_GCM_ENGINE.decrypt(KEY, iv, bcEncrypted));
+		}
+	}
+
+	@Test
+	public void testGCMRejectsModifiedRecord() throws Exception {
+		byte[] iv = new byte[CipherAlgorithm.AES_GCM.getIvLength()];
+		new Random(7).nextBytes(iv);
+		byte[] encrypted = JCE_GCM_ENGINE.encrypt(KEY, iv, "{\"sample\": \"test\"}".getBytes(StandardCharsets.UTF_8));
+		encrypted[0] ^= 1;
+
+		assertThrows(Exception.class, () -> JCE_GCM_ENGINE.decrypt(KEY, iv, encrypted));
+		assertThrows(Exception.class, () -> BC_GCM_ENGINE.decrypt(KEY, iv, encrypted));
+	}
+
+	@Test
+	public void testAlgorithmName() throws Exception {
+		assertEquals(CipherAlgorithm.AES_GCM, CipherAlgorithm.fromAlgorithmName("AES/GCM/NoPadding"));
+		assertEquals(CipherAlgorithm.AES_CBC, CipherAlgorithm.fromAlgorithmName("AES/CBC/PKCS5Padding"));
+		assertThrows(IOException.class, () -> CipherAlgorithm.fromAlgorithmName("DES"));
+	}
+}
@@ -16,15 +16,21 @@
 
 package tgs.dl.intfc.utils;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.constants.CipherAlgorithm;
 
 import tgs.dl.intfc.utils.EncryptionUtil;
 import tgs.dl.intfc.utils.JsonMapper;
@@ -84,4 +90,39 @@ public class EncryptionUtilTest {
 		assertNotNull(decryptedMessage);
 		assertEquals(writeRequest, decryptedMessage);
 	}
+	
+	@Test
+	public void testEncryptBytes() throws Exception {
+		byte[] generatedIV = encryptionService.generateRandomIV(CipherAlgorithm.AES_GCM);
+		byte[] message = ("  " + payload + "  ").getBytes(StandardCharsets.UTF_8);
+		
+		byte[] encrypted = encryptionService.encryptBytes(CipherAlgorithm.AES_GCM, dataKey.toCharArray(), message, 2,
+				message.length - 4, generatedIV);
+		String decryptedMessage = encryptionService.decryptMessage(CipherAlgorithm.AES_GCM, dataKey.toCharArray(),
+				Base64.getEncoder().encodeToString(encrypted), generatedIV);
+		assertEquals(payload, decryptedMessage);
+		
+		byte[] output = new byte[CipherAlgorithm.AES_GCM.getOutputSize(false, encrypted.length)];
+		int length = encryptionService.decryptBytes(CipherAlgorithm.AES_GCM, dataKey.toCharArray(), encrypted,
+				generatedIV, output);
+		assertEquals(payload, new String(output, 0, length, StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	public void testBinaryRecordIsWrittenAsBase64() throws Exception {
+		String iv = "Tz9q0PG630ueaH5Txf1mWQ==";
+		byte[] generatedIV = Base64.getDecoder().decode(iv);
+		byte[] encrypted = encryptionService.encryptBytes(CipherAlgorithm.AES_CBC, dataKey.toCharArray(),
+				payload.getBytes(StandardCharsets.UTF_8), 0, payload.length(), generatedIV);
+		String encryptedMessage = encryptionService.encryptMessage(dataKey.toCharArray(), payload, generatedIV);
+		
+		ObjectNode envelope = JsonNodeFactory.instance.objectNode();
+		envelope.put("iv", generatedIV);
+		envelope.put("record", encrypted);
+		JsonNode written = new JsonMapper().readTree(new JsonMapper().serializeToJson(envelope));
+		
+		assertEquals(iv, written.get("iv").asText());
+		assertEquals(encryptedMessage, written.get("record").asText());
+		assertArrayEquals(encrypted, written.get("record").binaryValue());
+	}
 }
@@ -17,6 +17,7 @@
 package tgs.dl.intfc.utils;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.security.GeneralSecurityException;
 
@@ -70,4 +71,16 @@ public class FormatterUtilTest {
 		assertNotNull(response);
 	}
 	
+	@Test
+	public void testFormatReadResponseCapturesRecordError() throws Exception {
+		// record without dataKey cannot be decrypted
+		String readResponse = "\"{\\\"result\\\":{\\\"data\\\":[{\\\"header\\\":{\\\"tpUen\\\":\\\"T01\\\","
+				+ "\\\"tpCode\\\":\\\"T01-1\\\"},\\\"payload\\\":{}}]}}\"";
+		
+		String response = FORMATTER_UTIL.formatReadResponseData(readResponse);
+		
+		assertNotNull(response);
+		assertTrue(response.contains("\"error\""));
+	}
+	
 }
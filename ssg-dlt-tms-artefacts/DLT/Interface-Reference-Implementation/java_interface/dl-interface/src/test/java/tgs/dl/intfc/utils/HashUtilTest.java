@@ -0,0 +1,76 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+
+public class HashUtilTest {
+	private static final String PRIMARY_KEY = "TGS-0026008-ESS0118316H";
+
+	private static String expectedHash(String value) {
+		return Hex.toHexString(new SHA3.DigestSHA3(384).digest(value.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void testGetSHA3384() {
+		HashUtil hashUtil = new HashUtil(0);
+
+		assertEquals(expectedHash(PRIMARY_KEY), hashUtil.getSHA3384(PRIMARY_KEY));
+		// the digester of the thread is reset after each use
+		assertEquals(expectedHash(PRIMARY_KEY), hashUtil.getSHA3384(PRIMARY_KEY));
+		assertEquals(expectedHash(""), hashUtil.getSHA3384(""));
+		assertEquals(0, hashUtil.size());
+		assertEquals(0, hashUtil.getHitCount() + hashUtil.getMissCount());
+	}
+
+	@Test
+	public void testMemo() {
+		HashUtil hashUtil = new HashUtil(10);
+
+		assertEquals(expectedHash(PRIMARY_KEY), hashUtil.getSHA3384(PRIMARY_KEY));
+		assertEquals(expectedHash(PRIMARY_KEY), hashUtil.getSHA3384(PRIMARY_KEY));
+		assertEquals(1, hashUtil.getHitCount());
+		assertEquals(1, hashUtil.getMissCount());
+
+		hashUtil.clear();
+		assertEquals(0, hashUtil.size());
+		assertEquals(0, hashUtil.getHitCount());
+	}
+
+	@Test
+	public void testMemoEvictsLeastRecentlyUsed() {
+		HashUtil hashUtil = new HashUtil(2);
+
+		hashUtil.getSHA3384("a");
+		hashUtil.getSHA3384("b");
+		hashUtil.getSHA3384("a");
+		hashUtil.getSHA3384("c");
+		assertEquals(2, hashUtil.size());
+
+		// b was evicted, a is still memoized
+		hashUtil.getSHA3384("a");
+		assertEquals(2, hashUtil.getHitCount());
+		assertEquals(expectedHash("b"), hashUtil.getSHA3384("b"));
+		assertEquals(4, hashUtil.getMissCount());
+	}
+}
@@ -0,0 +1,62 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+public class IVGeneratorTest {
+	private final IVGenerator IV_GENERATOR = IVGenerator.getInstance();
+
+	@Test
+	public void testGenerateIV() {
+		Set<String> ivs = new HashSet<>();
+		for (int i = 0; i < 1000; i++) {
+			byte[] iv = IV_GENERATOR.generateIV();
+			assertEquals(IVGenerator.IV_LENGTH, iv.length);
+			assertTrue(ivs.add(Arrays.toString(iv)));
+		}
+	}
+
+	@Test
+	public void testGeneratorPerThread() throws Exception {
+		SecureRandom random = IV_GENERATOR.getRandom();
+		assertSame(random, IV_GENERATOR.getRandom());
+
+		SecureRandom otherRandom = CompletableFuture.supplyAsync(IV_GENERATOR::getRandom).get();
+		assertNotSame(random, otherRandom);
+	}
+
+	@Test
+	public void testReseed() {
+		SecureRandom random = IV_GENERATOR.getRandom();
+		for (int i = 0; i < IVGenerator.RESEED_INTERVAL; i++) {
+			IV_GENERATOR.generateIV();
+		}
+		assertNotSame(random, IV_GENERATOR.getRandom());
+	}
+}
@@ -0,0 +1,99 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.model.ReadResponse;
+
+public class ReadResponseDecoderTest {
+	private final ReadResponseDecoder decoder = new ReadResponseDecoder();
+	private final JsonMapper mapper = new JsonMapper();
+
+	private ObjectNode getRecord(String name) {
+		ObjectNode record = JsonNodeFactory.instance.objectNode();
+		record.putObject("header").put("tpCode", "T01-1");
+		record.putObject("payload").put("name", name);
+		return record;
+	}
+
+	private ByteBuffer toPayload(Object value) throws Exception {
+		return ByteBuffer.wrap(mapper.serializeToJson(value).getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testDecodeStringEncodedResponse() throws Exception {
+		ObjectNode result = JsonNodeFactory.instance.objectNode();
+		result.put("pageNumber", 1);
+		result.putArray("data").add(getRecord("a \"quoted\" \\ name")).add(getRecord("b"));
+		ObjectNode response = JsonNodeFactory.instance.objectNode();
+		response.set("result", result);
+
+		// Lambda returns the response as a Json string
+		ReadResponse readResponse = decoder.decode(toPayload(response.toString()));
+
+		assertEquals(2, readResponse.getData().size());
+		assertEquals("a \"quoted\" \\ name", readResponse.getData().get(0).getPayload().get("name").asText());
+		assertEquals("b", readResponse.getData().get(1).getPayload().get("name").asText());
+		assertEquals(1, readResponse.getProperties().get("pageNumber").asInt());
+	}
+
+	@Test
+	public void testDecodeStringEncodedRecords() throws Exception {
+		ObjectNode result = JsonNodeFactory.instance.objectNode();
+		result.putArray("data").add(getRecord("a").toString()).add(getRecord("b").toString());
+		ObjectNode response = JsonNodeFactory.instance.objectNode();
+		response.put("result", result.toString());
+
+		ReadResponse readResponse = decoder.decode(toPayload(response));
+
+		assertEquals(2, readResponse.getData().size());
+		assertEquals("T01-1", readResponse.getData().get(1).getHeader().get("tpCode").asText());
+	}
+
+	@Test
+	public void testDecodeKeepsRecordOrder() throws Exception {
+		ObjectNode result = JsonNodeFactory.instance.objectNode();
+		result.putArray("data").add(getRecord("a")).add(getRecord("b")).add(getRecord("c"));
+		ObjectNode response = JsonNodeFactory.instance.objectNode();
+		response.set("result", result);
+
+		StringBuilder names = new StringBuilder();
+		decoder.decode(toPayload(response), record -> names.append(record.getPayload().get("name").asText()));
+
+		assertEquals("abc", names.toString());
+	}
+
+	@Test
+	public void testDecodeInvalidFormat() {
+		ObjectNode response = JsonNodeFactory.instance.objectNode();
+		response.putObject("result").put("data", 1);
+
+		assertThrows(IOException.class, () -> decoder.decode(toPayload(response)));
+		assertThrows(IOException.class, () -> decoder.decode(toPayload(JsonNodeFactory.instance.objectNode())));
+	}
+}
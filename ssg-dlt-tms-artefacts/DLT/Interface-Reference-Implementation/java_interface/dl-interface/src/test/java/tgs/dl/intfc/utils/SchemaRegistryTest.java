@@ -0,0 +1,68 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.utils;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+
+import org.everit.json.schema.Schema;
+import org.junit.jupiter.api.Test;
+
+public class SchemaRegistryTest {
+	private static final String SCHEMA_LOCATION = "src/test/resources/schema-validation/enrolment/v0.5.json";
+	private final SchemaRegistry registry = new SchemaRegistry();
+
+	@Test
+	public void testSchemaIsCompiledOnce() throws Exception {
+		Schema first = registry.getSchema(SCHEMA_LOCATION);
+		Schema second = registry.getSchema(SCHEMA_LOCATION);
+
+		assertNotNull(first);
+		assertSame(first, second);
+	}
+
+	@Test
+	public void testSchemaIsReloadedWhenFileChanges() throws Exception {
+		Path schemaFile = Files.createTempFile("schema", ".json");
+		try {
+			Files.copy(Paths.get(SCHEMA_LOCATION), schemaFile, StandardCopyOption.REPLACE_EXISTING);
+			Schema first = registry.getSchema(schemaFile.toString());
+
+			Files.setLastModifiedTime(schemaFile,
+					FileTime.fromMillis(Files.getLastModifiedTime(schemaFile).toMillis() + 1000));
+			Schema second = registry.getSchema(schemaFile.toString());
+
+			assertNotSame(first, second);
+		} finally {
+			Files.deleteIfExists(schemaFile);
+		}
+	}
+
+	@Test
+	public void testMissingSchema() {
+		assertThrows(IOException.class, () -> registry.getSchema("src/test/resources/schema-validation/missing.json"));
+	}
+}
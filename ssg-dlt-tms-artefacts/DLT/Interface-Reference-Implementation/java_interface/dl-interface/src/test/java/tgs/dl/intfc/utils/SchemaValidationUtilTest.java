@@ -0,0 +1,81 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.intfc.utils;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import tgs.dl.intfc.model.RequestData;
+import tgs.dl.test.util.TestUtils;
+
+public class SchemaValidationUtilTest {
+	private static final String SCHEMA_LOCATION = "src/test/resources/schema-validation/enrolment/v0.5.json";
+	private final SchemaValidationUtil schemaValidationUtil = new SchemaValidationUtil();
+	private final TestUtils UTIL = TestUtils.getInstance();
+
+	private Path schemaFile;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		// enrolment schema with an optional remarks field
+		JsonMapper jsonMapper = new JsonMapper();
+		ObjectNode schema = (ObjectNode) jsonMapper.readTree(new String(Files.readAllBytes(Paths.get(SCHEMA_LOCATION))));
+		((ObjectNode) schema.at("/properties/payload/properties/enrolment/properties")).putObject("remarks")
+				.put("type", "string");
+		schemaFile = Files.createTempFile("schema", ".json");
+		Files.write(schemaFile, jsonMapper.serializeToJson(schema).getBytes());
+	}
+
+	@AfterEach
+	public void clear() throws IOException {
+		Files.deleteIfExists(schemaFile);
+	}
+
+	@Test
+	public void testValidateWriteEventData() throws Exception {
+		RequestData request = readRequest();
+		((ObjectNode) request.getPayload().get("enrolment")).put("remarks", "first run");
+
+		assertDoesNotThrow(() -> schemaValidationUtil.validateWriteEventData(request));
+	}
+
+	@Test
+	public void testValidateWriteEventDataWithNullField() throws Exception {
+		RequestData request = readRequest();
+		((ObjectNode) request.getPayload().get("enrolment")).putNull("remarks");
+
+		assertThrows(IOException.class, () -> schemaValidationUtil.validateWriteEventData(request));
+	}
+
+	private RequestData readRequest() throws IOException {
+		String jsonString = UTIL.readFile("unit_test/json/write_enrolment.json");
+		RequestData request = new JsonMapper().deserializeFromJson(jsonString, RequestData.class);
+		((ObjectNode) request.getHeader()).put("schemaLocation", schemaFile.toString());
+		return request;
+	}
+}
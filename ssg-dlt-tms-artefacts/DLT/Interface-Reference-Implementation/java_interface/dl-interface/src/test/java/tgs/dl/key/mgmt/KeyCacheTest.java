@@ -0,0 +1,140 @@
+/*
+* Copyright 2020 EY or its affiliates. All Rights Reserved.
+* 
+* Licensed under the Apache License, Version 2.0 (the "License").
+* You may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+* 
+*     http://www.apache.org/licenses/LICENSE-2.0
+* 
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package tgs.dl.key.mgmt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import tgs.dl.intfc.key.mgmt.KeyCache;
+import tgs.dl.intfc.key.mgmt.model.Key;
+import tgs.dl.intfc.key.mgmt.model.KeyConfig;
+import tgs.dl.intfc.key.mgmt.model.TrainingPartner;
+import tgs.dl.test.util.DateUtil;
+
+public class KeyCacheTest {
+	private static final char[] PLAIN_KEY = "c2VjcmV0LWtleS1mb3ItdGVzdA==".toCharArray();
+
+	private KeyConfig getKeyConfig(String tpCode, char[] plainKey) {
+		return new KeyConfig(new TrainingPartner("uen", tpCode),
+				new Key(plainKey, "encryptedKey", 32, "2099-01-01T00:00:00+08:00"));
+	}
+
+	private ZonedDateTime getFuture() {
+		return DateUtil.getLocalZoneDateTimeByZoneId(DateUtil.ZONE_ID_UTC).plusHours(1);
+	}
+
+	@Test
+	public void getReturnsCopy() {
+		KeyCache cache = new KeyCache(10);
+		cache.put("tp1", getKeyConfig("tp1", PLAIN_KEY.clone()), getFuture());
+
+		KeyConfig first = cache.get("tp1");
+		assertNotNull(first);
+		assertArrayEquals(PLAIN_KEY, first.getKey().getPlainKey());
+
+		// callers clear the key they are given, the cached key stays intact
+		Arrays.fill(first.getKey().getPlainKey(), '\0');
+		assertArrayEquals(PLAIN_KEY, cache.get("tp1").getKey().getPlainKey());
+	}
+
+	@Test
+	public void putCopiesKey() {
+		KeyCache cache = new KeyCache(10);
+		char[] plainKey = PLAIN_KEY.clone();
+		cache.put("tp1", getKeyConfig("tp1", plainKey), getFuture());
+
+		Arrays.fill(plainKey, '\0');
+		assertArrayEquals(PLAIN_KEY, cache.get("tp1").getKey().getPlainKey());
+	}
+
+	@Test
+	public void expiredEntryIsNotServed() {
+		KeyCache cache = new KeyCache(10);
+		ZonedDateTime past = DateUtil.getLocalZoneDateTimeByZoneId(DateUtil.ZONE_ID_UTC).minusSeconds(1);
+		cache.put("tp1", getKeyConfig("tp1", PLAIN_KEY.clone()), past);
+
+		assertNull(cache.get("tp1"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void leastRecentlyUsedIsEvicted() {
+		KeyCache cache = new KeyCache(2);
+		cache.put("tp1", getKeyConfig("tp1", PLAIN_KEY.clone()), getFuture());
+		cache.put("tp2", getKeyConfig("tp2", PLAIN_KEY.clone()), getFuture());
+
+		// touch tp1 so tp2 becomes the eldest
+		assertNotNull(cache.get("tp1"));
+		cache.put("tp3", getKeyConfig("tp3", PLAIN_KEY.clone()), getFuture());
+
+		assertEquals(2, cache.size());
+		assertNotNull(cache.get("tp1"));
+		assertNull(cache.get("tp2"));
+		assertNotNull(cache.get("tp3"));
+	}
+
+	@Test
+	public void invalidateRemovesEntry() {
+		KeyCache cache = new KeyCache(10);
+		cache.put("tp1", getKeyConfig("tp1", PLAIN_KEY.clone()), getFuture());
+		cache.invalidate("tp1");
+
+		assertNull(cache.get("tp1"));
+	}
+
+	@Test
+	public void concurrentGetNeverReturnsClearedKey() throws Exception {
+		KeyCache cache = new KeyCache(4);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 5000; i++) {
+						String cacheKey = "tp" + ((i + thread) % 8);
+						KeyConfig keyConfig = cache.get(cacheKey);
+						if (keyConfig == null) {
+							// replaces or evicts entries other threads are reading
+							cache.put(cacheKey, getKeyConfig(cacheKey, PLAIN_KEY.clone()), getFuture());
+						} else {
+							assertArrayEquals(PLAIN_KEY, keyConfig.getKey().getPlainKey());
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(4, cache.size());
+	}
+}
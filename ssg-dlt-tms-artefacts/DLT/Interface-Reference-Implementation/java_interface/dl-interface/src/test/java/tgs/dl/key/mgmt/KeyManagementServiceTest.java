@@ -36,7 +36,7 @@ import tgs.dl.intfc.key.mgmt.KeyManagementService;
 import tgs.dl.intfc.key.mgmt.SecretStorageService;
 import tgs.dl.intfc.key.mgmt.model.KeyConfig;
 import tgs.dl.intfc.key.mgmt.model.TrainingPartner;
-import tgs.dl.intfc.mongodb.CollectionService;
+import tgs.dl.intfc.mongodb.KeyRecordRepository;
 import tgs.dl.intfc.mongodb.MongoDBClient;
 
 public class KeyManagementServiceTest {
@@ -47,10 +47,10 @@ public class KeyManagementServiceTest {
 	public void setup() throws Exception{
 		db = MongoDBClient.getMongoClient().getDatabase("testDB");
 		MongoCollection<Document> collection = db.getCollection("testCollection");
-		CollectionService collectionService = new CollectionService(collection);
+		KeyRecordRepository keyRecordRepository = new KeyRecordRepository(collection);
 		SecretStorageService secretsStorageService = new SecretStorageService();
 		
-		this.keyMgmtService = new KeyManagementService(collectionService, secretsStorageService);
+		this.keyMgmtService = new KeyManagementService(keyRecordRepository, secretsStorageService);
 	}
 	
 	@AfterEach